@@ -0,0 +1,281 @@
+package org.example.benchmarks;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.example.dao.PostgreSQLCurrencyExchangeRateArchiveDAO;
+import org.example.dao.PostgreSQLCurrencyExchangeRateDAO;
+import org.example.dto.CurrencyExchangeRateDTO;
+import org.example.migrators.PostgreSQLMigrator;
+import org.example.services.CurrencyExchangeRateCache;
+import org.example.services.CurrencyExchangeRateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency (including p99, reported by the sample time mode) of saving a scrape,
+ * on the embedded H2 in PostgreSQL mode (the same setup, as the tests of the PostgreSQL DAOs use).
+ * Each writer thread saves the rates of its own scraper, and the archive is seeded with the history
+ * of those rates, so its size affects the lookups of the latest archive entities.
+ * Each trial runs in its own fork, so the archive is seeded once per fork (and its size is capped,
+ * because the in-memory database holds it in the heap). The whole matrix takes a while,
+ * so it's usually narrowed, e.g. -Djmh.args="CurrencyExchangeRateSaveBenchmark.oneWriter -p archiveRows=1000".
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyExchangeRateSaveBenchmark {
+    // Number of the archive rows, that are seeded within a single transaction.
+    private final static int SEEDING_CHUNK_SIZE = 100_000;
+
+    // Number of the currency exchange rates per scrape.
+    @Param({"10", "100"})
+    private int pairs;
+
+    @Param({"1000", "100000", "1000000"})
+    private int archiveRows;
+
+    // Part of the rates, that are changed by each scrape (the rest are the same, as the saved ones).
+    @Param({"0", "0.5", "1"})
+    private double changedRatio;
+
+    // With the cache, the unchanged rates are only extended (the heartbeat interval is zero, so they are still written).
+    @Param({"false", "true"})
+    private boolean cache;
+
+    private BasicDataSource dataSource;
+
+    private CurrencyExchangeRateService currencyExchangeRateService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkParams benchmarkParams) throws IOException, SQLException {
+        this.dataSource = new BasicDataSource();
+
+        this.dataSource.setUrl("jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        this.dataSource.setUsername("sa");
+        this.dataSource.setPassword("");
+        this.dataSource.setDefaultAutoCommit(false);
+        this.dataSource.setMaxTotal(benchmarkParams.getThreads());
+
+        this.currencyExchangeRateService = new CurrencyExchangeRateService(
+                new PostgreSQLCurrencyExchangeRateDAO(),
+                new PostgreSQLCurrencyExchangeRateArchiveDAO(),
+                this.cache ? new CurrencyExchangeRateCache(Duration.ZERO) : null
+        );
+
+        try (Connection connection = this.dataSource.getConnection()) {
+            new PostgreSQLMigrator().up(connection);
+
+            connection.commit();
+
+            this.seed(connection, benchmarkParams.getThreads());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = this.dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+
+        this.dataSource.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void oneWriter(Writer writer) throws SQLException {
+        this.currencyExchangeRateService.save(this.dataSource, writer.next());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void fourWriters(Writer writer) throws SQLException {
+        this.currencyExchangeRateService.save(this.dataSource, writer.next());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void eightWriters(Writer writer) throws SQLException {
+        this.currencyExchangeRateService.save(this.dataSource, writer.next());
+    }
+
+    /**
+     * Seeding the scrapers (one per writer thread, and the unused first one), the rates of the writers,
+     * and the archive history of the rates. The rates have no archive heads yet, so the first save
+     * of each writer looks the latest archive entities up in the history.
+     * The rows are generated by the database (SYSTEM_RANGE is H2 specific), so the millions of rows are seeded quickly.
+     * @param connection Database connection.
+     * @param numberOfWriters Number of the writer threads.
+     * @throws SQLException If an SQL error occurs.
+     */
+    private void seed(Connection connection, int numberOfWriters) throws SQLException {
+        // The rates of the writers are the same, as the ones of their scrapes (see Writer.getCurrencyCode).
+        int numberOfRates = numberOfWriters * this.pairs;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(
+                    String.format(
+                            """
+                                    INSERT INTO scrapers (id, class_name, name_en, name_uk, created_at, updated_at)
+                                    SELECT n, CONCAT('Scraper', n), '', '', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                                    FROM SYSTEM_RANGE(1, %d) AS r (n)
+                                    """,
+                            numberOfWriters + 1
+                    )
+            );
+            statement.executeUpdate(
+                    String.format(
+                            """
+                                    INSERT INTO currency_exchange_rates (
+                                        id,
+                                        scraper_id,
+                                        unit,
+                                        unit_currency_code,
+                                        rate_currency_code,
+                                        buy_rate,
+                                        sale_rate,
+                                        created_at,
+                                        updated_at
+                                    )
+                                    SELECT n + 1,
+                                           n / %1$d + 2,
+                                           1,
+                                           CONCAT(
+                                               CHAR(65 + MOD(MOD(n, %1$d) / 676, 26)),
+                                               CHAR(65 + MOD(MOD(n, %1$d) / 26, 26)),
+                                               CHAR(65 + MOD(MOD(n, %1$d), 26))
+                                           ),
+                                           'UAH',
+                                           1.0,
+                                           1.0,
+                                           CURRENT_TIMESTAMP,
+                                           CURRENT_TIMESTAMP
+                                    FROM SYSTEM_RANGE(0, %2$d) AS r (n)
+                                    """,
+                            this.pairs,
+                            numberOfRates - 1
+                    )
+            );
+            statement.executeUpdate(
+                    String.format(
+                            "ALTER SEQUENCE currency_exchange_rates_sequence RESTART WITH %d",
+                            numberOfRates + 1
+                    )
+            );
+
+            connection.commit();
+
+            for (int start = 1; start <= this.archiveRows; start += CurrencyExchangeRateSaveBenchmark.SEEDING_CHUNK_SIZE) {
+                statement.executeUpdate(
+                        String.format(
+                                """
+                                        INSERT INTO currency_exchange_rates_archive (
+                                            currency_exchange_rate_id,
+                                            unit,
+                                            buy_rate,
+                                            sale_rate,
+                                            created_at,
+                                            updated_at
+                                        )
+                                        SELECT MOD(n, %1$d) + 1,
+                                               1,
+                                               1.0,
+                                               1.0,
+                                               DATEADD(SECOND, n / %1$d, TIMESTAMP '2000-01-01 00:00:00'),
+                                               DATEADD(SECOND, n / %1$d, TIMESTAMP '2000-01-01 00:00:00')
+                                        FROM SYSTEM_RANGE(%2$d, %3$d) AS r (n)
+                                        """,
+                                numberOfRates,
+                                start,
+                                Math.min(start + CurrencyExchangeRateSaveBenchmark.SEEDING_CHUNK_SIZE - 1, this.archiveRows)
+                        )
+                );
+
+                connection.commit();
+            }
+        }
+    }
+
+    /**
+     * The scrapes of the writer thread (each thread saves the rates of its own scraper, so the writers don't conflict).
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+        // The scrapes are alternated, so the changed rates are different from the saved ones each time.
+        private CurrencyExchangeRateDTO[][] scrapes;
+
+        private int counter;
+
+        @Setup(Level.Trial)
+        public void setUp(CurrencyExchangeRateSaveBenchmark benchmark, ThreadParams threadParams) throws SQLException {
+            int scraperId = threadParams.getThreadIndex() + 2;
+            int numberOfChangedPairs = (int) Math.round(benchmark.pairs * benchmark.changedRatio);
+
+            this.scrapes = new CurrencyExchangeRateDTO[2][benchmark.pairs];
+
+            for (int i = 0; i < 2; i++) {
+                for (int j = 0; j < benchmark.pairs; j++) {
+                    double rate = j < numberOfChangedPairs ? 40.0 + i : 40.0;
+
+                    this.scrapes[i][j] = new CurrencyExchangeRateDTO(
+                            scraperId,
+                            1,
+                            Writer.getCurrencyCode(j),
+                            "UAH",
+                            rate,
+                            rate + 0.5
+                    );
+                }
+            }
+
+            // Saving the first scrape (it finds the latest archive entities in the seeded history and sets the heads),
+            // so the measured scrapes update the heads of the existing rates.
+            benchmark.currencyExchangeRateService.save(benchmark.dataSource, this.next());
+        }
+
+        /**
+         * Getting the next scrape.
+         * @return Array of the DTOs.
+         */
+        public CurrencyExchangeRateDTO[] next() {
+            return this.scrapes[this.counter++ & 1];
+        }
+
+        /**
+         * Getting the (fake) currency code of the pair.
+         * @param index Index of the pair.
+         * @return The three letters currency code.
+         */
+        private static String getCurrencyCode(int index) {
+            return new String(
+                    new char[] {
+                            (char) ('A' + index / 676 % 26),
+                            (char) ('A' + index / 26 % 26),
+                            (char) ('A' + index % 26)
+                    }
+            );
+        }
+    }
+}
\ No newline at end of file
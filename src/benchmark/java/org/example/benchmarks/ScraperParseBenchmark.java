@@ -0,0 +1,176 @@
+package org.example.benchmarks;
+
+import org.example.dto.CurrencyExchangeRateDTO;
+import org.example.scrapers.NBUScraper;
+import org.example.scrapers.PrivatBankAtBranchesScraper;
+import org.example.scrapers.Scraper;
+import org.example.scrapers.UkrSibBankAtBranchesScraper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Throughput of the parsing of the test fixtures (the HTTP request is replaced by the fixture).
+ * The allocation rate is reported by the GC profiler (-prof gc), that is enabled by the benchmark profile.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScraperParseBenchmark {
+    @Param({"NBU", "PRIVATBANK", "UKRSIB"})
+    private Source source;
+
+    // How many times the items of the fixture are repeated (to measure, how the parsing scales with the page size).
+    @Param({"1", "10", "100"})
+    private int scale;
+
+    private Scraper scraper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String response = this.source.enlarge(this.source.read(), this.scale);
+
+        this.scraper = this.source.newScraper(response);
+    }
+
+    @Benchmark
+    public CurrencyExchangeRateDTO[] getCurrencyExchangeRateDTOs() throws Exception {
+        return this.scraper.getCurrencyExchangeRateDTOs();
+    }
+
+    /**
+     * The scrapers, with their fixtures, and the markers of the items, that are repeated to enlarge the page.
+     */
+    public enum Source {
+        NBU(
+                "scrapers/response-nbu.html",
+                "<tbody>",
+                "</tbody>",
+                "",
+                (response) -> new NBUScraper(1) {
+                    @Override
+                    protected String getResponse() {
+                        return response;
+                    }
+                }
+        ),
+        PRIVATBANK(
+                "scrapers/response-privatbank-at-branches.json",
+                "[",
+                "]",
+                ",",
+                (response) -> new PrivatBankAtBranchesScraper(1) {
+                    @Override
+                    protected String getResponse() {
+                        return response;
+                    }
+                }
+        ),
+        UKRSIB(
+                "scrapers/response-ukrsibbank-at-branches.html",
+                "<ul class=\"module-exchange__list module-exchange__list--online\">",
+                "</ul>",
+                "",
+                (response) -> new UkrSibBankAtBranchesScraper(1) {
+                    @Override
+                    protected String getResponse() {
+                        return response;
+                    }
+                }
+        );
+
+        private final String fixture;
+
+        private final String itemsStart;
+
+        private final String itemsEnd;
+
+        private final String itemsSeparator;
+
+        private final Function<String, Scraper> scraperFactory;
+
+        /**
+         * Constructor.
+         * @param fixture Path of the fixture (in the test resources).
+         * @param itemsStart The marker, that the items follow.
+         * @param itemsEnd The marker, that follows the items.
+         * @param itemsSeparator The separator of the repeated items.
+         * @param scraperFactory Factory of the scraper, which response is replaced by the provided one.
+         */
+        Source(
+                String fixture,
+                String itemsStart,
+                String itemsEnd,
+                String itemsSeparator,
+                Function<String, Scraper> scraperFactory
+        ) {
+            this.fixture = fixture;
+            this.itemsStart = itemsStart;
+            this.itemsEnd = itemsEnd;
+            this.itemsSeparator = itemsSeparator;
+            this.scraperFactory = scraperFactory;
+        }
+
+        /**
+         * Reading the fixture.
+         * @return The fixture.
+         * @throws IOException If an I/O error occurs.
+         */
+        public String read() throws IOException {
+            try (InputStream inputStream = ScraperParseBenchmark.class.getClassLoader().getResourceAsStream(this.fixture)) {
+                return new String(Objects.requireNonNull(inputStream).readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+
+        /**
+         * Enlarging the response, by repeating its items.
+         * @param response The response.
+         * @param scale How many times the items are repeated.
+         * @return The enlarged response.
+         * @throws IllegalArgumentException If the markers of the items weren't found.
+         */
+        public String enlarge(String response, int scale) throws IllegalArgumentException {
+            int start = response.indexOf(this.itemsStart);
+            int end = start >= 0 ? response.indexOf(this.itemsEnd, start) : -1;
+
+            if (start < 0 || end < 0) {
+                throw new IllegalArgumentException(String.format("The items of \"%s\" were not found.", this.fixture));
+            }
+
+            start += this.itemsStart.length();
+
+            return response.substring(0, start)
+                    + String.join(this.itemsSeparator, Collections.nCopies(scale, response.substring(start, end)))
+                    + response.substring(end);
+        }
+
+        /**
+         * Creating the scraper, which response is replaced by the provided one.
+         * @param response The response.
+         * @return Instance of the scraper.
+         */
+        public Scraper newScraper(String response) {
+            return this.scraperFactory.apply(response);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package org.example.loadtests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.benchmarks.ScraperParseBenchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The local HTTP stand-in for the bank endpoints, that serves the test fixtures.
+ * Each response is delayed by the latency and a random jitter, and a part of the responses are failed (HTTP 503).
+ * Each request is handled on its own virtual thread, so the delays don't limit the number of the concurrent requests.
+ */
+public class FixtureServer implements AutoCloseable {
+    private final static String PATH = "/sources/";
+
+    private final HttpServer httpServer;
+
+    private final ExecutorService executorService;
+
+    private final Duration latency;
+
+    private final Duration jitter;
+
+    private final double errorRate;
+
+    // Enlarged fixtures, by the fixtures (the sources with the same fixture share the payload).
+    private final Map<ScraperParseBenchmark.Source, byte[]> payloads;
+
+    private final AtomicLong requestCounter;
+
+    private final AtomicLong errorCounter;
+
+    /**
+     * Constructor (the server is started right away, on a free port of the loopback address).
+     * @param latency For how long each response is delayed.
+     * @param jitter Maximum random delay, that is added to the latency.
+     * @param errorRate Part of the responses, that are failed (from 0 to 1).
+     * @param scale How many times the items of the fixtures are repeated (the payload size).
+     * @throws IOException If an I/O error occurs.
+     * @throws IllegalArgumentException If the error rate is out of range, or if the scale is not positive.
+     */
+    public FixtureServer(Duration latency, Duration jitter, double errorRate, int scale)
+            throws IOException, IllegalArgumentException
+    {
+        if (errorRate < 0 || errorRate > 1 || scale < 1) {
+            throw new IllegalArgumentException("The error rate should be from 0 to 1, and the scale should be positive.");
+        }
+
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+        this.payloads = new EnumMap<>(ScraperParseBenchmark.Source.class);
+        this.requestCounter = new AtomicLong();
+        this.errorCounter = new AtomicLong();
+
+        for (ScraperParseBenchmark.Source source : ScraperParseBenchmark.Source.values()) {
+            this.payloads.put(source, source.enlarge(source.read(), scale).getBytes(StandardCharsets.UTF_8));
+        }
+
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+        this.httpServer.createContext(FixtureServer.PATH, this::handle);
+        this.httpServer.setExecutor(this.executorService);
+        this.httpServer.start();
+    }
+
+    /**
+     * Getting the source with the provided index (the fixtures are assigned to the sources in turn).
+     * @param index Index of the source.
+     * @return The source.
+     */
+    public SyntheticScraper.Source getSource(int index) {
+        ScraperParseBenchmark.Source[] fixtures = ScraperParseBenchmark.Source.values();
+
+        return new SyntheticScraper.Source(
+                URI.create(
+                        String.format(
+                                "http://%s:%d%s%d",
+                                this.httpServer.getAddress().getHostString(),
+                                this.httpServer.getAddress().getPort(),
+                                FixtureServer.PATH,
+                                index
+                        )
+                ),
+                fixtures[index % fixtures.length]
+        );
+    }
+
+    /**
+     * Getting the size of the payload of the fixture.
+     * @param fixture The fixture.
+     * @return The size in bytes.
+     */
+    public int getPayloadSize(ScraperParseBenchmark.Source fixture) {
+        return this.payloads.get(fixture).length;
+    }
+
+    /**
+     * Getting the number of the handled requests.
+     * @return The number of the requests.
+     */
+    public long getRequestCount() {
+        return this.requestCounter.get();
+    }
+
+    /**
+     * Getting the number of the failed responses.
+     * @return The number of the failed responses.
+     */
+    public long getErrorCount() {
+        return this.errorCounter.get();
+    }
+
+    @Override
+    public void close() {
+        this.httpServer.stop(0);
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * Handling the request of the source.
+     * @param httpExchange The exchange.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void handle(HttpExchange httpExchange) throws IOException {
+        try (httpExchange) {
+            this.requestCounter.incrementAndGet();
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long delay = this.latency.toNanos() + (this.jitter.isPositive() ? random.nextLong(this.jitter.toNanos() + 1) : 0);
+
+            try {
+                Thread.sleep(Duration.ofNanos(delay));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                return;
+            }
+
+            if (random.nextDouble() < this.errorRate) {
+                this.errorCounter.incrementAndGet();
+
+                httpExchange.sendResponseHeaders(503, -1);
+
+                return;
+            }
+
+            String path = httpExchange.getRequestURI().getPath();
+            int index;
+
+            try {
+                index = Integer.parseInt(path.substring(FixtureServer.PATH.length()));
+            } catch (NumberFormatException e) {
+                httpExchange.sendResponseHeaders(404, -1);
+
+                return;
+            }
+
+            SyntheticScraper.Source source = this.getSource(index);
+            byte[] payload = this.payloads.get(source.fixture());
+
+            httpExchange.getResponseHeaders().set(
+                    "Content-Type",
+                    source.fixture() == ScraperParseBenchmark.Source.PRIVATBANK
+                            ? "application/json; charset=utf-8"
+                            : "text/html; charset=utf-8"
+            );
+            httpExchange.sendResponseHeaders(200, payload.length);
+
+            try (OutputStream outputStream = httpExchange.getResponseBody()) {
+                outputStream.write(payload);
+            }
+        }
+    }
+}
\ No newline at end of file
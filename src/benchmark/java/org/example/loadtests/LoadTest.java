@@ -0,0 +1,396 @@
+package org.example.loadtests;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.example.ScraperQueue;
+import org.example.ScraperRegistry;
+import org.example.Task;
+import org.example.Worker;
+import org.example.dao.PostgreSQLCurrencyExchangeRateArchiveDAO;
+import org.example.dao.PostgreSQLCurrencyExchangeRateDAO;
+import org.example.dao.PostgreSQLScraperDAO;
+import org.example.dao.PostgreSQLScraperValidatorDAO;
+import org.example.migrators.PostgreSQLMigrator;
+import org.example.scrapers.Scraper;
+import org.example.services.CurrencyExchangeRateCache;
+import org.example.services.CurrencyExchangeRateService;
+import org.example.services.ScraperService;
+import org.example.services.ScraperValidatorService;
+import org.example.utils.HttpClientRegistry;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test: the same flow, as the application runs once, against the local HTTP stand-in and H2.
+ * The arguments are the key=value pairs, the worker and the database keys are the same, as in config.properties:
+ * loadtest.sources (comma separated numbers of the sources, each number is a separate run), loadtest.latency,
+ * loadtest.jitter (ISO-8601 durations), loadtest.errorRate (from 0 to 1), loadtest.scale (payload size),
+ * http.maxConcurrentFetches (the number of the sources by default), worker.parseThreads, database.maxConnections,
+ * worker.queueCapacity, worker.writeBatchSize, worker.writeBatchWindow, scraper.maxAttempts, cache.enabled.
+ * The total time and the timings of each stage (fetch, parse and write) are reported after each run.
+ */
+public class LoadTest {
+    private LoadTest() {
+        //
+    }
+
+    public static void main(String[] args) throws Exception {
+        Logger logger = LogManager.getLogger(LoadTest.class);
+        Properties properties = new Properties();
+
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+
+            if (pair.length != 2) {
+                throw new IllegalArgumentException(String.format("\"%s\" is not the key=value pair.", arg));
+            }
+
+            properties.setProperty(pair[0], pair[1]);
+        }
+
+        // The task logs each scraper, which would flood the report.
+        Configurator.setLevel(LogManager.getLogger(TimedTask.class).getName(), Level.WARN);
+
+        try (
+                FixtureServer fixtureServer = new FixtureServer(
+                        Duration.parse(properties.getProperty("loadtest.latency", "PT0.05S")),
+                        Duration.parse(properties.getProperty("loadtest.jitter", "PT0.05S")),
+                        Double.parseDouble(properties.getProperty("loadtest.errorRate", String.valueOf(0.01))),
+                        Integer.parseInt(properties.getProperty("loadtest.scale", String.valueOf(1)))
+                )
+        ) {
+            for (String numberOfSources : properties.getProperty("loadtest.sources", "10,100,1000").split(",")) {
+                LoadTest.run(fixtureServer, Integer.parseInt(numberOfSources.trim()), properties, logger);
+            }
+        } finally {
+            HttpClientRegistry.close();
+        }
+    }
+
+    /**
+     * Running all the sources once, on the fresh database.
+     * @param fixtureServer The stand-in server.
+     * @param numberOfSources Number of the sources.
+     * @param properties The properties of the run.
+     * @param logger Instance of the logger.
+     * @throws Exception If the run couldn't be set up.
+     */
+    private static void run(FixtureServer fixtureServer, int numberOfSources, Properties properties, Logger logger)
+            throws Exception
+    {
+        int numberOfFetchThreads = Integer.parseInt(
+                properties.getProperty("http.maxConcurrentFetches", String.valueOf(numberOfSources))
+        );
+        int numberOfParseThreads = Integer.parseInt(
+                properties.getProperty("worker.parseThreads", String.valueOf(Runtime.getRuntime().availableProcessors()))
+        );
+        int maxConnections = Integer.parseInt(
+                properties.getProperty("database.maxConnections", String.valueOf(Runtime.getRuntime().availableProcessors()))
+        );
+
+        List<Class<? extends Scraper>> scraperClasses = new ArrayList<>();
+
+        for (int i = 1; i <= numberOfSources; i++) {
+            scraperClasses.add(SyntheticScraper.define(i, fixtureServer.getSource(i)));
+        }
+
+        long requestCount = fixtureServer.getRequestCount();
+        long errorCount = fixtureServer.getErrorCount();
+
+        try (BasicDataSource dataSource = new BasicDataSource()) {
+            dataSource.setUrl(
+                    String.format(
+                            "jdbc:h2:mem:loadtest%d;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                            numberOfSources
+                    )
+            );
+            dataSource.setUsername("sa");
+            dataSource.setPassword("");
+            dataSource.setDefaultAutoCommit(false);
+            dataSource.setInitialSize(maxConnections);
+            dataSource.setMaxTotal(maxConnections);
+
+            LoadTest.seed(dataSource, scraperClasses);
+
+            ScraperService scraperService = new ScraperService(new PostgreSQLScraperDAO());
+            ScraperValidatorService scraperValidatorService = new ScraperValidatorService(
+                    new PostgreSQLScraperValidatorDAO()
+            );
+            CurrencyExchangeRateService currencyExchangeRateService = new CurrencyExchangeRateService(
+                    new PostgreSQLCurrencyExchangeRateDAO(),
+                    new PostgreSQLCurrencyExchangeRateArchiveDAO(),
+                    Boolean.parseBoolean(properties.getProperty("cache.enabled", String.valueOf(false)))
+                            ? new CurrencyExchangeRateCache(Duration.parse(properties.getProperty("cache.heartbeatInterval", "PT1H")))
+                            : null,
+                    scraperValidatorService
+            );
+            ScraperRegistry scraperRegistry = new ScraperRegistry(dataSource, scraperService);
+
+            scraperRegistry.refresh();
+            scraperValidatorService.load(dataSource);
+            currencyExchangeRateService.warmCache(dataSource);
+
+            Worker worker = new Worker(
+                    numberOfFetchThreads,
+                    numberOfParseThreads,
+                    maxConnections,
+                    Integer.parseInt(properties.getProperty("worker.queueCapacity", String.valueOf(16))),
+                    Integer.parseInt(properties.getProperty("worker.writeBatchSize", String.valueOf(1))),
+                    Duration.parse(properties.getProperty("worker.writeBatchWindow", "PT0.05S"))
+            );
+            TimedTask task = new TimedTask(
+                    dataSource,
+                    new ScraperQueue(
+                            scraperClasses,
+                            Map.of(),
+                            Integer.parseInt(properties.getProperty("scraper.maxAttempts", String.valueOf(3)))
+                    ),
+                    scraperRegistry,
+                    currencyExchangeRateService,
+                    scraperValidatorService,
+                    LogManager.getLogger(TimedTask.class)
+            );
+
+            long start = System.nanoTime();
+
+            worker.run(task, logger);
+
+            Duration total = Duration.ofNanos(System.nanoTime() - start);
+
+            logger.info(
+                    String.format(
+                            "Sources: %d (fetch threads %d, parse threads %d, connections %d). Total time is %d ms, %.1f sources/s. Succeeded %d, unchanged %d, failed %d, retried %d. Requests %d, failed responses %d, parsed rates %d.",
+                            numberOfSources,
+                            numberOfFetchThreads,
+                            numberOfParseThreads,
+                            maxConnections,
+                            total.toMillis(),
+                            numberOfSources * 1e9 / Math.max(1, total.toNanos()),
+                            task.getSuccessCount(),
+                            task.getUnchangedCount(),
+                            task.getFailureCount(),
+                            task.getRetryCount(),
+                            fixtureServer.getRequestCount() - requestCount,
+                            fixtureServer.getErrorCount() - errorCount,
+                            task.getRateCount()
+                    )
+            );
+
+            for (Stage stage : List.of(task.fetchStage, task.parseStage, task.writeStage)) {
+                logger.info(stage.toString());
+            }
+
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+        }
+    }
+
+    /**
+     * Creating the tables and adding the scrapers of the sources.
+     * @param dataSource Instance of the data source.
+     * @param scraperClasses List of the scraper classes.
+     * @throws Exception If an error occurs.
+     */
+    private static void seed(DataSource dataSource, List<Class<? extends Scraper>> scraperClasses) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try {
+                new PostgreSQLMigrator().up(connection);
+
+                try (
+                        PreparedStatement preparedStatement = connection.prepareStatement("""
+                                INSERT INTO scrapers (
+                                    id,
+                                    class_name,
+                                    name_en,
+                                    name_uk,
+                                    created_at,
+                                    updated_at
+                                ) VALUES (
+                                    ?, ?, ?, ?, ?, ?
+                                );
+                        """)
+                ) {
+                    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+                    for (int i = 0; i < scraperClasses.size(); i++) {
+                        preparedStatement.setInt(1, i + 1);
+                        preparedStatement.setString(2, scraperClasses.get(i).getName());
+                        preparedStatement.setString(3, scraperClasses.get(i).getSimpleName());
+                        preparedStatement.setString(4, scraperClasses.get(i).getSimpleName());
+                        preparedStatement.setTimestamp(5, now);
+                        preparedStatement.setTimestamp(6, now);
+                        preparedStatement.addBatch();
+                    }
+
+                    preparedStatement.executeBatch();
+                }
+
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * The task, that measures the duration of each stage call.
+     */
+    private static class TimedTask extends Task {
+        private final Stage fetchStage;
+
+        private final Stage parseStage;
+
+        // Each write call saves the batch of the scrapers (one scraper, unless the write batching is enabled).
+        private final Stage writeStage;
+
+        private final AtomicLong rateCounter;
+
+        /**
+         * Constructor.
+         * @param dataSource Instance of the data source.
+         * @param scraperQueue Queue of the scraper classes.
+         * @param scraperRegistry Instance of the scraper registry.
+         * @param currencyExchangeRateService Instance of the service.
+         * @param scraperValidatorService Instance of the service of the validators.
+         * @param logger Instance of the logger.
+         */
+        public TimedTask(
+                DataSource dataSource,
+                ScraperQueue scraperQueue,
+                ScraperRegistry scraperRegistry,
+                CurrencyExchangeRateService currencyExchangeRateService,
+                ScraperValidatorService scraperValidatorService,
+                Logger logger
+        ) {
+            super(dataSource, scraperQueue, scraperRegistry, currencyExchangeRateService, scraperValidatorService, logger);
+
+            this.fetchStage = new Stage("fetch");
+            this.parseStage = new Stage("parse");
+            this.writeStage = new Stage("write");
+            this.rateCounter = new AtomicLong();
+        }
+
+        @Override
+        public Fetched fetch(ScraperQueue.Entry entry) {
+            long start = System.nanoTime();
+
+            try {
+                return super.fetch(entry);
+            } finally {
+                this.fetchStage.add(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public Parsed parse(Fetched fetched) {
+            long start = System.nanoTime();
+
+            try {
+                Parsed parsed = super.parse(fetched);
+
+                if (parsed != null) {
+                    this.rateCounter.addAndGet(parsed.currencyExchangeRateDTOs().length);
+                }
+
+                return parsed;
+            } finally {
+                this.parseStage.add(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void write(List<Parsed> parsedList) {
+            long start = System.nanoTime();
+
+            try {
+                super.write(parsedList);
+            } finally {
+                this.writeStage.add(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Getting the number of the parsed rates (including the ones, which scrapers failed to be saved).
+         * @return The number of the rates.
+         */
+        public long getRateCount() {
+            return this.rateCounter.get();
+        }
+    }
+
+    /**
+     * The durations of the calls of the stage.
+     */
+    private static class Stage {
+        private final String name;
+
+        private final ConcurrentLinkedQueue<Long> durations;
+
+        /**
+         * Constructor.
+         * @param name Name of the stage.
+         */
+        public Stage(String name) {
+            this.name = name;
+            this.durations = new ConcurrentLinkedQueue<>();
+        }
+
+        /**
+         * Adding the duration of the call.
+         * @param nanos The duration in nanoseconds.
+         */
+        public void add(long nanos) {
+            this.durations.add(nanos);
+        }
+
+        @Override
+        public String toString() {
+            long[] durations = this.durations.stream().mapToLong(Long::longValue).sorted().toArray();
+
+            if (durations.length == 0) {
+                return String.format("Stage %s: no calls.", this.name);
+            }
+
+            return String.format(
+                    "Stage %s: %d calls, total %.1f ms, mean %.2f ms, p50 %.2f ms, p99 %.2f ms, max %.2f ms.",
+                    this.name,
+                    durations.length,
+                    Arrays.stream(durations).sum() / 1e6,
+                    Arrays.stream(durations).average().orElse(0) / 1e6,
+                    Stage.getPercentile(durations, 0.5) / 1e6,
+                    Stage.getPercentile(durations, 0.99) / 1e6,
+                    durations[durations.length - 1] / 1e6
+            );
+        }
+
+        /**
+         * Getting the percentile of the sorted durations (the nearest rank).
+         * @param durations The sorted durations.
+         * @param percentile The percentile (from 0 to 1).
+         * @return The duration.
+         */
+        private static long getPercentile(long[] durations, double percentile) {
+            return durations[Math.max(0, (int) Math.ceil(percentile * durations.length) - 1)];
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package org.example.loadtests;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+import org.example.benchmarks.ScraperParseBenchmark;
+import org.example.scrapers.NBUScraper;
+import org.example.scrapers.PrivatBankAtBranchesScraper;
+import org.example.scrapers.Scraper;
+import org.example.scrapers.UkrSibBankAtBranchesScraper;
+
+import java.lang.invoke.MethodHandles;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * The scrapers, that fetch the fixtures from the stand-in server.
+ * The worker, the queue and the registry tell the scrapers apart by their classes, so each source gets its own class,
+ * which is generated at runtime as a subclass of the real scraper of the fixture (only the URI and the HTTP version
+ * are replaced, the rest, including the parsing, is inherited).
+ */
+public class SyntheticScraper {
+    // Generated classes, by the indexes of the sources (the sources are the same between the runs).
+    private final static Map<Integer, Class<? extends Scraper>> scraperClasses = new ConcurrentHashMap<>();
+
+    private SyntheticScraper() {
+        //
+    }
+
+    /**
+     * Generating the scraper class of the source (or getting it, if it was already generated).
+     * @param index Index of the source.
+     * @param source The source.
+     * @return The scraper class.
+     */
+    public static Class<? extends Scraper> define(int index, Source source) {
+        return SyntheticScraper.scraperClasses.computeIfAbsent(
+                index,
+                (key) -> new ByteBuddy()
+                        .subclass(SyntheticScraper.getScraperClass(source.fixture()))
+                        .name(String.format("%s%d", SyntheticScraper.class.getName(), key))
+                        .method(named("getURI"))
+                        .intercept(FixedValue.reference(source.uri()))
+                        // The stand-in server speaks HTTP/1.1 only (so the HTTP/2 upgrade isn't attempted on each connection).
+                        .method(named("getVersion"))
+                        .intercept(FixedValue.value(HttpClient.Version.HTTP_1_1))
+                        .make()
+                        .load(SyntheticScraper.class.getClassLoader(), ClassLoadingStrategy.UsingLookup.of(MethodHandles.lookup()))
+                        .getLoaded()
+        );
+    }
+
+    /**
+     * Getting the real scraper class, that parses the fixture.
+     * @param fixture The fixture.
+     * @return The scraper class.
+     */
+    private static Class<? extends Scraper> getScraperClass(ScraperParseBenchmark.Source fixture) {
+        return switch (fixture) {
+            case NBU -> NBUScraper.class;
+            case PRIVATBANK -> PrivatBankAtBranchesScraper.class;
+            case UKRSIB -> UkrSibBankAtBranchesScraper.class;
+        };
+    }
+
+    /**
+     * The source of the synthetic scraper.
+     * @param uri URI of the source on the stand-in server.
+     * @param fixture The fixture, that is served by the source (and the real scraper, that parses it).
+     */
+    public record Source(URI uri, ScraperParseBenchmark.Source fixture) {
+        //
+    }
+}
\ No newline at end of file
@@ -3,24 +3,40 @@ package org.example;
 import org.apache.commons.dbcp2.BasicDataSource;
 import org.apache.logging.log4j.Logger;
 import org.example.dao.*;
+import org.example.metrics.MeteredDataSource;
+import org.example.metrics.MetricExporter;
 import org.example.migrators.Migrator;
+import org.example.migrators.Partitioner;
 import org.example.migrators.PostgreSQLMigrator;
+import org.example.migrators.PostgreSQLPartitioner;
 import org.example.scrapers.Scraper;
 import org.example.seeders.PostgreSQLSeeder;
 import org.example.seeders.Seeder;
+import org.example.services.CurrencyExchangeRateCache;
 import org.example.services.CurrencyExchangeRateService;
 import org.example.services.ScraperService;
+import org.example.services.ScraperValidatorService;
+import org.example.tracing.SpanExporter;
 import org.example.utils.Config;
 import org.example.utils.DBCPDataSource;
+import org.example.utils.HttpClientRegistry;
+import org.example.utils.Schedule;
 import org.example.utils.ScraperClassReader;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.YearMonth;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 public class Application {
     // Map of the supported migrators implementations.
@@ -33,11 +49,20 @@ public class Application {
         put(org.postgresql.Driver.class, PostgreSQLSeeder.class);
     }};
 
+    // Map of the supported partitioners implementations.
+    private final static Map<Class<? extends Driver>, Class<? extends Partitioner>> supportedPartitioners = new HashMap<>() {{
+        put(org.postgresql.Driver.class, PostgreSQLPartitioner.class);
+    }};
+
     // Map of the supported DAOs implementations.
     private final static Map<Class<? extends Driver>, Class<? extends ScraperDAO>> supportedScraperDAOs = new HashMap<>() {{
         put(org.postgresql.Driver.class, PostgreSQLScraperDAO.class);
     }};
 
+    private final static Map<Class<? extends Driver>, Class<? extends ScraperValidatorDAO>> supportedScraperValidatorDAOs = new HashMap<>() {{
+        put(org.postgresql.Driver.class, PostgreSQLScraperValidatorDAO.class);
+    }};
+
     private final static Map<Class<? extends Driver>, Class<? extends CurrencyExchangeRateDAO>> supportedCurrencyExchangeRateDAOs = new HashMap<>() {{
         put(org.postgresql.Driver.class, PostgreSQLCurrencyExchangeRateDAO.class);
     }};
@@ -52,6 +77,8 @@ public class Application {
 
     /**
      * Running the application.
+     * In "daemon" mode (application.mode configuration property) the application is running on schedule,
+     * until it will be stopped, otherwise all the scrapers are running once.
      * @param logger Instance of the logger.
      * @throws Exception If fatal error occurs.
      */
@@ -63,11 +90,13 @@ public class Application {
         // Getting JDBC driver class.
         Class<? extends Driver> driverClass = DriverManager.getDriver(Config.getProperty("database.url")).getClass();
 
-        // Checking if there is implemented migrators, seeders and DAOs for specific driver.
+        // Checking if there is implemented migrators, seeders, partitioners and DAOs for specific driver.
         if (
                 !Application.supportedMigrators.containsKey(driverClass)
                         || !Application.supportedSeeders.containsKey(driverClass)
+                        || !Application.supportedPartitioners.containsKey(driverClass)
                         || !Application.supportedScraperDAOs.containsKey(driverClass)
+                        || !Application.supportedScraperValidatorDAOs.containsKey(driverClass)
                         || !Application.supportedCurrencyExchangeRateDAOs.containsKey(driverClass)
                         || !Application.supportedCurrencyExchangeRateArchiveDAOs.containsKey(driverClass)
         ) {
@@ -76,15 +105,36 @@ public class Application {
             );
         }
 
-        // Calculating the number of threads.
-        int numberOfThreads =
-                Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), scraperClasses.size()));
+        // Setting for how long idle HTTP connections are kept alive (before the first HTTP client is created).
+        HttpClientRegistry.setKeepAliveTimeout(
+                Duration.ofSeconds(Long.parseLong(Config.getProperty("http.keepAliveTimeout", String.valueOf(300))))
+        );
+
+        // Calculating the number of threads of each stage of the worker.
+        // The fetch threads are virtual (they are waiting for the network), so by default each scraper gets its own.
+        int numberOfFetchThreads = Integer.parseInt(
+                Config.getProperty("http.maxConcurrentFetches", String.valueOf(Math.max(1, scraperClasses.size())))
+        );
+        int numberOfParseThreads = Integer.parseInt(
+                Config.getProperty("worker.parseThreads", String.valueOf(Runtime.getRuntime().availableProcessors()))
+        );
+        int maxConnections = Integer.parseInt(
+                Config.getProperty("database.maxConnections", String.valueOf(Runtime.getRuntime().availableProcessors()))
+        );
+        int queueCapacity = Integer.parseInt(Config.getProperty("worker.queueCapacity", String.valueOf(16)));
+        int writeBatchSize = Integer.parseInt(Config.getProperty("worker.writeBatchSize", String.valueOf(1)));
+        Duration writeBatchWindow = Duration.parse(Config.getProperty("worker.writeBatchWindow", "PT0.05S"));
 
-        // Creating of the Data Source.
-        try (BasicDataSource dataSource = DBCPDataSource.getDataSource()) {
-            // Setting initial and maximum number of connections (should be equal to number of the threads).
-            dataSource.setInitialSize(numberOfThreads);
-            dataSource.setMaxTotal(numberOfThreads);
+        // Creating of the Data Source, and the exporters of the metrics and the spans
+        // (the exporters are closed first, so the last exports are complete).
+        try (
+                BasicDataSource dataSource = DBCPDataSource.getDataSource();
+                MetricExporter metricExporter = new MetricExporter(logger);
+                SpanExporter spanExporter = new SpanExporter(logger)
+        ) {
+            // Setting initial and maximum number of connections (the database writes are limited to the same number).
+            dataSource.setInitialSize(maxConnections);
+            dataSource.setMaxTotal(maxConnections);
 
             logger.info(
                     String.format(
@@ -94,6 +144,40 @@ public class Application {
                     )
             );
 
+            // Exporting the metrics, through the Prometheus endpoint and/or the periodic file dump (if configured).
+            String metricsPort = Config.getProperty("metrics.port", "");
+            String metricsFile = Config.getProperty("metrics.file", "");
+
+            if (!metricsPort.isBlank()) {
+                logger.info(
+                        String.format(
+                                "The metrics are served on port %d.",
+                                metricExporter.serve(Integer.parseInt(metricsPort.strip()))
+                        )
+                );
+            }
+
+            if (!metricsFile.isBlank()) {
+                metricExporter.dump(
+                        Path.of(metricsFile.strip()),
+                        Duration.parse(Config.getProperty("metrics.dumpInterval", "PT1M"))
+                );
+            }
+
+            // Tracing the runs, and exporting the spans into the file in the OTLP JSON format (if configured).
+            String tracingFile = Config.getProperty("tracing.file", "");
+
+            if (!tracingFile.isBlank()) {
+                spanExporter.export(
+                        Path.of(tracingFile.strip()),
+                        Duration.parse(Config.getProperty("tracing.exportInterval", "PT10S")),
+                        Integer.parseInt(Config.getProperty("tracing.bufferCapacity", String.valueOf(65536)))
+                );
+            }
+
+            // The scrapes get the connections through the metered data source (the pool wait times are recorded).
+            DataSource meteredDataSource = new MeteredDataSource(dataSource);
+
             // (Re)creating and (re)seeding of the database tables (if it is required).
             if (Boolean.parseBoolean(Config.getProperty("database.ddl", String.valueOf(false)))) {
                 // Getting the migrator and the seeder.
@@ -120,29 +204,214 @@ public class Application {
                 logger.info("The database are successfully (re)created and (re)seeded.");
             }
 
-            // Creating the worker.
-            Worker worker = new Worker(numberOfThreads);
-
-            // Run the worker.
-            worker.run(
-                    // Creating the task for the worker.
-                    new Task(
-                            dataSource,
-                            scraperClasses,
-                            new ScraperService(
-                                    Application.supportedScraperDAOs.get(driverClass).getConstructor().newInstance()
-                            ),
-                            new CurrencyExchangeRateService(
-                                    Application.supportedCurrencyExchangeRateDAOs
-                                            .get(driverClass).getConstructor().newInstance(),
-                                    Application.supportedCurrencyExchangeRateArchiveDAOs
-                                            .get(driverClass).getConstructor().newInstance()
-                            ),
-                            new ReentrantLock(),
-                            logger
-                    ),
+            // Job, that creates the future partitions of the archive and applies the retention policy to the old ones.
+            Runnable partitionMaintenance = null;
+
+            if (Boolean.parseBoolean(Config.getProperty("database.archive.partitioning", String.valueOf(false)))) {
+                Partitioner partitioner = Application.supportedPartitioners.get(driverClass).getConstructor().newInstance();
+                int partitionsAhead = Integer.parseInt(Config.getProperty("database.archive.partitionsAhead", String.valueOf(3)));
+                int retentionMonths = Integer.parseInt(Config.getProperty("database.archive.retentionMonths", String.valueOf(0)));
+                boolean drop = Config.getProperty("database.archive.retentionPolicy", "detach").equals("drop");
+
+                partitionMaintenance = () -> Application.maintainPartitions(
+                        dataSource,
+                        partitioner,
+                        partitionsAhead,
+                        retentionMonths,
+                        drop,
+                        logger
+                );
+
+                // Making sure, that the partition for the current month exists, before scraping.
+                partitionMaintenance.run();
+            }
+
+            // Creating the services.
+            ScraperService scraperService = new ScraperService(
+                    Application.supportedScraperDAOs.get(driverClass).getConstructor().newInstance()
+            );
+            ScraperValidatorService scraperValidatorService = new ScraperValidatorService(
+                    Application.supportedScraperValidatorDAOs.get(driverClass).getConstructor().newInstance(),
+                    Duration.parse(Config.getProperty("scraper.refreshInterval", "PT1H"))
+            );
+            CurrencyExchangeRateService currencyExchangeRateService = new CurrencyExchangeRateService(
+                    Application.supportedCurrencyExchangeRateDAOs.get(driverClass).getConstructor().newInstance(),
+                    Application.supportedCurrencyExchangeRateArchiveDAOs.get(driverClass).getConstructor().newInstance(),
+                    Boolean.parseBoolean(Config.getProperty("cache.enabled", String.valueOf(false)))
+                            ? new CurrencyExchangeRateCache(Duration.parse(Config.getProperty("cache.heartbeatInterval", "PT1H")))
+                            : null,
+                    scraperValidatorService
+            );
+
+            // Loading all the scrapers at once, so the scraper ids are not read on each run.
+            ScraperRegistry scraperRegistry = new ScraperRegistry(meteredDataSource, scraperService);
+
+            logger.info(String.format("%d scrapers are loaded.", scraperRegistry.refresh()));
+
+            // Loading the validators of the last saved responses (for the conditional requests).
+            logger.info(
+                    String.format(
+                            "%d scraper validators are loaded.",
+                            scraperValidatorService.load(meteredDataSource)
+                    )
+            );
+
+            // Warming the cache of the last persisted currency exchange rates up (if the cache is enabled).
+            logger.info(
+                    String.format(
+                            "%d currency exchange rates are cached.",
+                            currencyExchangeRateService.warmCache(meteredDataSource)
+                    )
+            );
+
+            // Creating the worker (the database writes are limited to the number of the connections).
+            Worker worker = new Worker(
+                    numberOfFetchThreads,
+                    numberOfParseThreads,
+                    maxConnections,
+                    queueCapacity,
+                    writeBatchSize,
+                    writeBatchWindow
+            );
+
+            // Priorities of the scraper classes, by the order of the list (e.g. the official rate is fetched first).
+            Map<Class<? extends Scraper>, Integer> priorities = new HashMap<>();
+
+            for (Class<? extends Scraper> scraperClass : scraperClasses) {
+                priorities.putIfAbsent(scraperClass, priorities.size());
+            }
+
+            int maxAttempts = Integer.parseInt(Config.getProperty("scraper.maxAttempts", String.valueOf(3)));
+
+            // Factory, that creates the task for the worker, for the provided queue of the scraper classes.
+            Function<Queue<Class<? extends Scraper>>, Task> taskFactory = (queue) -> new Task(
+                    meteredDataSource,
+                    new ScraperQueue(queue, priorities, maxAttempts),
+                    scraperRegistry,
+                    currencyExchangeRateService,
+                    scraperValidatorService,
                     logger
             );
+
+            if (Config.getProperty("application.mode", "once").equals("daemon")) {
+                // Running the worker on schedule, until the application will be stopped.
+                // The data source, the HTTP clients and the parsed configuration are kept alive between the ticks.
+                Scheduler scheduler = new Scheduler(
+                        Application.getSchedules(scraperRegistry, scraperClasses)
+                );
+
+                if (partitionMaintenance != null) {
+                    scheduler.schedule(
+                            new Schedule(Config.getProperty("scheduler.maintenanceSchedule", "0 3 * * *")),
+                            partitionMaintenance
+                    );
+                }
+
+                Thread mainThread = Thread.currentThread();
+
+                // Stopping the scheduler, and waiting until resources are released, on the application shutdown.
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    scheduler.stop();
+
+                    try {
+                        mainThread.join();
+                    } catch (InterruptedException e) {
+                        logger.error(e.getMessage(), e);
+                    }
+                }));
+
+                scheduler.run(worker, taskFactory, logger);
+            } else {
+                // Run the worker once.
+                worker.run(taskFactory.apply(scraperClasses), logger);
+            }
+        } finally {
+            logger.info(
+                    String.format(
+                            "Closing the HTTP clients. %d HTTP clients was created, and reused %d times.",
+                            HttpClientRegistry.getCreatedCount(),
+                            HttpClientRegistry.getReusedCount()
+                    )
+            );
+
+            // Closing the shared HTTP clients.
+            HttpClientRegistry.close();
+        }
+    }
+
+    /**
+     * Maintaining the partitions of the archive: creating the partitions for the current and the next months,
+     * and detaching (or dropping) the partitions, that are older than the retention period.
+     * Errors are logged, so the scheduler keeps running.
+     * @param dataSource Instance of the data source.
+     * @param partitioner Instance of the partitioner.
+     * @param partitionsAhead Number of the months, the partitions are created ahead for.
+     * @param retentionMonths Number of the months, the partitions are retained for (0 - retained forever).
+     * @param drop Whether the old partitions are dropped, instead of detaching.
+     * @param logger Instance of the logger.
+     */
+    private static void maintainPartitions(
+            DataSource dataSource,
+            Partitioner partitioner,
+            int partitionsAhead,
+            int retentionMonths,
+            boolean drop,
+            Logger logger
+    ) {
+        YearMonth currentMonth = YearMonth.now();
+
+        try (Connection connection = dataSource.getConnection()) {
+            try {
+                List<String> createdPartitionNames = partitioner.rollover(connection, currentMonth, partitionsAhead);
+                List<String> retainedPartitionNames = retentionMonths > 0
+                        ? partitioner.retain(connection, currentMonth.minusMonths(retentionMonths), drop)
+                        : List.of();
+
+                connection.commit();
+
+                logger.info(
+                        String.format(
+                                "The archive partitions are successfully maintained. Created partitions: %s, %s partitions: %s.",
+                                createdPartitionNames,
+                                drop ? "dropped" : "detached",
+                                retainedPartitionNames
+                        )
+                );
+            } catch (SQLException e) {
+                connection.rollback();
+
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error(e.getMessage(), e);
         }
     }
+
+    /**
+     * Getting the schedules of the scraper classes.
+     * If the schedule of the scraper is not set in the database, then the default schedule is used.
+     * @param scraperRegistry Instance of the scraper registry.
+     * @param scraperClasses Queue of the scraper classes.
+     * @return Map of the schedules, by the scraper classes.
+     * @throws IOException If an I/O error occurs.
+     * @throws SQLException If an SQL error occurs.
+     * @throws IllegalArgumentException If one of the schedules is not valid.
+     * @throws NullPointerException If one of the scrapers wasn't found in the database.
+     */
+    private static Map<Class<? extends Scraper>, Schedule> getSchedules(
+            ScraperRegistry scraperRegistry,
+            Queue<Class<? extends Scraper>> scraperClasses
+    ) throws IOException, SQLException, IllegalArgumentException, NullPointerException {
+        String defaultSchedule = Config.getProperty("scheduler.defaultSchedule", "PT5M");
+
+        Map<Class<? extends Scraper>, Schedule> schedules = new HashMap<>();
+
+        for (Class<? extends Scraper> scraperClass : scraperClasses) {
+            String schedule = scraperRegistry.getScraperDTO(scraperClass).getSchedule();
+
+            schedules.put(scraperClass, new Schedule(schedule != null ? schedule : defaultSchedule));
+        }
+
+        return schedules;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package org.example;
+
+import org.apache.logging.log4j.Logger;
+import org.example.scrapers.Scraper;
+import org.example.utils.Schedule;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public class Scheduler {
+    private final Map<Class<? extends Scraper>, Schedule> schedules;
+
+    private final Map<Class<? extends Scraper>, LocalDateTime> nextRuns;
+
+    // Schedules and next run times of the jobs (e.g. the database maintenance), that are run on the scheduler thread.
+    private final Map<Runnable, Schedule> jobSchedules;
+
+    private final Map<Runnable, LocalDateTime> jobNextRuns;
+
+    private final CountDownLatch stopLatch;
+
+    /**
+     * Constructor.
+     * @param schedules Map of the schedules, by the scraper classes.
+     */
+    public Scheduler(Map<Class<? extends Scraper>, Schedule> schedules) {
+        this.schedules = schedules;
+        this.nextRuns = new HashMap<>();
+        this.jobSchedules = new HashMap<>();
+        this.jobNextRuns = new HashMap<>();
+        this.stopLatch = new CountDownLatch(1);
+    }
+
+    /**
+     * Adding the job, that is run on the scheduler thread (before the due scrapers), on the provided schedule.
+     * Unlike the scrapers, the job is not due on the first tick.
+     * @param schedule Schedule of the job.
+     * @param job The job.
+     */
+    public void schedule(Schedule schedule, Runnable job) {
+        this.jobSchedules.put(job, schedule);
+    }
+
+    /**
+     * Running the scheduler, until it will be stopped.
+     * On each tick, the scraper classes that are due are passed to the worker, within a single task.
+     * All the scraper classes are due on the first tick.
+     * @param worker Instance of the worker.
+     * @param taskFactory Factory, that creates the task, for the queue of the due scraper classes.
+     * @param logger Instance of the logger.
+     * @throws InterruptedException If the scheduler thread was interrupted, while waiting for the next tick.
+     */
+    public void run(Worker worker, Function<Queue<Class<? extends Scraper>>, Task> taskFactory, Logger logger)
+            throws InterruptedException
+    {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Class<? extends Scraper> scraperClass : this.schedules.keySet()) {
+            this.nextRuns.put(scraperClass, now);
+        }
+
+        for (Map.Entry<Runnable, Schedule> entry : this.jobSchedules.entrySet()) {
+            this.jobNextRuns.put(entry.getKey(), entry.getValue().next(now));
+        }
+
+        logger.info(String.format("Scheduler is running. %d scrapers are scheduled.", this.schedules.size()));
+
+        while (this.stopLatch.getCount() > 0) {
+            // Collecting the scraper classes, that are due, and scheduling their next runs.
+            Queue<Class<? extends Scraper>> dueScraperClasses = new ArrayDeque<>();
+
+            now = LocalDateTime.now();
+
+            // Running the jobs, that are due, and scheduling their next runs.
+            for (Map.Entry<Runnable, LocalDateTime> entry : this.jobNextRuns.entrySet()) {
+                if (!entry.getValue().isAfter(now)) {
+                    entry.getKey().run();
+
+                    entry.setValue(this.jobSchedules.get(entry.getKey()).next(now));
+                }
+            }
+
+            for (Map.Entry<Class<? extends Scraper>, LocalDateTime> entry : this.nextRuns.entrySet()) {
+                if (!entry.getValue().isAfter(now)) {
+                    dueScraperClasses.add(entry.getKey());
+
+                    entry.setValue(this.schedules.get(entry.getKey()).next(now));
+                }
+            }
+
+            if (!dueScraperClasses.isEmpty()) {
+                logger.info(String.format("Scheduler tick. %d scrapers are due.", dueScraperClasses.size()));
+
+                worker.run(taskFactory.apply(dueScraperClasses), logger);
+            }
+
+            // Waiting for the next due scraper class or job (or for the stop signal).
+            LocalDateTime nextRun = Stream.concat(this.nextRuns.values().stream(), this.jobNextRuns.values().stream())
+                    .min(LocalDateTime::compareTo)
+                    .orElse(now.plusMinutes(1));
+
+            long delay = Math.max(0, Duration.between(LocalDateTime.now(), nextRun).toMillis());
+
+            if (this.stopLatch.await(delay, TimeUnit.MILLISECONDS)) {
+                break;
+            }
+        }
+
+        logger.info("Scheduler is successfully stopped.");
+    }
+
+    /**
+     * Stopping the scheduler. The tick, that is currently running, will be finished.
+     */
+    public void stop() {
+        this.stopLatch.countDown();
+    }
+}
\ No newline at end of file
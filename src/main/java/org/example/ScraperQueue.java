@@ -0,0 +1,132 @@
+package org.example;
+
+import org.example.scrapers.Scraper;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ScraperQueue {
+    // Entries are ordered by the attempt, then by the priority, then by the order of adding.
+    // The skip list is lock-free, so the threads, that are polling the queue, don't block each other.
+    private final ConcurrentSkipListSet<Entry> entries;
+
+    private final AtomicLong counter;
+
+    private final Map<Class<? extends Scraper>, Integer> priorities;
+
+    private final int maxAttempts;
+
+    /**
+     * Constructor.
+     * @param scraperClasses Collection of the scraper classes.
+     * @param priorities Map of the priorities, by the scraper classes (the lower value is polled first).
+     *        The scraper classes without the priority are polled last.
+     * @param maxAttempts Maximum number of the attempts of each scraper class, within the run.
+     * @throws IllegalArgumentException If the maximum number of the attempts is not positive.
+     */
+    public ScraperQueue(
+            Collection<Class<? extends Scraper>> scraperClasses,
+            Map<Class<? extends Scraper>, Integer> priorities,
+            int maxAttempts
+    ) throws IllegalArgumentException {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("The maximum number of the attempts should be positive.");
+        }
+
+        this.entries = new ConcurrentSkipListSet<>();
+        this.counter = new AtomicLong();
+        this.priorities = priorities;
+        this.maxAttempts = maxAttempts;
+
+        for (Class<? extends Scraper> scraperClass : scraperClasses) {
+            this.add(scraperClass, 1);
+        }
+    }
+
+    /**
+     * Polling the entry with the highest priority out of the queue.
+     * @return The entry, or null, if the queue is empty.
+     */
+    public Entry poll() {
+        return this.entries.pollFirst();
+    }
+
+    /**
+     * Adding the entry (that was failed) back to the queue, for the next attempt.
+     * The retries are polled after the first attempts of all the scraper classes.
+     * @param entry The entry, that was failed.
+     * @return True, if the entry was added back, or false, if there are no attempts left.
+     */
+    public boolean retry(Entry entry) {
+        if (entry.attempt() >= this.maxAttempts) {
+            return false;
+        }
+
+        this.add(entry.scraperClass(), entry.attempt() + 1);
+
+        return true;
+    }
+
+    /**
+     * Getting the maximum number of the attempts of each scraper class.
+     * @return The maximum number of the attempts.
+     */
+    public int getMaxAttempts() {
+        return this.maxAttempts;
+    }
+
+    /**
+     * Getting the number of the entries in the queue.
+     * @return The number of the entries.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Checking if the queue is empty.
+     * @return True, if the queue is empty.
+     */
+    public boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    /**
+     * Adding the entry to the queue.
+     * @param scraperClass The scraper class.
+     * @param attempt Number of the attempt.
+     */
+    private void add(Class<? extends Scraper> scraperClass, int attempt) {
+        this.entries.add(
+                new Entry(
+                        scraperClass,
+                        this.priorities.getOrDefault(scraperClass, Integer.MAX_VALUE),
+                        attempt,
+                        this.counter.getAndIncrement()
+                )
+        );
+    }
+
+    /**
+     * The entry of the queue.
+     * @param scraperClass The scraper class.
+     * @param priority Priority of the scraper class (the lower value is polled first).
+     * @param attempt Number of the attempt (starting from 1).
+     * @param order Order of adding to the queue (makes the entries unique).
+     */
+    public record Entry(Class<? extends Scraper> scraperClass, int priority, int attempt, long order)
+            implements Comparable<Entry>
+    {
+        private final static Comparator<Entry> COMPARATOR = Comparator.comparingInt(Entry::attempt)
+                .thenComparingInt(Entry::priority)
+                .thenComparingLong(Entry::order);
+
+        @Override
+        public int compareTo(Entry entry) {
+            return Entry.COMPARATOR.compare(this, entry);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package org.example;
+
+import org.example.dto.ScraperDTO;
+import org.example.scrapers.Scraper;
+import org.example.services.ScraperService;
+
+import javax.sql.DataSource;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ScraperRegistry {
+    private final DataSource dataSource;
+
+    private final ScraperService scraperService;
+
+    // Snapshot of the scrapers table, by the scraper classes. Replaced as a whole on refresh.
+    private volatile Map<Class<? extends Scraper>, ScraperDTO> scraperDTOs;
+
+    // Constructor handles (taking the scraper id), by the scraper classes. Looked up once per class.
+    private final Map<Class<? extends Scraper>, MethodHandle> constructors;
+
+    // Instances of the scrapers, by the scraper classes. The scrapers are immutable, so they are reused between runs.
+    private final Map<Class<? extends Scraper>, Scraper> scrapers;
+
+    // Serializes the refreshes (without pinning the virtual threads, while the database is queried).
+    private final Lock refreshLock;
+
+    /**
+     * Constructor.
+     * @param dataSource Instance of the data source.
+     * @param scraperService Instance of the service.
+     */
+    public ScraperRegistry(DataSource dataSource, ScraperService scraperService) {
+        this.dataSource = dataSource;
+        this.scraperService = scraperService;
+        this.scraperDTOs = Map.of();
+        this.constructors = new ConcurrentHashMap<>();
+        this.scrapers = new ConcurrentHashMap<>();
+        this.refreshLock = new ReentrantLock();
+    }
+
+    /**
+     * Reloading all the scrapers out of the database, within a single query.
+     * The instances, created before the refresh, are dropped, so they are recreated with the actual ids.
+     * @return Number of the loaded scrapers.
+     * @throws SQLException If an SQL error occurs.
+     */
+    public int refresh() throws SQLException {
+        this.refreshLock.lock();
+
+        try {
+            Map<Class<? extends Scraper>, ScraperDTO> scraperDTOs = new HashMap<>();
+
+            for (ScraperDTO scraperDTO : this.scraperService.readAll(this.dataSource)) {
+                scraperDTOs.put(scraperDTO.getClazz(), scraperDTO);
+            }
+
+            this.scraperDTOs = Map.copyOf(scraperDTOs);
+            this.scrapers.clear();
+
+            return scraperDTOs.size();
+        } finally {
+            this.refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Getting the DTO of the scraper class.
+     * If the scraper class is missing (e.g. it was added after the start), then the registry is refreshed once.
+     * @param scraperClass The scraper class.
+     * @return The DTO from the database.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If the scraper wasn't found in the database.
+     */
+    public ScraperDTO getScraperDTO(Class<? extends Scraper> scraperClass) throws SQLException, NullPointerException {
+        ScraperDTO scraperDTO = this.scraperDTOs.get(scraperClass);
+
+        if (scraperDTO == null) {
+            this.refresh();
+
+            scraperDTO = this.scraperDTOs.get(scraperClass);
+        }
+
+        if (scraperDTO == null) {
+            throw new NullPointerException(
+                    String.format("\"%s\" was not found in the database.", scraperClass.getName())
+            );
+        }
+
+        return scraperDTO;
+    }
+
+    /**
+     * Getting the instance of the scraper class, created with its id from the database.
+     * @param scraperClass The scraper class.
+     * @return Instance of the scraper.
+     * @throws ReflectiveOperationException If the scraper class has no public constructor, that takes the id,
+     *         or if the constructor has thrown a checked exception.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If the scraper wasn't found in the database.
+     */
+    public Scraper getScraper(Class<? extends Scraper> scraperClass)
+            throws ReflectiveOperationException, SQLException, NullPointerException
+    {
+        Scraper scraper = this.scrapers.get(scraperClass);
+
+        if (scraper != null) {
+            return scraper;
+        }
+
+        Integer id = this.getScraperDTO(scraperClass).getId();
+        MethodHandle constructor = this.constructors.get(scraperClass);
+
+        if (constructor == null) {
+            constructor = MethodHandles.publicLookup()
+                    .findConstructor(scraperClass, MethodType.methodType(void.class, Integer.class))
+                    .asType(MethodType.methodType(Scraper.class, Integer.class));
+
+            this.constructors.put(scraperClass, constructor);
+        }
+
+        try {
+            scraper = (Scraper) constructor.invokeExact(id);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ReflectiveOperationException(
+                    String.format("\"%s\" instance creation error.", scraperClass.getName()),
+                    e
+            );
+        }
+
+        this.scrapers.put(scraperClass, scraper);
+
+        return scraper;
+    }
+}
\ No newline at end of file
@@ -2,128 +2,496 @@ package org.example;
 
 import org.apache.logging.log4j.Logger;
 import org.example.dto.CurrencyExchangeRateDTO;
-import org.example.dto.ScraperDTO;
+import org.example.dto.ScraperValidatorDTO;
+import org.example.metrics.MetricRegistry;
 import org.example.scrapers.Scraper;
 import org.example.services.CurrencyExchangeRateService;
-import org.example.services.ScraperService;
+import org.example.services.ScraperValidatorService;
+import org.example.tracing.Scope;
+import org.example.tracing.Span;
+import org.example.tracing.Tracer;
 
 import javax.sql.DataSource;
-import java.util.NoSuchElementException;
-import java.util.Queue;
-import java.util.concurrent.locks.Lock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
-public class Task implements Runnable {
+public class Task {
     private final DataSource dataSource;
 
-    private final Queue<Class<? extends Scraper>> scraperClasses;
+    private final ScraperQueue scraperQueue;
 
-    private final ScraperService scraperService;
+    private final ScraperRegistry scraperRegistry;
 
     private final CurrencyExchangeRateService currencyExchangeRateService;
 
-    private final Lock lock;
+    private final ScraperValidatorService scraperValidatorService;
 
     private final Logger logger;
 
+    // Number of the scraper classes, that are neither saved, nor failed without the attempts left.
+    private final AtomicInteger pendingCounter;
+
+    private final AtomicInteger successCounter;
+
+    private final AtomicInteger failureCounter;
+
+    private final AtomicInteger retryCounter;
+
+    // Number of the scraper classes, which responses were unchanged (so they were neither parsed, nor saved).
+    private final AtomicInteger unchangedCounter;
+
+    // The root span of the run (the attempts of the scrapers are its children), ended once the task is done.
+    private final Span span;
+
     /**
      * Constructor.
      * @param dataSource Instance of the data source.
-     * @param scraperClasses Queue of the scraper classes.
-     * @param scraperService Instance of the service.
+     * @param scraperQueue Queue of the scraper classes, that is shared between the threads.
+     * @param scraperRegistry Instance of the scraper registry.
      * @param currencyExchangeRateService Instance of the service.
-     * @param lock Instance of the thread lock.
+     * @param scraperValidatorService Instance of the service of the validators (for the conditional requests).
      * @param logger Instance of the logger.
      */
     public Task(
             DataSource dataSource,
-            Queue<Class<? extends Scraper>> scraperClasses,
-            ScraperService scraperService,
+            ScraperQueue scraperQueue,
+            ScraperRegistry scraperRegistry,
             CurrencyExchangeRateService currencyExchangeRateService,
-            Lock lock,
+            ScraperValidatorService scraperValidatorService,
             Logger logger
     ) {
         this.dataSource = dataSource;
-        this.scraperClasses = scraperClasses;
-        this.scraperService = scraperService;
+        this.scraperQueue = scraperQueue;
+        this.scraperRegistry = scraperRegistry;
         this.currencyExchangeRateService = currencyExchangeRateService;
-        this.lock = lock;
+        this.scraperValidatorService = scraperValidatorService;
         this.logger = logger;
+        this.pendingCounter = new AtomicInteger(scraperQueue.size());
+        this.successCounter = new AtomicInteger();
+        this.failureCounter = new AtomicInteger();
+        this.retryCounter = new AtomicInteger();
+        this.unchangedCounter = new AtomicInteger();
+        this.span = Tracer.startTrace("run").setAttribute("scrapers", scraperQueue.size());
+
+        if (scraperQueue.isEmpty()) {
+            this.span.end();
+        }
     }
 
-    @Override
-    public void run() {
-        int successCounter = 0;
-        int failureCounter = 0;
+    /**
+     * Checking if all the scraper classes are processed (saved, or failed without the attempts left).
+     * The queue could be empty, while the task is not done, because the failed scraper class could be retried.
+     * @return True, if all the scraper classes are processed.
+     */
+    public boolean isDone() {
+        return this.pendingCounter.get() == 0;
+    }
+
+    /**
+     * Polling the next scraper class out of the queue.
+     * @return The entry of the queue, or null, if the queue is empty.
+     */
+    public ScraperQueue.Entry poll() {
+        return this.scraperQueue.poll();
+    }
 
-        this.logger.info("Thread successfully started.");
+    /**
+     * Fetching the response of the scraper (the I/O stage).
+     * The request is conditional, so the response, that wasn't modified since it was saved, isn't fetched again.
+     * @param entry The entry of the queue.
+     * @return The fetched response, or null, if the fetching was failed (or interrupted), or if the response wasn't modified.
+     */
+    public Fetched fetch(ScraperQueue.Entry entry) {
+        // The span of the attempt is passed through the stages, and ended by the last one.
+        Span span = Tracer.startSpan("scrape", this.span)
+                .setAttribute("scraper", entry.scraperClass().getName())
+                .setAttribute("attempt", entry.attempt());
 
-        // Running until all the scraper classes is over (will not be processed).
-        while (true) {
-            Class<? extends Scraper> scraperClass;
+        try (Scope scope = span.makeCurrent()) {
+            Scraper scraper = this.scraperRegistry.getScraper(entry.scraperClass());
+            Integer scraperId = this.scraperRegistry.getScraperDTO(entry.scraperClass()).getId();
+            ScraperValidatorDTO scraperValidatorDTO = this.scraperValidatorService.readConditional(scraperId);
+            Scraper.Body body;
+            long startTime = System.nanoTime();
 
             try {
-                // Locking queue, before fetching scraper class from the queue.
-                this.lock.lock();
+                body = Tracer.call("fetch", (fetchSpan) -> scraper.fetch(scraperValidatorDTO));
+            } finally {
+                MetricRegistry.timer(
+                        "scraper_fetch_seconds",
+                        "Time spent fetching the responses (until the headers, the streamed bodies are read while parsed).",
+                        "scraper",
+                        entry.scraperClass().getName()
+                ).record(System.nanoTime() - startTime);
+            }
 
-                // Fetching scraper class from the queue.
-                scraperClass = this.scraperClasses.remove();
-            } catch (NoSuchElementException e) {
-                this.logger.info("There is no items in the queue left.");
+            if (body.isNotModified()) {
+                this.skip(entry, scope.span(), "is not modified");
 
-                // Exiting out of the task.
-                break;
-            } finally {
-                // Unlocking queue, after fetching scraper class from the queue.
-                this.lock.unlock();
+                return null;
+            }
+
+            this.logger.info(
+                    body.getLength() >= 0
+                            ? String.format(
+                                    "The response of %d bytes (%s) is successfully fetched by \"%s\".",
+                                    body.getLength(),
+                                    body.getCharset().name(),
+                                    entry.scraperClass().getName()
+                            )
+                            : String.format(
+                                    "The response stream (%s) is successfully opened by \"%s\".",
+                                    body.getCharset().name(),
+                                    entry.scraperClass().getName()
+                            )
+            );
+
+            return new Fetched(entry, scraper, scraperId, body, scope.span());
+        } catch (InterruptedException e) {
+            this.interrupt(entry, span, e);
+
+            return null;
+        } catch (Exception | StackOverflowError e) {
+            this.fail(entry, span, e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Parsing the fetched response into the DTOs (the CPU stage).
+     * The region of the response is hashed first, and if it's the same, as the last saved one, it isn't parsed.
+     * @param fetched The fetched response.
+     * @return The parsed DTOs, or null, if the parsing was failed (or interrupted), or if the content is unchanged.
+     */
+    public Parsed parse(Fetched fetched) {
+        long startTime = System.nanoTime();
+
+        try (Scope scope = fetched.span().makeCurrent(); Scraper.Body body = fetched.body()) {
+            // The streamed body is read, while its region is extracted.
+            Scraper.Body region = Tracer.call("extract", (extractSpan) -> fetched.scraper().extract(body));
+
+            ScraperValidatorDTO scraperValidatorDTO = new ScraperValidatorDTO(
+                    fetched.scraperId(),
+                    region.getEtag(),
+                    region.getLastModified(),
+                    region.getContentHash()
+            );
+
+            if (this.scraperValidatorService.isUnchanged(scraperValidatorDTO)) {
+                this.skip(fetched.entry(), scope.span(), "has the same content, as the last saved one");
+
+                return null;
             }
 
+            CurrencyExchangeRateDTO[] currencyExchangeRateDTOs = Tracer.call("parse", (parseSpan) -> {
+                CurrencyExchangeRateDTO[] parsedCurrencyExchangeRateDTOs = fetched.scraper().parse(region);
+
+                parseSpan.setAttribute("rates", parsedCurrencyExchangeRateDTOs.length);
+
+                return parsedCurrencyExchangeRateDTOs;
+            });
+
+            this.logger.info(
+                    String.format(
+                            "%d entities is successfully fetched by \"%s\".",
+                            currencyExchangeRateDTOs.length,
+                            fetched.entry().scraperClass().getName()
+                    )
+            );
+
+            return new Parsed(fetched.entry(), currencyExchangeRateDTOs, scraperValidatorDTO, scope.span());
+        } catch (InterruptedException e) {
+            this.interrupt(fetched.entry(), fetched.span(), e);
+
+            return null;
+        } catch (Exception | StackOverflowError e) {
+            this.fail(fetched.entry(), fetched.span(), e);
+
+            return null;
+        } finally {
+            MetricRegistry.timer(
+                    "scraper_parse_seconds",
+                    "Time spent extracting, hashing and parsing the responses.",
+                    "scraper",
+                    fetched.entry().scraperClass().getName()
+            ).record(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Saving the parsed DTOs into the database (the DB stage).
+     * The DTOs of several scrapers are saved within a single transaction, but each scraper could fail separately.
+     * @param parsedList List of the parsed DTOs.
+     */
+    public void write(List<Parsed> parsedList) {
+        List<Parsed> savedList = new ArrayList<>();
+
+        if (parsedList.size() == 1) {
             try {
-                Scraper scraper = scraperClass.getConstructor(Integer.class).newInstance(
-                        this.scraperService.read(this.dataSource, new ScraperDTO(scraperClass)).getId()
-                );
-
-                this.logger.info(
-                        String.format(
-                                "The instance of \"%s\" is successfully created.",
-                                scraperClass.getName()
-                        )
-                );
-
-                CurrencyExchangeRateDTO[] currencyExchangeRateDTOs = scraper.getCurrencyExchangeRateDTOs();
-
-                this.logger.info(
-                        String.format(
-                                "%d entities is successfully fetched by \"%s\".",
-                                currencyExchangeRateDTOs.length,
-                                scraperClass.getName()
-                        )
-                );
-
-                this.currencyExchangeRateService.save(this.dataSource, currencyExchangeRateDTOs);
-
-                this.logger.info(
-                        String.format(
-                                "%d entities (fetched by \"%s\") is successfully proceeded by \"%s\".",
-                                currencyExchangeRateDTOs.length,
-                                scraperClass.getName(),
-                                this.currencyExchangeRateService.getClass().getName()
-                        )
-                );
-
-                ++successCounter;
-            } catch (Exception e) {
-                this.logger.error(e.getMessage(), e);
-
-                ++failureCounter;
+                // The validators are saved within the transaction of the DTOs, so the response, that wasn't saved, is never skipped.
+                parsedList.getFirst().span().run((writeSpan) -> this.currencyExchangeRateService.save(
+                        this.dataSource,
+                        parsedList.getFirst().currencyExchangeRateDTOs(),
+                        parsedList.getFirst().scraperValidatorDTO()
+                ));
+
+                savedList.add(parsedList.getFirst());
+            } catch (Exception | StackOverflowError e) {
+                this.fail(parsedList.getFirst().entry(), parsedList.getFirst().span(), e);
             }
+        } else {
+            this.writeAll(parsedList, savedList);
         }
 
+        for (Parsed parsed : savedList) {
+            this.succeed(parsed);
+        }
+    }
+
+    /**
+     * Saving the parsed DTOs of several scrapers within a single transaction.
+     * @param parsedList List of the parsed DTOs.
+     * @param savedList List, that the parsed DTOs are added to, if they were saved.
+     */
+    private void writeAll(List<Parsed> parsedList, List<Parsed> savedList) {
+        List<Exception> exceptions;
+
+        // The transaction is shared by several scrapers, so its span is the child of the run (not of the attempts).
+        Span span = Tracer.startSpan("write.batch", this.span).setAttribute("scrapers", parsedList.size());
+
+        if (span.isRecording()) {
+            span.setAttribute(
+                    "scraper",
+                    parsedList.stream()
+                            .map((parsed) -> parsed.entry().scraperClass().getName())
+                            .collect(Collectors.joining(","))
+            );
+        }
+
+        try {
+            exceptions = span.call((batchSpan) -> this.currencyExchangeRateService.saveAll(
+                    this.dataSource,
+                    parsedList.stream().map(Parsed::currencyExchangeRateDTOs).toList(),
+                    parsedList.stream().map(Parsed::scraperValidatorDTO).toList()
+            ));
+        } catch (Exception | StackOverflowError e) {
+            span.setError(e).end();
+
+            // The whole transaction was failed.
+            for (Parsed parsed : parsedList) {
+                this.fail(parsed.entry(), parsed.span(), e);
+            }
+
+            return;
+        }
+
+        span.end();
+
+        for (int i = 0; i < parsedList.size(); i++) {
+            if (exceptions.get(i) == null) {
+                savedList.add(parsedList.get(i));
+            } else {
+                this.fail(parsedList.get(i).entry(), parsedList.get(i).span(), exceptions.get(i));
+            }
+        }
+    }
+
+    /**
+     * Getting the number of the successfully processed scraper classes.
+     * @return The number of the successfully processed scraper classes.
+     */
+    public int getSuccessCount() {
+        return this.successCounter.get();
+    }
+
+    /**
+     * Getting the number of the failed scraper classes (without the attempts left).
+     * @return The number of the failed scraper classes.
+     */
+    public int getFailureCount() {
+        return this.failureCounter.get();
+    }
+
+    /**
+     * Getting the number of the retries.
+     * @return The number of the retries.
+     */
+    public int getRetryCount() {
+        return this.retryCounter.get();
+    }
+
+    /**
+     * Getting the number of the scraper classes, which responses were unchanged (not modified, or with the same content).
+     * @return The number of the unchanged scraper classes.
+     */
+    public int getUnchangedCount() {
+        return this.unchangedCounter.get();
+    }
+
+    /**
+     * Handling the response, that is unchanged since it was saved (it's neither parsed, nor saved).
+     * @param entry The entry of the queue.
+     * @param span The span of the attempt.
+     * @param reason Why the response is unchanged.
+     */
+    private void skip(ScraperQueue.Entry entry, Span span, String reason) {
+        this.logger.info(
+                String.format(
+                        "The response of \"%s\" %s, the parsing and the saving are skipped.",
+                        entry.scraperClass().getName(),
+                        reason
+                )
+        );
+
+        this.count(entry, "unchanged");
+        span.setAttribute("result", "unchanged").end();
+
+        this.unchangedCounter.incrementAndGet();
+        this.done();
+    }
+
+    /**
+     * Handling the success of the DB stage.
+     * @param parsed The parsed DTOs, that were saved.
+     */
+    private void succeed(Parsed parsed) {
         this.logger.info(
                 String.format(
-                        "Thread successfully ended. Successfully proceeded %d operations, failed %d.",
-                        successCounter,
-                        failureCounter
+                        "%d entities (fetched by \"%s\") is successfully proceeded by \"%s\".",
+                        parsed.currencyExchangeRateDTOs().length,
+                        parsed.entry().scraperClass().getName(),
+                        this.currencyExchangeRateService.getClass().getName()
                 )
         );
+
+        this.count(parsed.entry(), "success");
+        parsed.span().setAttribute("result", "success").end();
+
+        this.successCounter.incrementAndGet();
+        this.done();
+    }
+
+    /**
+     * Handling the failure of any stage: adding the scraper class back to the queue, if there are attempts left.
+     * The stack overflow (e.g. on a hostile page) is handled the same way, since only the stack of the stage is unwound,
+     * so the stage keeps running, and the scraper class is still counted as processed. The other errors of the JVM
+     * (e.g. out of memory) aren't recoverable, so they aren't handled, and they stop the worker.
+     * @param entry The entry of the queue.
+     * @param span The span of the attempt.
+     * @param e The exception (or the error) of the stage.
+     */
+    private void fail(ScraperQueue.Entry entry, Span span, Throwable e) {
+        span.setError(e);
+
+        // Some exceptions have no message (e.g. the null pointer one), so they are named by their classes.
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+
+        if (this.scraperQueue.retry(entry)) {
+            this.logger.warn(
+                    String.format(
+                            "Attempt %d of %d by \"%s\" is failed, the scraper will be retried. %s",
+                            entry.attempt(),
+                            this.scraperQueue.getMaxAttempts(),
+                            entry.scraperClass().getName(),
+                            message
+                    )
+            );
+
+            this.count(entry, "retry");
+            span.setAttribute("result", "retry").end();
+
+            this.retryCounter.incrementAndGet();
+        } else {
+            this.logger.error(message, e);
+
+            this.count(entry, "failure");
+            span.setAttribute("result", "failure").end();
+
+            this.failureCounter.incrementAndGet();
+            this.done();
+        }
+    }
+
+    /**
+     * Handling the interruption of any stage (e.g. on shutdown): the attempt is abandoned without the retry,
+     * and the interrupt status of the thread is restored, so the stage is stopped.
+     * @param entry The entry of the queue.
+     * @param span The span of the attempt.
+     * @param e The exception of the stage.
+     */
+    private void interrupt(ScraperQueue.Entry entry, Span span, InterruptedException e) {
+        this.logger.warn(
+                String.format(
+                        "Attempt %d of %d by \"%s\" is interrupted.",
+                        entry.attempt(),
+                        this.scraperQueue.getMaxAttempts(),
+                        entry.scraperClass().getName()
+                )
+        );
+
+        span.setError(e).setAttribute("result", "interrupted").end();
+
+        Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Marking the scraper class as processed, and ending the span of the run, once all of them are processed.
+     */
+    private void done() {
+        if (this.pendingCounter.decrementAndGet() == 0) {
+            this.span
+                    .setAttribute("success", this.successCounter.get())
+                    .setAttribute("unchanged", this.unchangedCounter.get())
+                    .setAttribute("failure", this.failureCounter.get())
+                    .setAttribute("retry", this.retryCounter.get())
+                    .end();
+        }
+    }
+
+    /**
+     * Counting the result of the scraper class.
+     * @param entry The entry of the queue.
+     * @param result The result: "success", "unchanged", "retry" or "failure".
+     */
+    private void count(ScraperQueue.Entry entry, String result) {
+        MetricRegistry.counter(
+                "scraper_results_total",
+                "Number of the scraper attempts, by their results (the unchanged responses are neither parsed, nor saved).",
+                "scraper",
+                entry.scraperClass().getName(),
+                "result",
+                result
+        ).increment();
+    }
+
+    /**
+     * The response, that was fetched by the scraper (passed from the fetch stage to the parse stage).
+     * @param entry The entry of the queue.
+     * @param scraper Instance of the scraper.
+     * @param scraperId The scraper id.
+     * @param body The response body (closed by the parse stage).
+     * @param span The span of the attempt.
+     */
+    public record Fetched(ScraperQueue.Entry entry, Scraper scraper, Integer scraperId, Scraper.Body body, Span span) {
+        //
+    }
+
+    /**
+     * The DTOs, that were parsed out of the response (passed from the parse stage to the write stage).
+     * @param entry The entry of the queue.
+     * @param currencyExchangeRateDTOs Array of the DTOs.
+     * @param scraperValidatorDTO The validators of the response, that are saved within the transaction of the DTOs.
+     * @param span The span of the attempt.
+     */
+    public record Parsed(
+            ScraperQueue.Entry entry,
+            CurrencyExchangeRateDTO[] currencyExchangeRateDTOs,
+            ScraperValidatorDTO scraperValidatorDTO,
+            Span span
+    ) {
+        //
     }
 }
\ No newline at end of file
@@ -2,55 +2,265 @@ package org.example;
 
 import org.apache.logging.log4j.Logger;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Worker {
-    private final Thread[] threads;
+    // For how long (in milliseconds) the idle stage thread waits, before checking if the task is done.
+    private final static long IDLE_TIMEOUT = 50;
+
+    private final int numberOfFetchThreads;
+
+    private final int numberOfParseThreads;
+
+    private final int numberOfWriteThreads;
+
+    private final int queueCapacity;
+
+    // Maximum number of the scrapers, which DTOs are saved within a single transaction,
+    // and for how long the write thread waits for the next scraper to join the transaction.
+    private final int writeBatchSize;
+
+    private final Duration writeBatchWindow;
 
     /**
      * Constructor.
-     * @param numberOfThreads The number of threads, worker is gonna workings with.
+     * The task is run as the pipeline of three stages (fetch, parse and write), connected by the bounded queues.
+     * When the queue is full, the previous stage waits (so the fetched responses don't pile up in the memory).
+     * @param numberOfFetchThreads The number of threads of the fetch stage.
+     * @param numberOfParseThreads The number of threads of the parse stage.
+     * @param numberOfWriteThreads The number of threads of the write stage.
+     * @param queueCapacity Capacity of each queue between the stages.
+     * @param writeBatchSize Maximum number of the scrapers, which DTOs are saved within a single transaction
+     *        (1 - each scraper is saved within its own transaction).
+     * @param writeBatchWindow For how long the write thread waits for the next scraper to join the transaction.
+     * @throws IllegalArgumentException If one of the numbers is not positive, or if the window is negative.
      */
-    public Worker(int numberOfThreads) {
-        // Creating the thread pool.
-        this.threads = new Thread[numberOfThreads];
+    public Worker(
+            int numberOfFetchThreads,
+            int numberOfParseThreads,
+            int numberOfWriteThreads,
+            int queueCapacity,
+            int writeBatchSize,
+            Duration writeBatchWindow
+    ) throws IllegalArgumentException {
+        if (
+                numberOfFetchThreads < 1
+                        || numberOfParseThreads < 1
+                        || numberOfWriteThreads < 1
+                        || queueCapacity < 1
+                        || writeBatchSize < 1
+        ) {
+            throw new IllegalArgumentException("The number of threads, the queue capacity and the batch size should be positive.");
+        }
+
+        if (writeBatchWindow.isNegative()) {
+            throw new IllegalArgumentException("The write batch window should not be negative.");
+        }
+
+        this.numberOfFetchThreads = numberOfFetchThreads;
+        this.numberOfParseThreads = numberOfParseThreads;
+        this.numberOfWriteThreads = numberOfWriteThreads;
+        this.queueCapacity = queueCapacity;
+        this.writeBatchSize = writeBatchSize;
+        this.writeBatchWindow = writeBatchWindow;
     }
 
     /**
-     * Running the worker.
-     * @param task Instance of the task, that will be running in each thread.
+     * Running the worker, until all the scraper classes of the task are processed.
+     * @param task Instance of the task.
      * @param logger Instance of the logger.
      */
-    public void run(Runnable task, Logger logger) {
-        try {
-            logger.info(
+    public void run(Task task, Logger logger) {
+        logger.info(
+                String.format(
+                        "Worker is running. Number of fetch threads is %d, parse threads is %d, write threads is %d.",
+                        this.numberOfFetchThreads,
+                        this.numberOfParseThreads,
+                        this.numberOfWriteThreads
+                )
+        );
+
+        BlockingQueue<Task.Fetched> fetchedQueue = new ArrayBlockingQueue<>(this.queueCapacity);
+        BlockingQueue<Task.Parsed> parsedQueue = new ArrayBlockingQueue<>(this.queueCapacity);
+
+        List<Future<?>> futures = new ArrayList<>();
+
+        // The stage, that exits before the task is done (e.g. interrupted on shutdown), stops the other stages too,
+        // since the scraper classes, that are left in it, would never be processed.
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        // The fetch and the write stages are waiting for I/O, so they are run on the virtual threads.
+        // The parse stage is CPU bound, so it is run on the platform threads, and doesn't occupy the carriers.
+        try (
+                ExecutorService fetchExecutorService = Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("fetch-", 0).factory()
+                );
+                ExecutorService parseExecutorService = Executors.newThreadPerTaskExecutor(
+                        Thread.ofPlatform().name("parse-", 0).factory()
+                );
+                ExecutorService writeExecutorService = Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("write-", 0).factory()
+                )
+        ) {
+            for (int i = 0; i < this.numberOfFetchThreads; i++) {
+                futures.add(fetchExecutorService.submit(() -> {
+                    try {
+                        while (Worker.isRunning(task, stopped)) {
+                            ScraperQueue.Entry entry = task.poll();
+
+                            // The queue could be refilled by the retries, until the task is done.
+                            if (entry == null) {
+                                Thread.sleep(Worker.IDLE_TIMEOUT);
+
+                                continue;
+                            }
+
+                            Task.Fetched fetched = task.fetch(entry);
+
+                            if (fetched != null) {
+                                Worker.put(fetchedQueue, fetched, task, stopped);
+                            }
+                        }
+                    } finally {
+                        stopped.set(true);
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (int i = 0; i < this.numberOfParseThreads; i++) {
+                futures.add(parseExecutorService.submit(() -> {
+                    try {
+                        while (Worker.isRunning(task, stopped)) {
+                            Task.Fetched fetched = fetchedQueue.poll(Worker.IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+
+                            if (fetched == null) {
+                                continue;
+                            }
+
+                            Task.Parsed parsed = task.parse(fetched);
+
+                            if (parsed != null) {
+                                Worker.put(parsedQueue, parsed, task, stopped);
+                            }
+                        }
+                    } finally {
+                        stopped.set(true);
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (int i = 0; i < this.numberOfWriteThreads; i++) {
+                futures.add(writeExecutorService.submit(() -> {
+                    try {
+                        while (Worker.isRunning(task, stopped)) {
+                            Task.Parsed parsed = parsedQueue.poll(Worker.IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+
+                            if (parsed == null) {
+                                continue;
+                            }
+
+                            // Collecting the scrapers, that are parsed within the window, into the single transaction.
+                            List<Task.Parsed> parsedList = new ArrayList<>(List.of(parsed));
+                            long deadline = System.nanoTime() + this.writeBatchWindow.toNanos();
+
+                            while (parsedList.size() < this.writeBatchSize) {
+                                parsed = parsedQueue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+                                if (parsed == null) {
+                                    break;
+                                }
+
+                                parsedList.add(parsed);
+                            }
+
+                            task.write(parsedList);
+                        }
+                    } finally {
+                        stopped.set(true);
+                    }
+
+                    return null;
+                }));
+            }
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                logger.error(e.getMessage(), e);
+            } catch (ExecutionException e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+
+        if (!task.isDone()) {
+            logger.warn(
                     String.format(
-                            "Worker is running. Thread pool size is %d.",
-                            this.threads.length
+                            "Worker is stopped before the task is done. Successfully proceeded %d operations, unchanged %d, failed %d, retried %d.",
+                            task.getSuccessCount(),
+                            task.getUnchangedCount(),
+                            task.getFailureCount(),
+                            task.getRetryCount()
                     )
             );
 
-            // Filling the thread pool, with the tasks.
-            for (int i = 0; i < this.threads.length; i++) {
-                this.threads[i] = new Thread(task);
+            return;
+        }
 
-                // Starting the thread.
-                this.threads[i].start();
-            }
+        logger.info(
+                String.format(
+                        "Worker is successfully finished the task. Successfully proceeded %d operations, unchanged %d, failed %d, retried %d.",
+                        task.getSuccessCount(),
+                        task.getUnchangedCount(),
+                        task.getFailureCount(),
+                        task.getRetryCount()
+                )
+        );
+    }
 
-            // Waiting when all threads are finish their task.
-            for (Thread thread : this.threads) {
-                try {
-                    thread.join();
-                } catch (Exception e) {
-                    logger.error(e.getMessage(), e);
-                }
-            }
-        } finally {
-            // Cleaning the thread pool.
-            Arrays.fill(this.threads, null);
+    /**
+     * Checking if the stage should keep running: the task is not done, the worker is not stopped,
+     * and the thread of the stage is not interrupted.
+     * @param task Instance of the task.
+     * @param stopped Whether the worker is stopped.
+     * @return True, if the stage should keep running.
+     */
+    private static boolean isRunning(Task task, AtomicBoolean stopped) {
+        return !task.isDone() && !stopped.get() && !Thread.currentThread().isInterrupted();
+    }
 
-            logger.info("Worker is successfully finished the task. Thread pool is cleaned up.");
+    /**
+     * Putting the item into the queue of the next stage, waiting while the queue is full
+     * (the item is dropped, if the worker is stopped meanwhile, so the stage never waits for the stopped one).
+     * @param queue The queue of the next stage.
+     * @param item The item.
+     * @param task Instance of the task.
+     * @param stopped Whether the worker is stopped.
+     * @param <T> Type of the item.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    private static <T> void put(BlockingQueue<T> queue, T item, Task task, AtomicBoolean stopped) throws InterruptedException {
+        while (!queue.offer(item, Worker.IDLE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+            if (!Worker.isRunning(task, stopped)) {
+                return;
+            }
         }
     }
 }
\ No newline at end of file
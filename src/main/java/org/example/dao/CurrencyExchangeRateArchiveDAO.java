@@ -4,11 +4,13 @@ import org.example.entities.CurrencyExchangeRateArchiveEntity;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 public interface CurrencyExchangeRateArchiveDAO {
     /**
      * Adding the entity into the database.
+     * The entity becomes the head of the archive (the current archive entity) of its currency exchange rate.
      * @param connection Database connection.
      * @param currencyExchangeRateArchiveEntity Instance of the entity.
      * @throws SQLException If an SQL error occurs.
@@ -37,4 +39,52 @@ public interface CurrencyExchangeRateArchiveDAO {
      */
     void update(Connection connection, CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity)
             throws SQLException, NullPointerException;
-}
+
+    /**
+     * Adding the entities into the database, using a single batch.
+     * Identifiers of the entities are set, after the entities are added.
+     * The last entity of each currency exchange rate becomes the head of its archive.
+     * @param connection Database connection.
+     * @param currencyExchangeRateArchiveEntities List of the entities.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    void createAll(Connection connection, List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities)
+            throws SQLException, NullPointerException;
+
+    /**
+     * Reading the entities from the database (searched by the currency exchange rate identifier), using a single statement.
+     * The heads of the archive are read by the primary key, so the archive size doesn't affect the lookup.
+     * @param connection Database connection.
+     * @param currencyExchangeRateArchiveEntities List of the entities, that will be used for search.
+     * @return List of the latest entities, for each currency exchange rate (entities, that wasn't found, are skipped).
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    List<CurrencyExchangeRateArchiveEntity> readAll(Connection connection, List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities)
+            throws SQLException, NullPointerException;
+
+    /**
+     * Updating the entities in the database, using a single batch.
+     * @param connection Database connection.
+     * @param currencyExchangeRateArchiveEntities List of the entities, that will be updated.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    void updateAll(Connection connection, List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities)
+            throws SQLException, NullPointerException;
+
+    /**
+     * Archiving the entities into the database.
+     * If the latest archive entity (for the same currency exchange rate) has the same unit, buy and sale rates,
+     * then only its date of update is extended, otherwise the entity is added as the new one.
+     * Identifiers and dates of creation of the entities are set (synced with extended ones), after the entities are saved.
+     * The saved entities become the heads of the archive.
+     * @param connection Database connection.
+     * @param currencyExchangeRateArchiveEntities List of the entities (should be unique by the currency exchange rate).
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    void archiveAll(Connection connection, List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities)
+            throws SQLException, NullPointerException;
+}
\ No newline at end of file
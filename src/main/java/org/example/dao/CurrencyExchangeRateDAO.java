@@ -4,6 +4,7 @@ import org.example.entities.CurrencyExchangeRateEntity;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 public interface CurrencyExchangeRateDAO {
@@ -37,4 +38,57 @@ public interface CurrencyExchangeRateDAO {
      */
     void update(Connection connection, CurrencyExchangeRateEntity currencyExchangeRateEntity)
             throws SQLException, NullPointerException;
+
+    /**
+     * Adding the entities into the database, using a single batch.
+     * Identifiers of the entities are set, after the entities are added.
+     * @param connection Database connection.
+     * @param currencyExchangeRateEntities List of the entities.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    void createAll(Connection connection, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException, NullPointerException;
+
+    /**
+     * Reading the entities from the database (searched by the scraper identifier, the unit currency code and the rate currency code), using a single statement.
+     * @param connection Database connection.
+     * @param currencyExchangeRateEntities List of the entities, that will be used for search.
+     * @return List of the found entities (entities, that wasn't found, are skipped).
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    List<CurrencyExchangeRateEntity> readAll(Connection connection, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException, NullPointerException;
+
+    /**
+     * Reading all the entities from the database.
+     * @param connection Database connection.
+     * @return List of all the entities.
+     * @throws SQLException If an SQL error occurs.
+     */
+    List<CurrencyExchangeRateEntity> readAll(Connection connection) throws SQLException;
+
+    /**
+     * Updating the entities in the database, using a single batch.
+     * @param connection Database connection.
+     * @param currencyExchangeRateEntities List of the entities, that will be updated.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    void updateAll(Connection connection, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException, NullPointerException;
+
+    /**
+     * Adding the entities into the database, or updating them, if they are already exist
+     * (found by the scraper identifier, the unit currency code and the rate currency code).
+     * Runs a constant number of statements, regardless of the number of entities.
+     * Identifiers of the entities are set, after the entities are saved.
+     * @param connection Database connection.
+     * @param currencyExchangeRateEntities List of the entities (should be unique by the search fields).
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    void upsertAll(Connection connection, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException, NullPointerException;
 }
\ No newline at end of file
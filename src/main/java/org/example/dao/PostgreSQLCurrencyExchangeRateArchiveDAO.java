@@ -1,30 +1,145 @@
 package org.example.dao;
 
 import org.example.entities.CurrencyExchangeRateArchiveEntity;
+import org.example.utils.SequenceAllocator;
 
 import java.sql.*;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
 
 public class PostgreSQLCurrencyExchangeRateArchiveDAO implements CurrencyExchangeRateArchiveDAO {
+    // The maximum number of the entities, that are archived by a single statement.
+    private final static int BULK_SIZE = 1000;
+
+    // The number of the identifiers, reserved by a single value of the archive sequence (its increment).
+    private final static int ID_BLOCK_SIZE = 50;
+
+    // The allocator of the identifiers, that are used by the batch inserts.
+    private final SequenceAllocator idAllocator =
+            new SequenceAllocator("currency_exchange_rates_archive_sequence", PostgreSQLCurrencyExchangeRateArchiveDAO.ID_BLOCK_SIZE);
+
     @Override
     public void create(Connection connection, CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity)
             throws SQLException, NullPointerException
     {
-        long id;
+        // Inserting the entity, and getting its identifier (generated by the sequence default) in the same round trip.
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement(
+                        """
+                                INSERT INTO currency_exchange_rates_archive (
+                                    currency_exchange_rate_id,
+                                    unit,
+                                    buy_rate,
+                                    sale_rate,
+                                    created_at,
+                                    updated_at
+                                )
+                                VALUES (
+                                    ?, ?, ?, ?, ?, ?
+                                )
+                        """,
+                        new String[] {"id"}
+                )
+        ) {
+            preparedStatement.setInt(1, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId()));
+            preparedStatement.setInt(2, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getUnit()));
+            preparedStatement.setDouble(3, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getBuyRate()));
+            preparedStatement.setDouble(4, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getSaleRate()));
+            preparedStatement.setTimestamp(5, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCreatedAt())));
+            preparedStatement.setTimestamp(6, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getUpdatedAt())));
+
+            int affectedRows = preparedStatement.executeUpdate();
+
+            if (affectedRows == 0) {
+                throw new SQLException("The entity creation error.");
+            }
+
+            try (ResultSet resultSet = preparedStatement.getGeneratedKeys()) {
+                if (!resultSet.next()) {
+                    throw new SQLException("The entity id creation error.");
+                }
+
+                currencyExchangeRateArchiveEntity.setId(resultSet.getLong(1));
+            }
+        }
+
+        // Moving the head of the archive, to the added entity.
+        this.updateHeads(connection, List.of(currencyExchangeRateArchiveEntity));
+    }
+
+    @Override
+    public Optional<CurrencyExchangeRateArchiveEntity> read(Connection connection, CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity)
+            throws SQLException, NullPointerException
+    {
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        SELECT id,
+                        	unit,
+                        	buy_rate,
+                        	sale_rate,
+                        	created_at,
+                        	updated_at
+                        FROM currency_exchange_rates_archive
+                        WHERE currency_exchange_rate_id = ?
+                        ORDER BY updated_at DESC
+                        LIMIT 1;
+                """)
+        ) {
+            preparedStatement.setInt(1, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId()));
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next()
+                        ? Optional.of(
+                                new CurrencyExchangeRateArchiveEntity(
+                                        resultSet.getLong("id"),
+                                        currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId(),
+                                        resultSet.getInt("unit"),
+                                        resultSet.getDouble("buy_rate"),
+                                        resultSet.getDouble("sale_rate"),
+                                        resultSet.getTimestamp("created_at").toLocalDateTime(),
+                                        resultSet.getTimestamp("updated_at").toLocalDateTime()
+                                )
+                        )
+                        : Optional.empty();
+            }
+        }
+    }
 
+    @Override
+    public void update(Connection connection, CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity)
+            throws SQLException, NullPointerException
+    {
         try (
-                ResultSet resultSet = connection.createStatement().executeQuery("""
-                        SELECT NEXTVAL('currency_exchange_rates_archive_sequence') AS id;
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        UPDATE currency_exchange_rates_archive
+                        SET updated_at = ?
+                        WHERE id = ?
+                        	AND created_at = ?;
                 """)
         ) {
-            if (!resultSet.next()) {
-                throw new SQLException("The entity id creation error.");
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getUpdatedAt())));
+            preparedStatement.setLong(2, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getId()));
+            // The date of creation is the partition key of the archive (the update is done on a single partition).
+            preparedStatement.setTimestamp(3, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCreatedAt())));
+
+            int affectedRows = preparedStatement.executeUpdate();
+
+            if (affectedRows == 0) {
+                throw new SQLException("The entity updating error.");
             }
+        }
+    }
 
-            id = resultSet.getLong("id");
+    @Override
+    public void createAll(Connection connection, List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities)
+            throws SQLException, NullPointerException
+    {
+        if (currencyExchangeRateArchiveEntities.isEmpty()) {
+            return;
         }
 
+        // Getting the entities unique identifiers, from the preallocated blocks.
+        List<Long> ids = this.idAllocator.allocate(connection, currencyExchangeRateArchiveEntities.size());
+
         try (
                 PreparedStatement preparedStatement = connection.prepareStatement("""
                         INSERT INTO currency_exchange_rates_archive (
@@ -41,31 +156,64 @@ public class PostgreSQLCurrencyExchangeRateArchiveDAO implements CurrencyExchang
                         );
                 """)
         ) {
-            preparedStatement.setLong(1, id);
-            preparedStatement.setInt(2, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId()));
-            preparedStatement.setInt(3, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getUnit()));
-            preparedStatement.setDouble(4, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getBuyRate()));
-            preparedStatement.setDouble(5, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getSaleRate()));
-            preparedStatement.setTimestamp(6, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCreatedAt())));
-            preparedStatement.setTimestamp(7, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getUpdatedAt())));
+            for (int i = 0; i < currencyExchangeRateArchiveEntities.size(); i++) {
+                CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity = currencyExchangeRateArchiveEntities.get(i);
 
-            int affectedRows = preparedStatement.executeUpdate();
+                preparedStatement.setLong(1, ids.get(i));
+                preparedStatement.setInt(2, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId()));
+                preparedStatement.setInt(3, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getUnit()));
+                preparedStatement.setDouble(4, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getBuyRate()));
+                preparedStatement.setDouble(5, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getSaleRate()));
+                preparedStatement.setTimestamp(6, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCreatedAt())));
+                preparedStatement.setTimestamp(7, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getUpdatedAt())));
 
-            if (affectedRows == 0) {
-                throw new SQLException("The entity creation error.");
+                preparedStatement.addBatch();
+            }
+
+            for (int affectedRows : preparedStatement.executeBatch()) {
+                if (affectedRows == 0 || affectedRows == Statement.EXECUTE_FAILED) {
+                    throw new SQLException("The entity creation error.");
+                }
             }
 
-            currencyExchangeRateArchiveEntity.setId(id);
+            for (int i = 0; i < currencyExchangeRateArchiveEntities.size(); i++) {
+                currencyExchangeRateArchiveEntities.get(i).setId(ids.get(i));
+            }
         }
+
+        // Moving the heads of the archive, to the added entities.
+        this.updateHeads(connection, currencyExchangeRateArchiveEntities);
     }
 
     @Override
-    public Optional<CurrencyExchangeRateArchiveEntity> read(Connection connection, CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity)
-            throws SQLException, NullPointerException
-    {
+    public List<CurrencyExchangeRateArchiveEntity> readAll(
+            Connection connection,
+            List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities
+    ) throws SQLException, NullPointerException {
+        if (currencyExchangeRateArchiveEntities.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, CurrencyExchangeRateArchiveEntity> latestCurrencyExchangeRateArchiveEntities = new LinkedHashMap<>();
+
         try (
                 PreparedStatement preparedStatement = connection.prepareStatement("""
                         SELECT cera.id,
+                        	cera.currency_exchange_rate_id,
+                        	cera.unit,
+                        	cera.buy_rate,
+                        	cera.sale_rate,
+                        	cera.created_at,
+                        	cera.updated_at
+                        FROM currency_exchange_rates cer
+                        INNER JOIN currency_exchange_rates_archive cera ON (
+                            cera.id = cer.archive_id
+                            AND cera.created_at = cer.archive_created_at
+                        )
+                        WHERE cer.id IN (%1$s)
+                        UNION ALL
+                        SELECT cera.id,
+                        	cera.currency_exchange_rate_id,
                         	cera.unit,
                         	cera.buy_rate,
                         	cera.sale_rate,
@@ -73,51 +221,355 @@ public class PostgreSQLCurrencyExchangeRateArchiveDAO implements CurrencyExchang
                         	cera.updated_at
                         FROM currency_exchange_rates_archive cera
                         INNER JOIN currency_exchange_rates cer ON (
-                            cera.currency_exchange_rate_id = cer.id
+                            cer.id = cera.currency_exchange_rate_id
+                            AND cer.archive_id IS NULL
                         )
-                        WHERE cera.currency_exchange_rate_id = ?
-                        ORDER BY updated_at DESC
-                        LIMIT 1;
-                """)
+                        WHERE cera.currency_exchange_rate_id IN (%1$s)
+                        	AND cera.updated_at = (
+                        	    SELECT MAX(updated_at)
+                        	    FROM currency_exchange_rates_archive
+                        	    WHERE currency_exchange_rate_id = cera.currency_exchange_rate_id
+                        	)
+                        ORDER BY id DESC;
+                """.formatted(String.join(", ", Collections.nCopies(currencyExchangeRateArchiveEntities.size(), "?"))))
         ) {
-            preparedStatement.setInt(1, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId()));
+            // The heads of the archive are read by the primary keys,
+            // and the latest entities are searched only for currency exchange rates without the head.
+            for (int i = 0; i < currencyExchangeRateArchiveEntities.size(); i++) {
+                int currencyExchangeRateId =
+                        Objects.requireNonNull(currencyExchangeRateArchiveEntities.get(i).getCurrencyExchangeRateId());
+
+                preparedStatement.setInt(i + 1, currencyExchangeRateId);
+                preparedStatement.setInt(currencyExchangeRateArchiveEntities.size() + i + 1, currencyExchangeRateId);
+            }
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                return resultSet.next()
-                        ? Optional.of(
-                                new CurrencyExchangeRateArchiveEntity(
-                                        resultSet.getLong("id"),
-                                        currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId(),
-                                        resultSet.getInt("unit"),
-                                        resultSet.getDouble("buy_rate"),
-                                        resultSet.getDouble("sale_rate"),
-                                        resultSet.getTimestamp("created_at").toLocalDateTime(),
-                                        resultSet.getTimestamp("updated_at").toLocalDateTime()
-                                )
-                        )
-                        : Optional.empty();
+                while (resultSet.next()) {
+                    // If there are several latest archive entities, then the one with the greatest identifier is used.
+                    latestCurrencyExchangeRateArchiveEntities.putIfAbsent(
+                            resultSet.getInt("currency_exchange_rate_id"),
+                            new CurrencyExchangeRateArchiveEntity(
+                                    resultSet.getLong("id"),
+                                    resultSet.getInt("currency_exchange_rate_id"),
+                                    resultSet.getInt("unit"),
+                                    resultSet.getDouble("buy_rate"),
+                                    resultSet.getDouble("sale_rate"),
+                                    resultSet.getTimestamp("created_at").toLocalDateTime(),
+                                    resultSet.getTimestamp("updated_at").toLocalDateTime()
+                            )
+                    );
+                }
             }
         }
+
+        return new ArrayList<>(latestCurrencyExchangeRateArchiveEntities.values());
     }
 
     @Override
-    public void update(Connection connection, CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity)
+    public void updateAll(Connection connection, List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities)
             throws SQLException, NullPointerException
     {
+        if (currencyExchangeRateArchiveEntities.isEmpty()) {
+            return;
+        }
+
         try (
                 PreparedStatement preparedStatement = connection.prepareStatement("""
                         UPDATE currency_exchange_rates_archive
                         SET updated_at = ?
+                        WHERE id = ?
+                        	AND created_at = ?;
+                """)
+        ) {
+            for (CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity : currencyExchangeRateArchiveEntities) {
+                preparedStatement.setTimestamp(1, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getUpdatedAt())));
+                preparedStatement.setLong(2, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getId()));
+                preparedStatement.setTimestamp(3, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCreatedAt())));
+
+                preparedStatement.addBatch();
+            }
+
+            for (int affectedRows : preparedStatement.executeBatch()) {
+                if (affectedRows == 0 || affectedRows == Statement.EXECUTE_FAILED) {
+                    throw new SQLException("The entity updating error.");
+                }
+            }
+        }
+    }
+
+    @Override
+    public void archiveAll(Connection connection, List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities)
+            throws SQLException, NullPointerException
+    {
+        boolean isPostgreSQL = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+
+        for (int i = 0; i < currencyExchangeRateArchiveEntities.size(); i += PostgreSQLCurrencyExchangeRateArchiveDAO.BULK_SIZE) {
+            List<CurrencyExchangeRateArchiveEntity> bulk = currencyExchangeRateArchiveEntities.subList(
+                    i,
+                    Math.min(i + PostgreSQLCurrencyExchangeRateArchiveDAO.BULK_SIZE, currencyExchangeRateArchiveEntities.size())
+            );
+
+            if (isPostgreSQL) {
+                this.archiveBulk(connection, bulk);
+            } else {
+                // Portable fallback (e.g. for H2 database in PostgreSQL compatibility mode).
+                this.archiveBulkFallback(connection, bulk);
+            }
+        }
+    }
+
+    /**
+     * Archiving the entities, using a single statement.
+     * @param connection Database connection.
+     * @param currencyExchangeRateArchiveEntities List of the entities.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    private void archiveBulk(Connection connection, List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities)
+            throws SQLException, NullPointerException
+    {
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        WITH input (
+                            id,
+                            currency_exchange_rate_id,
+                            unit,
+                            buy_rate,
+                            sale_rate,
+                            created_at,
+                            updated_at
+                        ) AS (
+                            VALUES %s
+                        ), latest AS (
+                            SELECT cera.id,
+                            	cera.currency_exchange_rate_id,
+                            	cera.unit,
+                            	cera.buy_rate,
+                            	cera.sale_rate,
+                            	cera.created_at
+                            FROM currency_exchange_rates cer
+                            INNER JOIN currency_exchange_rates_archive cera ON (
+                                cera.id = cer.archive_id
+                                AND cera.created_at = cer.archive_created_at
+                            )
+                            WHERE cer.id IN (
+                                SELECT currency_exchange_rate_id FROM input
+                            )
+                            UNION ALL
+                            (
+                                SELECT DISTINCT ON (cera.currency_exchange_rate_id) cera.id,
+                                	cera.currency_exchange_rate_id,
+                                	cera.unit,
+                                	cera.buy_rate,
+                                	cera.sale_rate,
+                                	cera.created_at
+                                FROM currency_exchange_rates_archive cera
+                                INNER JOIN currency_exchange_rates cer ON (
+                                    cer.id = cera.currency_exchange_rate_id
+                                    AND cer.archive_id IS NULL
+                                )
+                                WHERE cera.currency_exchange_rate_id IN (
+                                    SELECT currency_exchange_rate_id FROM input
+                                )
+                                ORDER BY cera.currency_exchange_rate_id, cera.updated_at DESC, cera.id DESC
+                            )
+                        ), extended AS (
+                            UPDATE currency_exchange_rates_archive cera
+                            SET updated_at = i.updated_at
+                            FROM input i
+                            INNER JOIN latest l ON (
+                                l.currency_exchange_rate_id = i.currency_exchange_rate_id
+                                AND l.unit = i.unit
+                                AND l.buy_rate = i.buy_rate
+                                AND l.sale_rate = i.sale_rate
+                            )
+                            WHERE cera.id = l.id
+                            	AND cera.created_at = l.created_at
+                            RETURNING cera.id,
+                            	cera.currency_exchange_rate_id,
+                            	cera.created_at
+                        ), inserted AS (
+                            INSERT INTO currency_exchange_rates_archive (
+                                id,
+                                currency_exchange_rate_id,
+                                unit,
+                                buy_rate,
+                                sale_rate,
+                                created_at,
+                                updated_at
+                            )
+                            SELECT i.id,
+                            	i.currency_exchange_rate_id,
+                            	i.unit,
+                            	i.buy_rate,
+                            	i.sale_rate,
+                            	i.created_at,
+                            	i.updated_at
+                            FROM input i
+                            WHERE NOT EXISTS (
+                                SELECT 1
+                                FROM extended e
+                                WHERE e.currency_exchange_rate_id = i.currency_exchange_rate_id
+                            )
+                            RETURNING id,
+                            	currency_exchange_rate_id,
+                            	created_at
+                        ), saved AS (
+                            SELECT id, currency_exchange_rate_id, created_at FROM extended
+                            UNION ALL
+                            SELECT id, currency_exchange_rate_id, created_at FROM inserted
+                        ), heads AS (
+                            UPDATE currency_exchange_rates cer
+                            SET archive_id = s.id,
+                            	archive_created_at = s.created_at
+                            FROM saved s
+                            WHERE cer.id = s.currency_exchange_rate_id
+                            	AND cer.archive_id IS DISTINCT FROM s.id
+                        )
+                        SELECT id, currency_exchange_rate_id, created_at FROM saved;
+                """.formatted(
+                        String.join(
+                                ", ",
+                                Collections.nCopies(
+                                        currencyExchangeRateArchiveEntities.size(),
+                                        "(?::BIGINT, ?::INTEGER, ?::INTEGER, ?::DOUBLE PRECISION, ?::DOUBLE PRECISION, ?::TIMESTAMP(6), ?::TIMESTAMP(6))"
+                                )
+                        )
+                ))
+        ) {
+            // Preallocating the identifiers for all the entities (the ones of the extended entities are skipped).
+            List<Long> ids = this.idAllocator.allocate(connection, currencyExchangeRateArchiveEntities.size());
+
+            for (int i = 0; i < currencyExchangeRateArchiveEntities.size(); i++) {
+                CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity = currencyExchangeRateArchiveEntities.get(i);
+
+                preparedStatement.setLong(7 * i + 1, ids.get(i));
+                preparedStatement.setInt(7 * i + 2, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId()));
+                preparedStatement.setInt(7 * i + 3, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getUnit()));
+                preparedStatement.setDouble(7 * i + 4, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getBuyRate()));
+                preparedStatement.setDouble(7 * i + 5, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getSaleRate()));
+                preparedStatement.setTimestamp(7 * i + 6, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCreatedAt())));
+                preparedStatement.setTimestamp(7 * i + 7, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getUpdatedAt())));
+            }
+
+            Map<Integer, CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntitiesMap = new HashMap<>();
+
+            for (CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity : currencyExchangeRateArchiveEntities) {
+                currencyExchangeRateArchiveEntitiesMap.put(
+                        currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId(),
+                        currencyExchangeRateArchiveEntity
+                );
+            }
+
+            int affectedRows = 0;
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity =
+                            currencyExchangeRateArchiveEntitiesMap.get(resultSet.getInt("currency_exchange_rate_id"));
+
+                    // Syncing the entity with the saved one.
+                    currencyExchangeRateArchiveEntity.setId(resultSet.getLong("id"));
+                    currencyExchangeRateArchiveEntity.setCreatedAt(resultSet.getTimestamp("created_at").toLocalDateTime());
+
+                    ++affectedRows;
+                }
+            }
+
+            if (affectedRows != currencyExchangeRateArchiveEntities.size()) {
+                throw new SQLException("The entities archiving error.");
+            }
+        }
+    }
+
+    /**
+     * Archiving the entities, reading the latest archive entities using a single statement,
+     * and then extending and adding the entities using a single batch each.
+     * @param connection Database connection.
+     * @param currencyExchangeRateArchiveEntities List of the entities.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    private void archiveBulkFallback(Connection connection, List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities)
+            throws SQLException, NullPointerException
+    {
+        Map<Integer, CurrencyExchangeRateArchiveEntity> latestCurrencyExchangeRateArchiveEntities = new HashMap<>();
+
+        for (CurrencyExchangeRateArchiveEntity latestCurrencyExchangeRateArchiveEntity : this.readAll(connection, currencyExchangeRateArchiveEntities)) {
+            latestCurrencyExchangeRateArchiveEntities.put(
+                    latestCurrencyExchangeRateArchiveEntity.getCurrencyExchangeRateId(),
+                    latestCurrencyExchangeRateArchiveEntity
+            );
+        }
+
+        List<CurrencyExchangeRateArchiveEntity> extendedCurrencyExchangeRateArchiveEntities = new ArrayList<>();
+        List<CurrencyExchangeRateArchiveEntity> newCurrencyExchangeRateArchiveEntities = new ArrayList<>();
+
+        for (CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity : currencyExchangeRateArchiveEntities) {
+            CurrencyExchangeRateArchiveEntity latestCurrencyExchangeRateArchiveEntity =
+                    latestCurrencyExchangeRateArchiveEntities.get(currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId());
+
+            // The latest archive entity is the same as the new one.
+            if (
+                    latestCurrencyExchangeRateArchiveEntity != null
+                            && latestCurrencyExchangeRateArchiveEntity.getUnit().equals(currencyExchangeRateArchiveEntity.getUnit())
+                            && latestCurrencyExchangeRateArchiveEntity.getBuyRate().equals(currencyExchangeRateArchiveEntity.getBuyRate())
+                            && latestCurrencyExchangeRateArchiveEntity.getSaleRate().equals(currencyExchangeRateArchiveEntity.getSaleRate())
+            ) {
+                // Syncing the new archive entity with the latest one.
+                currencyExchangeRateArchiveEntity.setId(latestCurrencyExchangeRateArchiveEntity.getId());
+                currencyExchangeRateArchiveEntity.setCreatedAt(latestCurrencyExchangeRateArchiveEntity.getCreatedAt());
+
+                extendedCurrencyExchangeRateArchiveEntities.add(currencyExchangeRateArchiveEntity);
+            } else {
+                newCurrencyExchangeRateArchiveEntities.add(currencyExchangeRateArchiveEntity);
+            }
+        }
+
+        // Extending the latest archive entities, and adding the new ones (a single batch each).
+        this.updateAll(connection, extendedCurrencyExchangeRateArchiveEntities);
+        this.createAll(connection, newCurrencyExchangeRateArchiveEntities);
+
+        // Pointing the heads of the archive to the extended entities (the ones of the added entities are already moved).
+        this.updateHeads(connection, extendedCurrencyExchangeRateArchiveEntities);
+    }
+
+    /**
+     * Moving the heads of the archive (the current archive entity of the currency exchange rate), using a single batch.
+     * If there are several entities of the same currency exchange rate, then the last one becomes the head.
+     * @param connection Database connection.
+     * @param currencyExchangeRateArchiveEntities List of the saved entities.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    private void updateHeads(Connection connection, List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities)
+            throws SQLException, NullPointerException
+    {
+        if (currencyExchangeRateArchiveEntities.isEmpty()) {
+            return;
+        }
+
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        UPDATE currency_exchange_rates
+                        SET archive_id = ?,
+                        	archive_created_at = ?
                         WHERE id = ?;
                 """)
         ) {
-            preparedStatement.setTimestamp(1, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getUpdatedAt())));
-            preparedStatement.setLong(2, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getId()));
+            for (CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity : currencyExchangeRateArchiveEntities) {
+                preparedStatement.setLong(1, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getId()));
+                // The partition key of the head, so the head is read from a single partition.
+                preparedStatement.setTimestamp(2, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCreatedAt())));
+                preparedStatement.setInt(3, Objects.requireNonNull(currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId()));
 
-            int affectedRows = preparedStatement.executeUpdate();
+                preparedStatement.addBatch();
+            }
 
-            if (affectedRows == 0) {
-                throw new SQLException("The entity updating error.");
+            for (int affectedRows : preparedStatement.executeBatch()) {
+                if (affectedRows == 0 || affectedRows == Statement.EXECUTE_FAILED) {
+                    throw new SQLException("The entity head updating error.");
+                }
             }
         }
     }
@@ -3,55 +3,45 @@ package org.example.dao;
 import org.example.entities.CurrencyExchangeRateEntity;
 
 import java.sql.*;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
 
 public class PostgreSQLCurrencyExchangeRateDAO implements CurrencyExchangeRateDAO {
+    // The maximum number of the entities, that are saved by a single statement.
+    private final static int BULK_SIZE = 1000;
+
     @Override
     public void create(Connection connection, CurrencyExchangeRateEntity currencyExchangeRateEntity)
             throws SQLException, NullPointerException
     {
-        int id;
-
+        // The identifier is generated by the sequence default, and is returned by the insert itself.
         try (
-                ResultSet resultSet = connection.createStatement().executeQuery("""
-                        SELECT NEXTVAL('currency_exchange_rates_sequence') AS id;
-                """)
-        ) {
-            if (!resultSet.next()) {
-                throw new SQLException("The entity id creation error.");
-            }
-
-            id = resultSet.getInt("id");
-        }
-
-        try (
-                PreparedStatement preparedStatement = connection.prepareStatement("""
-                        INSERT INTO currency_exchange_rates (
-                            id,
-                            scraper_id,
-                            unit,
-                            unit_currency_code,
-                            rate_currency_code,
-                            buy_rate,
-                            sale_rate,
-                            created_at,
-                            updated_at
-                        )
-                        VALUES (
-                            ?, ?, ?, ?, ?, ?, ?, ?, ?
-                        );
-                """)
+                PreparedStatement preparedStatement = connection.prepareStatement(
+                        """
+                                INSERT INTO currency_exchange_rates (
+                                    scraper_id,
+                                    unit,
+                                    unit_currency_code,
+                                    rate_currency_code,
+                                    buy_rate,
+                                    sale_rate,
+                                    created_at,
+                                    updated_at
+                                )
+                                VALUES (
+                                    ?, ?, ?, ?, ?, ?, ?, ?
+                                )
+                        """,
+                        new String[] {"id"}
+                )
         ) {
-            preparedStatement.setInt(1, id);
-            preparedStatement.setInt(2, Objects.requireNonNull(currencyExchangeRateEntity.getScraperId()));
-            preparedStatement.setInt(3, Objects.requireNonNull(currencyExchangeRateEntity.getUnit()));
-            preparedStatement.setString(4, Objects.requireNonNull(currencyExchangeRateEntity.getUnitCurrencyCode()));
-            preparedStatement.setString(5, Objects.requireNonNull(currencyExchangeRateEntity.getRateCurrencyCode()));
-            preparedStatement.setDouble(6, Objects.requireNonNull(currencyExchangeRateEntity.getBuyRate()));
-            preparedStatement.setDouble(7, Objects.requireNonNull(currencyExchangeRateEntity.getSaleRate()));
-            preparedStatement.setTimestamp(8, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateEntity.getCreatedAt())));
-            preparedStatement.setTimestamp(9, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateEntity.getUpdatedAt())));
+            preparedStatement.setInt(1, Objects.requireNonNull(currencyExchangeRateEntity.getScraperId()));
+            preparedStatement.setInt(2, Objects.requireNonNull(currencyExchangeRateEntity.getUnit()));
+            preparedStatement.setString(3, Objects.requireNonNull(currencyExchangeRateEntity.getUnitCurrencyCode()));
+            preparedStatement.setString(4, Objects.requireNonNull(currencyExchangeRateEntity.getRateCurrencyCode()));
+            preparedStatement.setDouble(5, Objects.requireNonNull(currencyExchangeRateEntity.getBuyRate()));
+            preparedStatement.setDouble(6, Objects.requireNonNull(currencyExchangeRateEntity.getSaleRate()));
+            preparedStatement.setTimestamp(7, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateEntity.getCreatedAt())));
+            preparedStatement.setTimestamp(8, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateEntity.getUpdatedAt())));
 
             int affectedRows = preparedStatement.executeUpdate();
 
@@ -59,7 +49,13 @@ public class PostgreSQLCurrencyExchangeRateDAO implements CurrencyExchangeRateDA
                 throw new SQLException("The entity creation error.");
             }
 
-            currencyExchangeRateEntity.setId(id);
+            try (ResultSet resultSet = preparedStatement.getGeneratedKeys()) {
+                if (!resultSet.next()) {
+                    throw new SQLException("The entity id creation error.");
+                }
+
+                currencyExchangeRateEntity.setId(resultSet.getInt(1));
+            }
         }
     }
 
@@ -132,4 +128,471 @@ public class PostgreSQLCurrencyExchangeRateDAO implements CurrencyExchangeRateDA
             }
         }
     }
+
+    @Override
+    public void createAll(Connection connection, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException, NullPointerException
+    {
+        if (currencyExchangeRateEntities.isEmpty()) {
+            return;
+        }
+
+        // The identifiers are generated by the sequence default, and are returned by the batch itself (in its order).
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement(
+                        """
+                                INSERT INTO currency_exchange_rates (
+                                    scraper_id,
+                                    unit,
+                                    unit_currency_code,
+                                    rate_currency_code,
+                                    buy_rate,
+                                    sale_rate,
+                                    created_at,
+                                    updated_at
+                                )
+                                VALUES (
+                                    ?, ?, ?, ?, ?, ?, ?, ?
+                                )
+                        """,
+                        new String[] {"id"}
+                )
+        ) {
+            for (CurrencyExchangeRateEntity currencyExchangeRateEntity : currencyExchangeRateEntities) {
+                preparedStatement.setInt(1, Objects.requireNonNull(currencyExchangeRateEntity.getScraperId()));
+                preparedStatement.setInt(2, Objects.requireNonNull(currencyExchangeRateEntity.getUnit()));
+                preparedStatement.setString(3, Objects.requireNonNull(currencyExchangeRateEntity.getUnitCurrencyCode()));
+                preparedStatement.setString(4, Objects.requireNonNull(currencyExchangeRateEntity.getRateCurrencyCode()));
+                preparedStatement.setDouble(5, Objects.requireNonNull(currencyExchangeRateEntity.getBuyRate()));
+                preparedStatement.setDouble(6, Objects.requireNonNull(currencyExchangeRateEntity.getSaleRate()));
+                preparedStatement.setTimestamp(7, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateEntity.getCreatedAt())));
+                preparedStatement.setTimestamp(8, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateEntity.getUpdatedAt())));
+
+                preparedStatement.addBatch();
+            }
+
+            for (int affectedRows : preparedStatement.executeBatch()) {
+                if (affectedRows == 0 || affectedRows == Statement.EXECUTE_FAILED) {
+                    throw new SQLException("The entity creation error.");
+                }
+            }
+
+            try (ResultSet resultSet = preparedStatement.getGeneratedKeys()) {
+                for (CurrencyExchangeRateEntity currencyExchangeRateEntity : currencyExchangeRateEntities) {
+                    if (!resultSet.next()) {
+                        throw new SQLException("The entity id creation error.");
+                    }
+
+                    currencyExchangeRateEntity.setId(resultSet.getInt(1));
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<CurrencyExchangeRateEntity> readAll(Connection connection, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException, NullPointerException
+    {
+        List<CurrencyExchangeRateEntity> result = new ArrayList<>();
+
+        if (currencyExchangeRateEntities.isEmpty()) {
+            return result;
+        }
+
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        SELECT id,
+                        	scraper_id,
+                        	unit,
+                        	unit_currency_code,
+                        	rate_currency_code,
+                        	buy_rate,
+                        	sale_rate,
+                        	created_at,
+                        	updated_at
+                        FROM currency_exchange_rates
+                        WHERE (scraper_id, unit_currency_code, rate_currency_code) IN (%s);
+                """.formatted(String.join(", ", Collections.nCopies(currencyExchangeRateEntities.size(), "(?, ?, ?)"))))
+        ) {
+            for (int i = 0; i < currencyExchangeRateEntities.size(); i++) {
+                CurrencyExchangeRateEntity currencyExchangeRateEntity = currencyExchangeRateEntities.get(i);
+
+                preparedStatement.setInt(3 * i + 1, Objects.requireNonNull(currencyExchangeRateEntity.getScraperId()));
+                preparedStatement.setString(3 * i + 2, Objects.requireNonNull(currencyExchangeRateEntity.getUnitCurrencyCode()));
+                preparedStatement.setString(3 * i + 3, Objects.requireNonNull(currencyExchangeRateEntity.getRateCurrencyCode()));
+            }
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.add(
+                            new CurrencyExchangeRateEntity(
+                                    resultSet.getInt("id"),
+                                    resultSet.getInt("scraper_id"),
+                                    resultSet.getInt("unit"),
+                                    resultSet.getString("unit_currency_code"),
+                                    resultSet.getString("rate_currency_code"),
+                                    resultSet.getDouble("buy_rate"),
+                                    resultSet.getDouble("sale_rate"),
+                                    resultSet.getTimestamp("created_at").toLocalDateTime(),
+                                    resultSet.getTimestamp("updated_at").toLocalDateTime()
+                            )
+                    );
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<CurrencyExchangeRateEntity> readAll(Connection connection) throws SQLException {
+        List<CurrencyExchangeRateEntity> result = new ArrayList<>();
+
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        SELECT id,
+                        	scraper_id,
+                        	unit,
+                        	unit_currency_code,
+                        	rate_currency_code,
+                        	buy_rate,
+                        	sale_rate,
+                        	created_at,
+                        	updated_at
+                        FROM currency_exchange_rates
+                        ORDER BY id;
+                """);
+                ResultSet resultSet = preparedStatement.executeQuery()
+        ) {
+            while (resultSet.next()) {
+                result.add(
+                        new CurrencyExchangeRateEntity(
+                                resultSet.getInt("id"),
+                                resultSet.getInt("scraper_id"),
+                                resultSet.getInt("unit"),
+                                resultSet.getString("unit_currency_code"),
+                                resultSet.getString("rate_currency_code"),
+                                resultSet.getDouble("buy_rate"),
+                                resultSet.getDouble("sale_rate"),
+                                resultSet.getTimestamp("created_at").toLocalDateTime(),
+                                resultSet.getTimestamp("updated_at").toLocalDateTime()
+                        )
+                );
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void updateAll(Connection connection, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException, NullPointerException
+    {
+        if (currencyExchangeRateEntities.isEmpty()) {
+            return;
+        }
+
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        UPDATE currency_exchange_rates
+                        SET unit = ?,
+                        	buy_rate = ?,
+                        	sale_rate = ?,
+                        	updated_at = ?
+                        WHERE id = ?;
+                """)
+        ) {
+            for (CurrencyExchangeRateEntity currencyExchangeRateEntity : currencyExchangeRateEntities) {
+                preparedStatement.setInt(1, Objects.requireNonNull(currencyExchangeRateEntity.getUnit()));
+                preparedStatement.setDouble(2, Objects.requireNonNull(currencyExchangeRateEntity.getBuyRate()));
+                preparedStatement.setDouble(3, Objects.requireNonNull(currencyExchangeRateEntity.getSaleRate()));
+                preparedStatement.setTimestamp(4, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateEntity.getUpdatedAt())));
+                preparedStatement.setInt(5, Objects.requireNonNull(currencyExchangeRateEntity.getId()));
+
+                preparedStatement.addBatch();
+            }
+
+            for (int affectedRows : preparedStatement.executeBatch()) {
+                if (affectedRows == 0 || affectedRows == Statement.EXECUTE_FAILED) {
+                    throw new SQLException("The entity updating error.");
+                }
+            }
+        }
+    }
+
+    @Override
+    public void upsertAll(Connection connection, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException, NullPointerException
+    {
+        boolean isPostgreSQL = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+
+        for (int i = 0; i < currencyExchangeRateEntities.size(); i += PostgreSQLCurrencyExchangeRateDAO.BULK_SIZE) {
+            List<CurrencyExchangeRateEntity> bulk = currencyExchangeRateEntities.subList(
+                    i,
+                    Math.min(i + PostgreSQLCurrencyExchangeRateDAO.BULK_SIZE, currencyExchangeRateEntities.size())
+            );
+
+            if (isPostgreSQL) {
+                this.upsertBulk(connection, bulk);
+            } else {
+                // Portable fallback (e.g. for H2 database in PostgreSQL compatibility mode).
+                this.mergeBulk(connection, bulk);
+            }
+        }
+    }
+
+    /**
+     * Adding or updating the entities, using a single statement.
+     * Existing entities are updated first, so the sequence values are not consumed by them,
+     * the rest are inserted (with the conflicts resolved, for the concurrently inserted entities).
+     * @param connection Database connection.
+     * @param currencyExchangeRateEntities List of the entities.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    private void upsertBulk(Connection connection, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException, NullPointerException
+    {
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        WITH input (
+                            scraper_id,
+                            unit,
+                            unit_currency_code,
+                            rate_currency_code,
+                            buy_rate,
+                            sale_rate,
+                            created_at,
+                            updated_at
+                        ) AS (
+                            VALUES %s
+                        ), updated AS (
+                            UPDATE currency_exchange_rates cer
+                            SET unit = i.unit,
+                            	buy_rate = i.buy_rate,
+                            	sale_rate = i.sale_rate,
+                            	updated_at = i.updated_at
+                            FROM input i
+                            WHERE cer.scraper_id = i.scraper_id
+                            	AND cer.unit_currency_code = i.unit_currency_code
+                            	AND cer.rate_currency_code = i.rate_currency_code
+                            RETURNING cer.id,
+                            	cer.scraper_id,
+                            	cer.unit_currency_code,
+                            	cer.rate_currency_code
+                        ), inserted AS (
+                            INSERT INTO currency_exchange_rates (
+                                id,
+                                scraper_id,
+                                unit,
+                                unit_currency_code,
+                                rate_currency_code,
+                                buy_rate,
+                                sale_rate,
+                                created_at,
+                                updated_at
+                            )
+                            SELECT NEXTVAL('currency_exchange_rates_sequence'),
+                            	i.scraper_id,
+                            	i.unit,
+                            	i.unit_currency_code,
+                            	i.rate_currency_code,
+                            	i.buy_rate,
+                            	i.sale_rate,
+                            	i.created_at,
+                            	i.updated_at
+                            FROM input i
+                            WHERE NOT EXISTS (
+                                SELECT 1
+                                FROM updated u
+                                WHERE u.scraper_id = i.scraper_id
+                                	AND u.unit_currency_code = i.unit_currency_code
+                                	AND u.rate_currency_code = i.rate_currency_code
+                            )
+                            ON CONFLICT (scraper_id, unit_currency_code, rate_currency_code) DO UPDATE
+                            SET unit = EXCLUDED.unit,
+                            	buy_rate = EXCLUDED.buy_rate,
+                            	sale_rate = EXCLUDED.sale_rate,
+                            	updated_at = EXCLUDED.updated_at
+                            RETURNING id,
+                            	scraper_id,
+                            	unit_currency_code,
+                            	rate_currency_code
+                        )
+                        SELECT id, scraper_id, unit_currency_code, rate_currency_code FROM updated
+                        UNION ALL
+                        SELECT id, scraper_id, unit_currency_code, rate_currency_code FROM inserted;
+                """.formatted(
+                        String.join(
+                                ", ",
+                                Collections.nCopies(
+                                        currencyExchangeRateEntities.size(),
+                                        "(?::INTEGER, ?::INTEGER, ?::CHARACTER(3), ?::CHARACTER(3), ?::DOUBLE PRECISION, ?::DOUBLE PRECISION, ?::TIMESTAMP(6), ?::TIMESTAMP(6))"
+                                )
+                        )
+                ))
+        ) {
+            this.setValues(preparedStatement, currencyExchangeRateEntities);
+
+            Map<List<Object>, Integer> ids = new HashMap<>();
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.put(
+                            List.of(
+                                    resultSet.getInt("scraper_id"),
+                                    resultSet.getString("unit_currency_code"),
+                                    resultSet.getString("rate_currency_code")
+                            ),
+                            resultSet.getInt("id")
+                    );
+                }
+            }
+
+            this.setIds(ids, currencyExchangeRateEntities);
+        }
+    }
+
+    /**
+     * Adding or updating the entities, using the standard MERGE statement, and reading their identifiers.
+     * @param connection Database connection.
+     * @param currencyExchangeRateEntities List of the entities.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    private void mergeBulk(Connection connection, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException, NullPointerException
+    {
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        MERGE INTO currency_exchange_rates cer
+                        USING (
+                            VALUES %s
+                        ) AS i (
+                            scraper_id,
+                            unit,
+                            unit_currency_code,
+                            rate_currency_code,
+                            buy_rate,
+                            sale_rate,
+                            created_at,
+                            updated_at
+                        )
+                        ON (
+                            cer.scraper_id = i.scraper_id
+                            AND cer.unit_currency_code = i.unit_currency_code
+                            AND cer.rate_currency_code = i.rate_currency_code
+                        )
+                        WHEN MATCHED THEN UPDATE
+                        SET unit = i.unit,
+                        	buy_rate = i.buy_rate,
+                        	sale_rate = i.sale_rate,
+                        	updated_at = i.updated_at
+                        WHEN NOT MATCHED THEN INSERT (
+                            id,
+                            scraper_id,
+                            unit,
+                            unit_currency_code,
+                            rate_currency_code,
+                            buy_rate,
+                            sale_rate,
+                            created_at,
+                            updated_at
+                        )
+                        VALUES (
+                            NEXTVAL('currency_exchange_rates_sequence'),
+                            i.scraper_id,
+                            i.unit,
+                            i.unit_currency_code,
+                            i.rate_currency_code,
+                            i.buy_rate,
+                            i.sale_rate,
+                            i.created_at,
+                            i.updated_at
+                        );
+                """.formatted(
+                        String.join(
+                                ", ",
+                                Collections.nCopies(
+                                        currencyExchangeRateEntities.size(),
+                                        "(CAST(? AS INTEGER), CAST(? AS INTEGER), CAST(? AS CHARACTER(3)), CAST(? AS CHARACTER(3)), CAST(? AS DOUBLE PRECISION), CAST(? AS DOUBLE PRECISION), CAST(? AS TIMESTAMP(6)), CAST(? AS TIMESTAMP(6)))"
+                                )
+                        )
+                ))
+        ) {
+            this.setValues(preparedStatement, currencyExchangeRateEntities);
+
+            int affectedRows = preparedStatement.executeUpdate();
+
+            if (affectedRows != currencyExchangeRateEntities.size()) {
+                throw new SQLException("The entities saving error.");
+            }
+        }
+
+        // Reading the identifiers of the saved entities.
+        Map<List<Object>, Integer> ids = new HashMap<>();
+
+        for (CurrencyExchangeRateEntity currencyExchangeRateEntity : this.readAll(connection, currencyExchangeRateEntities)) {
+            ids.put(
+                    List.of(
+                            currencyExchangeRateEntity.getScraperId(),
+                            currencyExchangeRateEntity.getUnitCurrencyCode(),
+                            currencyExchangeRateEntity.getRateCurrencyCode()
+                    ),
+                    currencyExchangeRateEntity.getId()
+            );
+        }
+
+        this.setIds(ids, currencyExchangeRateEntities);
+    }
+
+    /**
+     * Setting the values of the entities, as the statement parameters (eight parameters per entity).
+     * @param preparedStatement Instance of the statement.
+     * @param currencyExchangeRateEntities List of the entities.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    private void setValues(PreparedStatement preparedStatement, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException, NullPointerException
+    {
+        for (int i = 0; i < currencyExchangeRateEntities.size(); i++) {
+            CurrencyExchangeRateEntity currencyExchangeRateEntity = currencyExchangeRateEntities.get(i);
+
+            preparedStatement.setInt(8 * i + 1, Objects.requireNonNull(currencyExchangeRateEntity.getScraperId()));
+            preparedStatement.setInt(8 * i + 2, Objects.requireNonNull(currencyExchangeRateEntity.getUnit()));
+            preparedStatement.setString(8 * i + 3, Objects.requireNonNull(currencyExchangeRateEntity.getUnitCurrencyCode()));
+            preparedStatement.setString(8 * i + 4, Objects.requireNonNull(currencyExchangeRateEntity.getRateCurrencyCode()));
+            preparedStatement.setDouble(8 * i + 5, Objects.requireNonNull(currencyExchangeRateEntity.getBuyRate()));
+            preparedStatement.setDouble(8 * i + 6, Objects.requireNonNull(currencyExchangeRateEntity.getSaleRate()));
+            preparedStatement.setTimestamp(8 * i + 7, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateEntity.getCreatedAt())));
+            preparedStatement.setTimestamp(8 * i + 8, Timestamp.valueOf(Objects.requireNonNull(currencyExchangeRateEntity.getUpdatedAt())));
+        }
+    }
+
+    /**
+     * Setting the identifiers of the entities.
+     * @param ids Map of the identifiers, by the scraper identifier, the unit currency code and the rate currency code.
+     * @param currencyExchangeRateEntities List of the entities.
+     * @throws SQLException If identifier wasn't found for one of the entities.
+     */
+    private void setIds(Map<List<Object>, Integer> ids, List<CurrencyExchangeRateEntity> currencyExchangeRateEntities)
+            throws SQLException
+    {
+        for (CurrencyExchangeRateEntity currencyExchangeRateEntity : currencyExchangeRateEntities) {
+            Integer id = ids.get(
+                    List.of(
+                            currencyExchangeRateEntity.getScraperId(),
+                            currencyExchangeRateEntity.getUnitCurrencyCode(),
+                            currencyExchangeRateEntity.getRateCurrencyCode()
+                    )
+            );
+
+            if (id == null) {
+                throw new SQLException("The entity saving error.");
+            }
+
+            currencyExchangeRateEntity.setId(id);
+        }
+    }
 }
\ No newline at end of file
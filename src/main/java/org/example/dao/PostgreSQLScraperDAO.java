@@ -1,11 +1,14 @@
 package org.example.dao;
 
 import org.example.entities.ScraperEntity;
+import org.example.scrapers.Scraper;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -19,6 +22,7 @@ public class PostgreSQLScraperDAO implements ScraperDAO {
                         SELECT id,
                         	name_en,
                         	name_uk,
+                        	schedule,
                         	created_at,
                         	updated_at
                         FROM scrapers
@@ -35,6 +39,7 @@ public class PostgreSQLScraperDAO implements ScraperDAO {
                                         scraperEntity.getClazz(),
                                         resultSet.getString("name_en"),
                                         resultSet.getString("name_uk"),
+                                        resultSet.getString("schedule"),
                                         resultSet.getTimestamp("created_at").toLocalDateTime(),
                                         resultSet.getTimestamp("updated_at").toLocalDateTime()
                                 )
@@ -43,4 +48,50 @@ public class PostgreSQLScraperDAO implements ScraperDAO {
             }
         }
     }
+
+    @Override
+    public List<ScraperEntity> readAll(Connection connection) throws SQLException {
+        List<ScraperEntity> scraperEntities = new ArrayList<>();
+
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        SELECT id,
+                        	class_name,
+                        	name_en,
+                        	name_uk,
+                        	schedule,
+                        	created_at,
+                        	updated_at
+                        FROM scrapers
+                        ORDER BY id;
+                """)
+        ) {
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    Class<? extends Scraper> clazz;
+
+                    // Skipping the rows of the scrapers, that are not available in this build.
+                    try {
+                        clazz = Class.forName(resultSet.getString("class_name")).asSubclass(Scraper.class);
+                    } catch (ClassNotFoundException | ClassCastException e) {
+                        continue;
+                    }
+
+                    scraperEntities.add(
+                            new ScraperEntity(
+                                    resultSet.getInt("id"),
+                                    clazz,
+                                    resultSet.getString("name_en"),
+                                    resultSet.getString("name_uk"),
+                                    resultSet.getString("schedule"),
+                                    resultSet.getTimestamp("created_at").toLocalDateTime(),
+                                    resultSet.getTimestamp("updated_at").toLocalDateTime()
+                            )
+                    );
+                }
+            }
+        }
+
+        return scraperEntities;
+    }
 }
\ No newline at end of file
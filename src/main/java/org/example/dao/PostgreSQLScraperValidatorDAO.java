@@ -0,0 +1,134 @@
+package org.example.dao;
+
+import org.example.entities.ScraperValidatorEntity;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class PostgreSQLScraperValidatorDAO implements ScraperValidatorDAO {
+    @Override
+    public List<ScraperValidatorEntity> readAll(Connection connection) throws SQLException {
+        List<ScraperValidatorEntity> scraperValidatorEntities = new ArrayList<>();
+
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        SELECT scraper_id,
+                        	etag,
+                        	last_modified,
+                        	content_hash,
+                        	created_at,
+                        	updated_at
+                        FROM scraper_validators
+                        ORDER BY scraper_id;
+                """)
+        ) {
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    scraperValidatorEntities.add(
+                            new ScraperValidatorEntity(
+                                    resultSet.getInt("scraper_id"),
+                                    resultSet.getString("etag"),
+                                    resultSet.getString("last_modified"),
+                                    resultSet.getString("content_hash"),
+                                    resultSet.getTimestamp("created_at").toLocalDateTime(),
+                                    resultSet.getTimestamp("updated_at").toLocalDateTime()
+                            )
+                    );
+                }
+            }
+        }
+
+        return scraperValidatorEntities;
+    }
+
+    @Override
+    public void upsertAll(Connection connection, List<ScraperValidatorEntity> scraperValidatorEntities)
+            throws SQLException, NullPointerException
+    {
+        if (scraperValidatorEntities.isEmpty()) {
+            return;
+        }
+
+        // The portable MERGE statement is used for the compatible databases (e.g. for H2 database in PostgreSQL compatibility mode).
+        String sql = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")
+                ? """
+                        INSERT INTO scraper_validators (
+                            scraper_id,
+                            etag,
+                            last_modified,
+                            content_hash,
+                            created_at,
+                            updated_at
+                        )
+                        VALUES (?, ?, ?, ?, ?, ?)
+                        ON CONFLICT (scraper_id) DO UPDATE
+                        SET etag = EXCLUDED.etag,
+                        	last_modified = EXCLUDED.last_modified,
+                        	content_hash = EXCLUDED.content_hash,
+                        	updated_at = EXCLUDED.updated_at;
+                """
+                : """
+                        MERGE INTO scraper_validators sv
+                        USING (
+                            VALUES (
+                                CAST(? AS INTEGER),
+                                CAST(? AS CHARACTER VARYING(1024)),
+                                CAST(? AS CHARACTER VARYING(255)),
+                                CAST(? AS CHARACTER(64)),
+                                CAST(? AS TIMESTAMP(6)),
+                                CAST(? AS TIMESTAMP(6))
+                            )
+                        ) AS i (
+                            scraper_id,
+                            etag,
+                            last_modified,
+                            content_hash,
+                            created_at,
+                            updated_at
+                        )
+                        ON (sv.scraper_id = i.scraper_id)
+                        WHEN MATCHED THEN UPDATE
+                        SET etag = i.etag,
+                        	last_modified = i.last_modified,
+                        	content_hash = i.content_hash,
+                        	updated_at = i.updated_at
+                        WHEN NOT MATCHED THEN INSERT (
+                            scraper_id,
+                            etag,
+                            last_modified,
+                            content_hash,
+                            created_at,
+                            updated_at
+                        )
+                        VALUES (
+                            i.scraper_id,
+                            i.etag,
+                            i.last_modified,
+                            i.content_hash,
+                            i.created_at,
+                            i.updated_at
+                        );
+                """;
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            for (ScraperValidatorEntity scraperValidatorEntity : scraperValidatorEntities) {
+                preparedStatement.setInt(1, Objects.requireNonNull(scraperValidatorEntity.getScraperId()));
+                preparedStatement.setString(2, scraperValidatorEntity.getEtag());
+                preparedStatement.setString(3, scraperValidatorEntity.getLastModified());
+                preparedStatement.setString(4, scraperValidatorEntity.getContentHash());
+                preparedStatement.setTimestamp(5, Timestamp.valueOf(Objects.requireNonNull(scraperValidatorEntity.getCreatedAt())));
+                preparedStatement.setTimestamp(6, Timestamp.valueOf(Objects.requireNonNull(scraperValidatorEntity.getUpdatedAt())));
+
+                preparedStatement.addBatch();
+            }
+
+            preparedStatement.executeBatch();
+        }
+    }
+}
\ No newline at end of file
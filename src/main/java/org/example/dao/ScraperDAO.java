@@ -4,6 +4,7 @@ import org.example.entities.ScraperEntity;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 public interface ScraperDAO {
@@ -17,4 +18,13 @@ public interface ScraperDAO {
      */
     Optional<ScraperEntity> read(Connection connection, ScraperEntity scraperEntity)
             throws SQLException, NullPointerException;
+
+    /**
+     * Reading all the entities from the database, at once.
+     * The rows, that refer to the classes, that can't be loaded (or that are not the scrapers), are skipped.
+     * @param connection Database connection.
+     * @return List of the entities.
+     * @throws SQLException If an SQL error occurs.
+     */
+    List<ScraperEntity> readAll(Connection connection) throws SQLException;
 }
\ No newline at end of file
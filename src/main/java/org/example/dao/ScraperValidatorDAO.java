@@ -0,0 +1,27 @@
+package org.example.dao;
+
+import org.example.entities.ScraperValidatorEntity;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+public interface ScraperValidatorDAO {
+    /**
+     * Reading all the entities from the database, at once.
+     * @param connection Database connection.
+     * @return List of the entities.
+     * @throws SQLException If an SQL error occurs.
+     */
+    List<ScraperValidatorEntity> readAll(Connection connection) throws SQLException;
+
+    /**
+     * Adding or updating the entities (by the scraper identifier), within a single batch.
+     * @param connection Database connection.
+     * @param scraperValidatorEntities List of the entities.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    void upsertAll(Connection connection, List<ScraperValidatorEntity> scraperValidatorEntities)
+            throws SQLException, NullPointerException;
+}
\ No newline at end of file
@@ -16,6 +16,8 @@ public class ScraperDTO {
 
     private String nameUk;
 
+    private String schedule;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -25,6 +27,7 @@ public class ScraperDTO {
             Class<? extends Scraper> clazz,
             String nameEn,
             String nameUk,
+            String schedule,
             LocalDateTime createdAt,
             LocalDateTime updatedAt
     ) {
@@ -32,6 +35,24 @@ public class ScraperDTO {
         this.clazz = clazz;
         this.nameEn = nameEn;
         this.nameUk = nameUk;
+        this.schedule = schedule;
+        this.createdAt = LocalDateTime.from(createdAt).truncatedTo(ChronoUnit.MICROS);
+        this.updatedAt = LocalDateTime.from(updatedAt).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public ScraperDTO(
+            Integer id,
+            Class<? extends Scraper> clazz,
+            String nameEn,
+            String nameUk,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt
+    ) {
+        this.id = id;
+        this.clazz = clazz;
+        this.nameEn = nameEn;
+        this.nameUk = nameUk;
+        this.schedule = null;
         this.createdAt = LocalDateTime.from(createdAt).truncatedTo(ChronoUnit.MICROS);
         this.updatedAt = LocalDateTime.from(updatedAt).truncatedTo(ChronoUnit.MICROS);
     }
@@ -46,6 +67,7 @@ public class ScraperDTO {
         this.clazz = clazz;
         this.nameEn = nameEn;
         this.nameUk = nameUk;
+        this.schedule = null;
 
         LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
@@ -58,6 +80,7 @@ public class ScraperDTO {
         this.clazz = clazz;
         this.nameEn = null;
         this.nameUk = null;
+        this.schedule = null;
 
         LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
@@ -70,6 +93,7 @@ public class ScraperDTO {
         this.clazz = clazz;
         this.nameEn = nameEn;
         this.nameUk = nameUk;
+        this.schedule = null;
 
         LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
@@ -82,6 +106,7 @@ public class ScraperDTO {
         this.clazz = scraperEntity.getClazz();
         this.nameEn = scraperEntity.getNameEn();
         this.nameUk = scraperEntity.getNameUk();
+        this.schedule = scraperEntity.getSchedule();
 
         if (scraperEntity.getCreatedAt() == null && scraperEntity.getUpdatedAt() == null) {
             LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
@@ -130,6 +155,14 @@ public class ScraperDTO {
         this.nameUk = nameUk;
     }
 
+    public String getSchedule() {
+        return this.schedule;
+    }
+
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+
     public LocalDateTime getCreatedAt() {
         return this.createdAt;
     }
@@ -165,6 +198,7 @@ public class ScraperDTO {
                 )
                 && Objects.equals(this.nameEn, scraperDTO.getNameEn())
                 && Objects.equals(this.nameUk, scraperDTO.getNameUk())
+                && Objects.equals(this.schedule, scraperDTO.getSchedule())
                 && Objects.equals(this.createdAt, scraperDTO.getCreatedAt())
                 && Objects.equals(this.updatedAt, scraperDTO.getUpdatedAt());
     }
@@ -177,6 +211,7 @@ public class ScraperDTO {
         result = 31 * result + (this.clazz == null ? 0 : this.clazz.getName().hashCode());
         result = 31 * result + (this.nameEn == null ? 0 : this.nameEn.hashCode());
         result = 31 * result + (this.nameUk == null ? 0 : this.nameUk.hashCode());
+        result = 31 * result + (this.schedule == null ? 0 : this.schedule.hashCode());
         result = 31 * result + (this.createdAt == null ? 0 : this.createdAt.hashCode());
         result = 31 * result + (this.updatedAt == null ? 0 : this.updatedAt.hashCode());
 
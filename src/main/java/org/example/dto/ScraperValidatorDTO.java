@@ -0,0 +1,152 @@
+package org.example.dto;
+
+import org.example.entities.ScraperValidatorEntity;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+public class ScraperValidatorDTO {
+    private Integer scraperId;
+
+    private String etag;
+
+    private String lastModified;
+
+    private String contentHash;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    public ScraperValidatorDTO(
+            Integer scraperId,
+            String etag,
+            String lastModified,
+            String contentHash,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt
+    ) {
+        this.scraperId = scraperId;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+        this.createdAt = LocalDateTime.from(createdAt).truncatedTo(ChronoUnit.MICROS);
+        this.updatedAt = LocalDateTime.from(updatedAt).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public ScraperValidatorDTO(Integer scraperId, String etag, String lastModified, String contentHash) {
+        this.scraperId = scraperId;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        this.createdAt = createdAt;
+        this.updatedAt = LocalDateTime.from(createdAt);
+    }
+
+    public ScraperValidatorDTO(ScraperValidatorEntity scraperValidatorEntity) {
+        this.scraperId = scraperValidatorEntity.getScraperId();
+        this.etag = scraperValidatorEntity.getEtag();
+        this.lastModified = scraperValidatorEntity.getLastModified();
+        this.contentHash = scraperValidatorEntity.getContentHash();
+
+        if (scraperValidatorEntity.getCreatedAt() == null && scraperValidatorEntity.getUpdatedAt() == null) {
+            LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+            this.createdAt = createdAt;
+            this.updatedAt = LocalDateTime.from(createdAt);
+        } else {
+            this.createdAt = scraperValidatorEntity.getCreatedAt() != null
+                    ? LocalDateTime.from(scraperValidatorEntity.getCreatedAt())
+                    : LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            this.updatedAt = scraperValidatorEntity.getUpdatedAt() != null
+                    ? LocalDateTime.from(scraperValidatorEntity.getUpdatedAt())
+                    : LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        }
+    }
+
+    public Integer getScraperId() {
+        return this.scraperId;
+    }
+
+    public void setScraperId(Integer scraperId) {
+        this.scraperId = scraperId;
+    }
+
+    public String getEtag() {
+        return this.etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getLastModified() {
+        return this.lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = LocalDateTime.from(createdAt).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return this.updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = LocalDateTime.from(updatedAt).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ScraperValidatorDTO scraperValidatorDTO = (ScraperValidatorDTO) obj;
+
+        return Objects.equals(this.scraperId, scraperValidatorDTO.getScraperId())
+                && Objects.equals(this.etag, scraperValidatorDTO.getEtag())
+                && Objects.equals(this.lastModified, scraperValidatorDTO.getLastModified())
+                && Objects.equals(this.contentHash, scraperValidatorDTO.getContentHash())
+                && Objects.equals(this.createdAt, scraperValidatorDTO.getCreatedAt())
+                && Objects.equals(this.updatedAt, scraperValidatorDTO.getUpdatedAt());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+
+        result = 31 * result + (this.scraperId == null ? 0 : this.scraperId.hashCode());
+        result = 31 * result + (this.etag == null ? 0 : this.etag.hashCode());
+        result = 31 * result + (this.lastModified == null ? 0 : this.lastModified.hashCode());
+        result = 31 * result + (this.contentHash == null ? 0 : this.contentHash.hashCode());
+        result = 31 * result + (this.createdAt == null ? 0 : this.createdAt.hashCode());
+        result = 31 * result + (this.updatedAt == null ? 0 : this.updatedAt.hashCode());
+
+        return result;
+    }
+}
\ No newline at end of file
@@ -16,6 +16,8 @@ public class ScraperEntity {
 
     private String nameUk;
 
+    private String schedule;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -25,6 +27,7 @@ public class ScraperEntity {
             Class<? extends Scraper> clazz,
             String nameEn,
             String nameUk,
+            String schedule,
             LocalDateTime createdAt,
             LocalDateTime updatedAt
     ) {
@@ -32,6 +35,24 @@ public class ScraperEntity {
         this.clazz = clazz;
         this.nameEn = nameEn;
         this.nameUk = nameUk;
+        this.schedule = schedule;
+        this.createdAt = LocalDateTime.from(createdAt).truncatedTo(ChronoUnit.MICROS);
+        this.updatedAt = LocalDateTime.from(updatedAt).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public ScraperEntity(
+            Integer id,
+            Class<? extends Scraper> clazz,
+            String nameEn,
+            String nameUk,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt
+    ) {
+        this.id = id;
+        this.clazz = clazz;
+        this.nameEn = nameEn;
+        this.nameUk = nameUk;
+        this.schedule = null;
         this.createdAt = LocalDateTime.from(createdAt).truncatedTo(ChronoUnit.MICROS);
         this.updatedAt = LocalDateTime.from(updatedAt).truncatedTo(ChronoUnit.MICROS);
     }
@@ -46,6 +67,7 @@ public class ScraperEntity {
         this.clazz = clazz;
         this.nameEn = nameEn;
         this.nameUk = nameUk;
+        this.schedule = null;
 
         LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
@@ -58,6 +80,7 @@ public class ScraperEntity {
         this.clazz = scraperDTO.getClazz();
         this.nameEn = scraperDTO.getNameEn();
         this.nameUk = scraperDTO.getNameUk();
+        this.schedule = scraperDTO.getSchedule();
 
         if (scraperDTO.getCreatedAt() == null && scraperDTO.getUpdatedAt() == null) {
             LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
@@ -106,6 +129,14 @@ public class ScraperEntity {
         this.nameUk = nameUk;
     }
 
+    public String getSchedule() {
+        return this.schedule;
+    }
+
+    public void setSchedule(String schedule) {
+        this.schedule = schedule;
+    }
+
     public LocalDateTime getCreatedAt() {
         return this.createdAt;
     }
@@ -141,6 +172,7 @@ public class ScraperEntity {
                 )
                 && Objects.equals(this.nameEn, scraperEntity.getNameEn())
                 && Objects.equals(this.nameUk, scraperEntity.getNameUk())
+                && Objects.equals(this.schedule, scraperEntity.getSchedule())
                 && Objects.equals(this.createdAt, scraperEntity.getCreatedAt())
                 && Objects.equals(this.updatedAt, scraperEntity.getUpdatedAt());
     }
@@ -153,6 +185,7 @@ public class ScraperEntity {
         result = 31 * result + (this.clazz == null ? 0 : this.clazz.getName().hashCode());
         result = 31 * result + (this.nameEn == null ? 0 : this.nameEn.hashCode());
         result = 31 * result + (this.nameUk == null ? 0 : this.nameUk.hashCode());
+        result = 31 * result + (this.schedule == null ? 0 : this.schedule.hashCode());
         result = 31 * result + (this.createdAt == null ? 0 : this.createdAt.hashCode());
         result = 31 * result + (this.updatedAt == null ? 0 : this.updatedAt.hashCode());
 
@@ -0,0 +1,152 @@
+package org.example.entities;
+
+import org.example.dto.ScraperValidatorDTO;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+public class ScraperValidatorEntity {
+    private Integer scraperId;
+
+    private String etag;
+
+    private String lastModified;
+
+    private String contentHash;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    public ScraperValidatorEntity(
+            Integer scraperId,
+            String etag,
+            String lastModified,
+            String contentHash,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt
+    ) {
+        this.scraperId = scraperId;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+        this.createdAt = LocalDateTime.from(createdAt).truncatedTo(ChronoUnit.MICROS);
+        this.updatedAt = LocalDateTime.from(updatedAt).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public ScraperValidatorEntity(Integer scraperId, String etag, String lastModified, String contentHash) {
+        this.scraperId = scraperId;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        this.createdAt = createdAt;
+        this.updatedAt = LocalDateTime.from(createdAt);
+    }
+
+    public ScraperValidatorEntity(ScraperValidatorDTO scraperValidatorDTO) {
+        this.scraperId = scraperValidatorDTO.getScraperId();
+        this.etag = scraperValidatorDTO.getEtag();
+        this.lastModified = scraperValidatorDTO.getLastModified();
+        this.contentHash = scraperValidatorDTO.getContentHash();
+
+        if (scraperValidatorDTO.getCreatedAt() == null && scraperValidatorDTO.getUpdatedAt() == null) {
+            LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+            this.createdAt = createdAt;
+            this.updatedAt = LocalDateTime.from(createdAt);
+        } else {
+            this.createdAt = scraperValidatorDTO.getCreatedAt() != null
+                    ? LocalDateTime.from(scraperValidatorDTO.getCreatedAt())
+                    : LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            this.updatedAt = scraperValidatorDTO.getUpdatedAt() != null
+                    ? LocalDateTime.from(scraperValidatorDTO.getUpdatedAt())
+                    : LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        }
+    }
+
+    public Integer getScraperId() {
+        return this.scraperId;
+    }
+
+    public void setScraperId(Integer scraperId) {
+        this.scraperId = scraperId;
+    }
+
+    public String getEtag() {
+        return this.etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getLastModified() {
+        return this.lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = LocalDateTime.from(createdAt).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return this.updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = LocalDateTime.from(updatedAt).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ScraperValidatorEntity scraperValidatorEntity = (ScraperValidatorEntity) obj;
+
+        return Objects.equals(this.scraperId, scraperValidatorEntity.getScraperId())
+                && Objects.equals(this.etag, scraperValidatorEntity.getEtag())
+                && Objects.equals(this.lastModified, scraperValidatorEntity.getLastModified())
+                && Objects.equals(this.contentHash, scraperValidatorEntity.getContentHash())
+                && Objects.equals(this.createdAt, scraperValidatorEntity.getCreatedAt())
+                && Objects.equals(this.updatedAt, scraperValidatorEntity.getUpdatedAt());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+
+        result = 31 * result + (this.scraperId == null ? 0 : this.scraperId.hashCode());
+        result = 31 * result + (this.etag == null ? 0 : this.etag.hashCode());
+        result = 31 * result + (this.lastModified == null ? 0 : this.lastModified.hashCode());
+        result = 31 * result + (this.contentHash == null ? 0 : this.contentHash.hashCode());
+        result = 31 * result + (this.createdAt == null ? 0 : this.createdAt.hashCode());
+        result = 31 * result + (this.updatedAt == null ? 0 : this.updatedAt.hashCode());
+
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The monotonically increasing counter.
+ */
+public class Counter implements Metric {
+    // The adder is striped, so the concurrent increments don't contend on the single variable.
+    private final LongAdder adder;
+
+    Counter() {
+        this.adder = new LongAdder();
+    }
+
+    /**
+     * Incrementing the counter by one.
+     */
+    public void increment() {
+        this.adder.increment();
+    }
+
+    /**
+     * Incrementing the counter by the provided amount.
+     * @param amount The amount (negative amounts are ignored, since the counter never decreases).
+     */
+    public void increment(long amount) {
+        if (amount > 0) {
+            this.adder.add(amount);
+        }
+    }
+
+    /**
+     * Getting the value of the counter.
+     * @return The value.
+     */
+    public long get() {
+        return this.adder.sum();
+    }
+
+    @Override
+    public void write(StringBuilder stringBuilder, String name, String labels) {
+        MetricRegistry.writeSample(stringBuilder, name, labels, this.get());
+    }
+}
\ No newline at end of file
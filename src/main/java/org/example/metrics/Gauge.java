@@ -0,0 +1,37 @@
+package org.example.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * The gauge, which value is read from the supplier, when the metrics are scraped.
+ */
+public class Gauge implements Metric {
+    private volatile Supplier<? extends Number> supplier;
+
+    Gauge(Supplier<? extends Number> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Getting the current value of the gauge.
+     * @return The value, or NaN, if the supplier returned null.
+     */
+    public double get() {
+        Number value = this.supplier.get();
+
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    /**
+     * Replacing the supplier (e.g. when the data source was recreated).
+     * @param supplier The supplier.
+     */
+    void setSupplier(Supplier<? extends Number> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public void write(StringBuilder stringBuilder, String name, String labels) {
+        MetricRegistry.writeSample(stringBuilder, name, labels, this.get());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package org.example.metrics;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * The data source, that times how long the connections are waited for out of the pool,
+ * and exposes the number of the active and the idle connections of the pool as the gauges.
+ */
+public class MeteredDataSource implements DataSource {
+    private final BasicDataSource dataSource;
+
+    private final Timer waitTimer;
+
+    /**
+     * Constructor.
+     * @param dataSource Instance of the pooled data source.
+     */
+    public MeteredDataSource(BasicDataSource dataSource) {
+        this.dataSource = dataSource;
+        this.waitTimer = MetricRegistry.timer(
+                "database_pool_wait_seconds",
+                "Time spent waiting for a connection out of the database pool (including its creation)."
+        );
+
+        MetricRegistry.gauge(
+                "database_pool_active_connections",
+                "Number of the database connections, that are borrowed out of the pool.",
+                dataSource::getNumActive
+        );
+        MetricRegistry.gauge(
+                "database_pool_idle_connections",
+                "Number of the database connections, that are idle in the pool.",
+                dataSource::getNumIdle
+        );
+        MetricRegistry.gauge(
+                "database_pool_max_connections",
+                "Maximum number of the database connections of the pool.",
+                dataSource::getMaxTotal
+        );
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long startTime = System.nanoTime();
+
+        try {
+            return this.dataSource.getConnection();
+        } finally {
+            this.waitTimer.record(System.nanoTime() - startTime);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long startTime = System.nanoTime();
+
+        try {
+            return this.dataSource.getConnection(username, password);
+        } finally {
+            this.waitTimer.record(System.nanoTime() - startTime);
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return this.dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        this.dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        this.dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return this.dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return this.dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this.dataSource) ? iface.cast(this.dataSource) : this.dataSource.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this.dataSource) || this.dataSource.isWrapperFor(iface);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package org.example.metrics;
+
+/**
+ * The single time series (or the set of the series, in case of the histogram) of the metric family.
+ */
+interface Metric {
+    /**
+     * Writing the samples of the metric in the Prometheus text format.
+     * @param stringBuilder The output.
+     * @param name Name of the metric family.
+     * @param labels Formatted labels of the metric (without the braces), or empty string.
+     */
+    void write(StringBuilder stringBuilder, String name, String labels);
+}
\ No newline at end of file
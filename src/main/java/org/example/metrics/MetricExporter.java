@@ -0,0 +1,158 @@
+package org.example.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The exporter of the registered metrics: the Prometheus endpoint (GET /metrics), and/or the periodic file dump.
+ */
+public class MetricExporter implements Closeable {
+    private final static String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Logger logger;
+
+    // The HTTP server of the endpoint, or null, if the endpoint isn't served.
+    private HttpServer httpServer;
+
+    // The executor of the dumps, or null, if the metrics aren't dumped.
+    private ScheduledExecutorService scheduledExecutorService;
+
+    // The file, the metrics are dumped into, or null, if the metrics aren't dumped.
+    private Path path;
+
+    /**
+     * Constructor.
+     * @param logger Instance of the logger.
+     */
+    public MetricExporter(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Serving the metrics on the provided port (on all the addresses), at the /metrics path.
+     * @param port The port (0 - any free port).
+     * @return The port, the metrics are served on.
+     * @throws IOException If an I/O error occurs (e.g. the port is in use).
+     * @throws IllegalStateException If the metrics are already served.
+     */
+    public int serve(int port) throws IOException, IllegalStateException {
+        if (this.httpServer != null) {
+            throw new IllegalStateException("The metrics are already served.");
+        }
+
+        this.httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+
+        // The scrapes are rare and cheap, so they are handled by the single thread of the server.
+        this.httpServer.createContext("/metrics", this::handle);
+        this.httpServer.start();
+
+        return this.httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Dumping the metrics into the file periodically (and on close).
+     * The file is replaced atomically, so the reader never sees the partially written metrics.
+     * @param path The file.
+     * @param interval How often the metrics are dumped.
+     * @throws IllegalStateException If the metrics are already dumped.
+     * @throws IllegalArgumentException If the interval is not positive.
+     */
+    public void dump(Path path, Duration interval) throws IllegalStateException, IllegalArgumentException {
+        if (this.scheduledExecutorService != null) {
+            throw new IllegalStateException("The metrics are already dumped.");
+        }
+
+        if (!interval.isPositive()) {
+            throw new IllegalArgumentException("The dump interval should be positive.");
+        }
+
+        this.path = path;
+        this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("metrics-dump").daemon().factory()
+        );
+
+        this.scheduledExecutorService.scheduleAtFixedRate(
+                this::write,
+                interval.toNanos(),
+                interval.toNanos(),
+                TimeUnit.NANOSECONDS
+        );
+    }
+
+    /**
+     * Stopping the endpoint and the dumps (the metrics are dumped for the last time).
+     */
+    @Override
+    public void close() {
+        if (this.httpServer != null) {
+            this.httpServer.stop(0);
+            this.httpServer = null;
+        }
+
+        if (this.scheduledExecutorService != null) {
+            this.scheduledExecutorService.shutdownNow();
+            this.scheduledExecutorService = null;
+
+            this.write();
+        }
+    }
+
+    /**
+     * Writing the metrics into the file (the errors are logged, so the next dumps are still attempted).
+     */
+    private void write() {
+        try {
+            Path temporaryPath = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+
+            Files.writeString(temporaryPath, MetricRegistry.scrape(), StandardCharsets.UTF_8);
+            Files.move(temporaryPath, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            this.logger.warn(String.format("The metrics dumping error. %s", e.getMessage()));
+        }
+    }
+
+    /**
+     * Handling the request of the metrics.
+     * @param httpExchange The exchange.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void handle(HttpExchange httpExchange) throws IOException {
+        try (httpExchange) {
+            if (!httpExchange.getRequestMethod().equals("GET") && !httpExchange.getRequestMethod().equals("HEAD")) {
+                httpExchange.sendResponseHeaders(405, -1);
+
+                return;
+            }
+
+            byte[] payload = MetricRegistry.scrape().getBytes(StandardCharsets.UTF_8);
+
+            httpExchange.getResponseHeaders().set("Content-Type", MetricExporter.CONTENT_TYPE);
+
+            if (httpExchange.getRequestMethod().equals("HEAD")) {
+                httpExchange.sendResponseHeaders(200, -1);
+
+                return;
+            }
+
+            httpExchange.sendResponseHeaders(200, payload.length);
+
+            try (OutputStream outputStream = httpExchange.getResponseBody()) {
+                outputStream.write(payload);
+            }
+        }
+    }
+}
\ No newline at end of file
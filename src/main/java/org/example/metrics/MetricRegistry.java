@@ -0,0 +1,205 @@
+package org.example.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class MetricRegistry {
+    // Map of the metric families, by their names (sorted, so the output is stable between the scrapes).
+    private final static Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    private MetricRegistry() {
+        //
+    }
+
+    /**
+     * Getting the counter (it's registered on the first call).
+     * @param name Name of the metric family (by the convention, ends with "_total").
+     * @param help Description of the metric family.
+     * @param labels Names and values of the labels, in pairs (e.g. "scraper", "NBUScraper").
+     * @return The counter.
+     * @throws IllegalArgumentException If the family is already registered with another type,
+     *         or if the number of the labels is odd.
+     */
+    public static Counter counter(String name, String help, String... labels) throws IllegalArgumentException {
+        return MetricRegistry.getMetric(Type.COUNTER, name, help, labels, (key) -> new Counter(), Counter.class);
+    }
+
+    /**
+     * Getting the timer (it's registered on the first call).
+     * @param name Name of the metric family (by the convention, ends with "_seconds").
+     * @param help Description of the metric family.
+     * @param labels Names and values of the labels, in pairs.
+     * @return The timer.
+     * @throws IllegalArgumentException If the family is already registered with another type,
+     *         or if the number of the labels is odd.
+     */
+    public static Timer timer(String name, String help, String... labels) throws IllegalArgumentException {
+        return MetricRegistry.getMetric(Type.HISTOGRAM, name, help, labels, (key) -> new Timer(), Timer.class);
+    }
+
+    /**
+     * Registering the gauge (if the gauge is already registered, then its supplier is replaced).
+     * @param name Name of the metric family.
+     * @param help Description of the metric family.
+     * @param supplier Supplier of the value, that is called on each scrape.
+     * @param labels Names and values of the labels, in pairs.
+     * @return The gauge.
+     * @throws IllegalArgumentException If the family is already registered with another type,
+     *         or if the number of the labels is odd.
+     */
+    public static Gauge gauge(String name, String help, Supplier<? extends Number> supplier, String... labels)
+            throws IllegalArgumentException
+    {
+        Gauge gauge = MetricRegistry.getMetric(Type.GAUGE, name, help, labels, (key) -> new Gauge(supplier), Gauge.class);
+
+        gauge.setSupplier(supplier);
+
+        return gauge;
+    }
+
+    /**
+     * Writing all the registered metrics in the Prometheus text exposition format (version 0.0.4).
+     * @return The metrics.
+     */
+    public static String scrape() {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (Family family : MetricRegistry.families.values()) {
+            stringBuilder
+                    .append("# HELP ").append(family.name()).append(' ')
+                    .append(family.help().replace("\\", "\\\\").replace("\n", "\\n"))
+                    .append('\n')
+                    .append("# TYPE ").append(family.name()).append(' ').append(family.type().getName())
+                    .append('\n');
+
+            for (Map.Entry<String, Metric> entry : family.metrics().entrySet()) {
+                entry.getValue().write(stringBuilder, family.name(), entry.getKey());
+            }
+        }
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Writing the single sample.
+     * @param stringBuilder The output.
+     * @param name Name of the sample.
+     * @param labels Formatted labels (without the braces), or empty string.
+     * @param value Value of the sample.
+     */
+    static void writeSample(StringBuilder stringBuilder, String name, String labels, double value) {
+        stringBuilder.append(name);
+
+        if (!labels.isEmpty()) {
+            stringBuilder.append('{').append(labels).append('}');
+        }
+
+        stringBuilder.append(' ');
+
+        if (Double.isNaN(value)) {
+            stringBuilder.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            stringBuilder.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            // Whole values (the counts) are written without the fraction.
+            stringBuilder.append((long) value);
+        } else {
+            stringBuilder.append(value);
+        }
+
+        stringBuilder.append('\n');
+    }
+
+    /**
+     * Getting the metric of the family (the family and the metric are registered on the first call).
+     * @param type Type of the family.
+     * @param name Name of the family.
+     * @param help Description of the family.
+     * @param labels Names and values of the labels, in pairs.
+     * @param factory Factory of the metric.
+     * @param metricClass Class of the metric.
+     * @return The metric.
+     * @param <T> Type of the metric.
+     * @throws IllegalArgumentException If the family is already registered with another type,
+     *         or if the number of the labels is odd.
+     */
+    private static <T extends Metric> T getMetric(
+            Type type,
+            String name,
+            String help,
+            String[] labels,
+            Function<String, Metric> factory,
+            Class<T> metricClass
+    ) throws IllegalArgumentException {
+        Family family = MetricRegistry.families.computeIfAbsent(
+                name,
+                (key) -> new Family(name, help, type, new ConcurrentSkipListMap<>())
+        );
+
+        if (family.type() != type) {
+            throw new IllegalArgumentException(
+                    String.format("The \"%s\" metric is already registered as %s.", name, family.type().getName())
+            );
+        }
+
+        return metricClass.cast(family.metrics().computeIfAbsent(MetricRegistry.formatLabels(labels), factory));
+    }
+
+    /**
+     * Formatting the labels (the values are escaped).
+     * @param labels Names and values of the labels, in pairs.
+     * @return The formatted labels (without the braces), or empty string.
+     * @throws IllegalArgumentException If the number of the labels is odd.
+     */
+    private static String formatLabels(String[] labels) throws IllegalArgumentException {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("The labels should be provided in pairs of the names and the values.");
+        }
+
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                stringBuilder.append(',');
+            }
+
+            stringBuilder
+                    .append(labels[i])
+                    .append("=\"")
+                    .append(String.valueOf(labels[i + 1]).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+
+        return stringBuilder.toString();
+    }
+
+    // Type of the metric family.
+    private enum Type {
+        COUNTER("counter"),
+        GAUGE("gauge"),
+        HISTOGRAM("histogram");
+
+        private final String name;
+
+        Type(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+    }
+
+    /**
+     * The metric family: the metrics of the same name and type, that differ by the labels.
+     * @param name Name of the family.
+     * @param help Description of the family.
+     * @param type Type of the family.
+     * @param metrics Map of the metrics, by their formatted labels.
+     */
+    private record Family(String name, String help, Type type, Map<String, Metric> metrics) {
+        //
+    }
+}
\ No newline at end of file
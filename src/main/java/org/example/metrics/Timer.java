@@ -0,0 +1,109 @@
+package org.example.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The timer, that records the durations into the histogram with the fixed buckets (from 1 ms to 1 min),
+ * so the quantiles could be aggregated across the instances, unlike the client-side percentiles.
+ */
+public class Timer implements Metric {
+    // Upper bounds of the buckets, in seconds (the last bucket, +Inf, is implicit).
+    private final static double[] BOUNDS = {
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60
+    };
+
+    // Upper bounds of the buckets, in nanoseconds (so the recorded durations aren't converted).
+    private final static long[] NANOS_BOUNDS = new long[Timer.BOUNDS.length];
+
+    static {
+        for (int i = 0; i < Timer.BOUNDS.length; i++) {
+            Timer.NANOS_BOUNDS[i] = Math.round(Timer.BOUNDS[i] * 1_000_000_000L);
+        }
+    }
+
+    // Non-cumulative counts of the buckets (they are accumulated, when the histogram is written).
+    private final LongAdder[] buckets;
+
+    private final LongAdder count;
+
+    private final LongAdder sumNanos;
+
+    Timer() {
+        this.buckets = new LongAdder[Timer.BOUNDS.length + 1];
+        this.count = new LongAdder();
+        this.sumNanos = new LongAdder();
+
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Recording the duration.
+     * @param nanos The duration in nanoseconds (e.g. the difference of the System.nanoTime values).
+     */
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+
+        int index = 0;
+
+        while (index < Timer.NANOS_BOUNDS.length && nanos > Timer.NANOS_BOUNDS[index]) {
+            ++index;
+        }
+
+        this.buckets[index].increment();
+        this.count.increment();
+        this.sumNanos.add(nanos);
+    }
+
+    /**
+     * Recording the duration.
+     * @param duration The duration.
+     */
+    public void record(Duration duration) {
+        this.record(duration.toNanos());
+    }
+
+    /**
+     * Getting the number of the recorded durations.
+     * @return The number of the recorded durations.
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Getting the total of the recorded durations.
+     * @return The total duration.
+     */
+    public Duration getTotal() {
+        return Duration.ofNanos(this.sumNanos.sum());
+    }
+
+    @Override
+    public void write(StringBuilder stringBuilder, String name, String labels) {
+        String separator = labels.isEmpty() ? "" : ",";
+        long cumulativeCount = 0;
+
+        for (int i = 0; i < this.buckets.length; i++) {
+            cumulativeCount += this.buckets[i].sum();
+
+            MetricRegistry.writeSample(
+                    stringBuilder,
+                    name + "_bucket",
+                    String.format(
+                            "%s%sle=\"%s\"",
+                            labels,
+                            separator,
+                            i < Timer.BOUNDS.length ? Double.toString(Timer.BOUNDS[i]) : "+Inf"
+                    ),
+                    cumulativeCount
+            );
+        }
+
+        // The count is the last cumulative bucket (not the count adder), so the histogram is always consistent.
+        MetricRegistry.writeSample(stringBuilder, name + "_sum", labels, this.sumNanos.sum() / 1e9);
+        MetricRegistry.writeSample(stringBuilder, name + "_count", labels, cumulativeCount);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package org.example.migrators;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface Partitioner {
+    /**
+     * Creating the monthly partitions of the archive (if they are not created already).
+     * @param connection Database connection.
+     * @param from The first month, the partition is created for.
+     * @param monthsAhead Number of the months after the first one, the partitions are created for.
+     * @return List of the names of the created partitions.
+     * @throws SQLException If an SQL error occurs.
+     */
+    List<String> rollover(Connection connection, YearMonth from, int monthsAhead) throws SQLException;
+
+    /**
+     * Detaching (or dropping) the monthly partitions of the archive, that are entirely before the provided month.
+     * The detached partitions are kept as the standalone tables.
+     * The partitions, that still hold the heads of the archive (the current archive entities), are retained anyway.
+     * @param connection Database connection.
+     * @param before The first month, which partition is retained.
+     * @param drop Whether the partitions are dropped, instead of detaching.
+     * @return List of the names of the detached (or dropped) partitions.
+     * @throws SQLException If an SQL error occurs.
+     */
+    List<String> retain(Connection connection, YearMonth before, boolean drop) throws SQLException;
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package org.example.migrators;
 
+import org.example.utils.Config;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
@@ -20,6 +22,23 @@ public class PostgreSQLMigrator implements Migrator {
         ) {
             preparedStatement.executeUpdate();
         }
+
+        // Partitioning the archive by month (PostgreSQL only, it is skipped for the compatible databases).
+        if (
+                Boolean.parseBoolean(Config.getProperty("database.archive.partitioning", String.valueOf(false)))
+                        && connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")
+        ) {
+            try (
+                    InputStream inputStream =
+                            this.getClass()
+                                    .getClassLoader()
+                                    .getResourceAsStream("migrators/postgresql-up-partitioning.sql");
+                    PreparedStatement preparedStatement =
+                            connection.prepareStatement(new String(Objects.requireNonNull(inputStream).readAllBytes()))
+            ) {
+                preparedStatement.executeUpdate();
+            }
+        }
     }
 
     @Override
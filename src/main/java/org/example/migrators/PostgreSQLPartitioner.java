@@ -0,0 +1,194 @@
+package org.example.migrators;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class PostgreSQLPartitioner implements Partitioner {
+    // Name of the partitioned table.
+    private final static String TABLE_NAME = "currency_exchange_rates_archive";
+
+    // Name of the partition, that keeps the rows outside the created partitions.
+    private final static String DEFAULT_PARTITION_NAME = PostgreSQLPartitioner.TABLE_NAME + "_default";
+
+    // Format of the month, that is used as the suffix of the partition name.
+    private final static DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // Pattern of the partition name (e.g. "currency_exchange_rates_archive_p202601").
+    private final static Pattern PARTITION_NAME_PATTERN =
+            Pattern.compile("^" + PostgreSQLPartitioner.TABLE_NAME + "_p(\\d{6})$");
+
+    @Override
+    public List<String> rollover(Connection connection, YearMonth from, int monthsAhead) throws SQLException {
+        List<String> existingPartitionNames = this.readPartitionNames(connection);
+        List<String> createdPartitionNames = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i <= monthsAhead; i++) {
+                YearMonth month = from.plusMonths(i);
+                String partitionName = this.getPartitionName(month);
+
+                // Skipping the existing partitions, and the months, that already have the rows in the default partition
+                // (the partition can't be created over them, so the rows of the month are kept there).
+                if (
+                        existingPartitionNames.contains(partitionName)
+                                || existingPartitionNames.contains(PostgreSQLPartitioner.DEFAULT_PARTITION_NAME)
+                                && this.hasDefaultRows(connection, month)
+                ) {
+                    continue;
+                }
+
+                statement.executeUpdate("""
+                        CREATE TABLE IF NOT EXISTS %s
+                        PARTITION OF %s
+                        FOR VALUES FROM ('%s') TO ('%s');
+                """.formatted(
+                        partitionName,
+                        PostgreSQLPartitioner.TABLE_NAME,
+                        month.atDay(1),
+                        month.plusMonths(1).atDay(1)
+                ));
+
+                createdPartitionNames.add(partitionName);
+            }
+        }
+
+        return createdPartitionNames;
+    }
+
+    @Override
+    public List<String> retain(Connection connection, YearMonth before, boolean drop) throws SQLException {
+        List<String> retainedPartitionNames = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement()) {
+            for (String partitionName : this.readPartitionNames(connection)) {
+                Matcher matcher = PostgreSQLPartitioner.PARTITION_NAME_PATTERN.matcher(partitionName);
+
+                // Skipping the partitions, that wasn't created by the partitioner.
+                if (!matcher.matches()) {
+                    continue;
+                }
+
+                YearMonth month = YearMonth.parse(matcher.group(1), PostgreSQLPartitioner.MONTH_FORMATTER);
+
+                // Skipping the partitions, that are retained, and the ones that still hold the heads of the archive
+                // (the unchanged currency exchange rates keep extending the archive entity, that was created in the old month).
+                if (!month.isBefore(before) || this.holdsHeads(connection, month)) {
+                    continue;
+                }
+
+                statement.executeUpdate(
+                        drop
+                                ? "DROP TABLE %s;".formatted(partitionName)
+                                : "ALTER TABLE %s DETACH PARTITION %s;".formatted(PostgreSQLPartitioner.TABLE_NAME, partitionName)
+                );
+
+                retainedPartitionNames.add(partitionName);
+            }
+        }
+
+        return retainedPartitionNames;
+    }
+
+    /**
+     * Getting the name of the partition, for the provided month.
+     * @param month The month of the partition.
+     * @return Name of the partition.
+     */
+    private String getPartitionName(YearMonth month) {
+        return PostgreSQLPartitioner.TABLE_NAME + "_p" + month.format(PostgreSQLPartitioner.MONTH_FORMATTER);
+    }
+
+    /**
+     * Checking whether the default partition holds the rows of the month.
+     * @param connection Database connection.
+     * @param month The month.
+     * @return Whether the default partition holds the rows of the month.
+     * @throws SQLException If an SQL error occurs.
+     */
+    private boolean hasDefaultRows(Connection connection, YearMonth month) throws SQLException {
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        SELECT 1
+                        FROM %s
+                        WHERE created_at >= ?
+                        	AND created_at < ?
+                        LIMIT 1;
+                """.formatted(PostgreSQLPartitioner.DEFAULT_PARTITION_NAME))
+        ) {
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(month.atDay(1).atStartOfDay()));
+            preparedStatement.setTimestamp(2, Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    /**
+     * Checking whether the partition of the month holds the head of the archive of any currency exchange rate.
+     * @param connection Database connection.
+     * @param month The month of the partition.
+     * @return Whether the partition holds the heads.
+     * @throws SQLException If an SQL error occurs.
+     */
+    private boolean holdsHeads(Connection connection, YearMonth month) throws SQLException {
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        SELECT 1
+                        FROM currency_exchange_rates
+                        WHERE archive_created_at >= ?
+                        	AND archive_created_at < ?
+                        LIMIT 1;
+                """)
+        ) {
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(month.atDay(1).atStartOfDay()));
+            preparedStatement.setTimestamp(2, Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    /**
+     * Reading the names of the attached partitions of the archive.
+     * @param connection Database connection.
+     * @return List of the names of the partitions.
+     * @throws SQLException If an SQL error occurs.
+     */
+    private List<String> readPartitionNames(Connection connection) throws SQLException {
+        List<String> partitionNames = new ArrayList<>();
+
+        try (
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("""
+                        SELECT c.relname
+                        FROM pg_inherits i
+                        INNER JOIN pg_class c ON (
+                            c.oid = i.inhrelid
+                        )
+                        INNER JOIN pg_class p ON (
+                            p.oid = i.inhparent
+                        )
+                        WHERE p.relname = '%s'
+                        ORDER BY c.relname;
+                """.formatted(PostgreSQLPartitioner.TABLE_NAME))
+        ) {
+            while (resultSet.next()) {
+                partitionNames.add(resultSet.getString("relname"));
+            }
+        }
+
+        return partitionNames;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package org.example.scrapers;
 
 import org.example.dto.CurrencyExchangeRateDTO;
+import org.example.utils.HtmlFragmentReader;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -14,6 +15,37 @@ import java.util.List;
 import java.util.function.Predicate;
 
 public class NBUScraper extends Scraper {
+    // Reads the row of the table in a single pass over its cells: the currency code (2nd), the unit (3rd),
+    // and the official rate (5th), which is used as both, the buy rate and the sale rate.
+    private final static RowExtractor ROW_EXTRACTOR = (item) -> {
+        String unitCurrencyCode = null;
+        String unit = null;
+        String rate = null;
+        int index = 0;
+
+        for (Element cell : ((Element) item).children()) {
+            if (!cell.normalName().equals("td")) {
+                continue;
+            }
+
+            switch (++index) {
+                case 2 -> unitCurrencyCode = cell.text().trim();
+                case 3 -> unit = cell.text().trim();
+                case 5 -> rate = cell.text().trim().replace(',', '.');
+            }
+        }
+
+        if (unitCurrencyCode == null || unit == null || rate == null) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid row of the table, %d cells were found (\"%s\").", index, NBUScraper.class.getName())
+            );
+        }
+
+        Double buyRate = Double.valueOf(rate);
+
+        return new Row(Integer.valueOf(unit), unitCurrencyCode, "UAH", buyRate, buyRate);
+    };
+
     /**
      * Constructor.
      * @param id The unique scraper identifier.
@@ -23,19 +55,16 @@ public class NBUScraper extends Scraper {
     }
 
     @Override
-    public Object getRoot() throws Exception {
-        Object root = super.getRoot();
-
-        if (root instanceof String) {
-            return Jsoup.parse((String) root);
-        }
+    protected Body getRegion(Body body) throws Exception {
+        // Only the table of the exchange rates is hashed and parsed (the rest of the page is skipped, without building its tree).
+        // If the element wasn't found (e.g. the markup was changed), then the whole page is the region (see Scraper.getRegion).
+        return this.getRegion(body, HtmlFragmentReader.read(body.getReader(), "table", "id", "exchangeRates"));
+    }
 
-        throw new IllegalArgumentException(
-                String.format(
-                        "Invalid root response Object (\"%s\").",
-                        this.getClass().getName()
-                )
-        );
+    @Override
+    protected Object getRoot(Body body) throws Exception {
+        // The bytes are decoded with the charset, that was detected once, when the body was fetched.
+        return Jsoup.parse(body.getInputStream(), body.getCharset().name(), "");
     }
 
     @Override
@@ -52,6 +81,11 @@ public class NBUScraper extends Scraper {
         );
     }
 
+    @Override
+    protected RowExtractor getRowExtractor() {
+        return NBUScraper.ROW_EXTRACTOR;
+    }
+
     @Override
     protected Integer getUnit(Object item) throws Exception {
         return Integer.valueOf(((Element) item).selectXpath("td[3]").text().trim());
@@ -1,14 +1,16 @@
 package org.example.scrapers;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import org.example.dto.CurrencyExchangeRateDTO;
+import org.example.utils.JsonMapperRegistry;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
@@ -22,25 +24,72 @@ public class PrivatBankAtBranchesScraper extends Scraper {
         super(id);
     }
 
+    /**
+     * Reading the response as a stream of tokens, directly into the rows (the JSON tree isn't built).
+     * The unknown fields (including the nested ones) are skipped.
+     * JSON is encoded in UTF-8 almost always, then the parser reads the bytes of the body, without decoding them.
+     * @param body The response body.
+     * @return List of the rows.
+     * @throws Exception If the response isn't an array of objects, or if one of the values is missing.
+     */
     @Override
-    protected Object getRoot() throws Exception {
-        Object root = super.getRoot();
+    protected Object getRoot(Body body) throws Exception {
+        List<Row> rows = new ArrayList<>();
+
+        try (
+                JsonParser parser = body.getCharset().equals(StandardCharsets.UTF_8)
+                        ? JsonMapperRegistry.getJsonFactory().createParser(body.getInputStream())
+                        : JsonMapperRegistry.getJsonFactory().createParser(body.getReader())
+        ) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "Invalid root response Object (\"%s\").",
+                                this.getClass().getName()
+                        )
+                );
+            }
 
-        if (root instanceof String) {
-            return (new ObjectMapper()).readValue(((String) root), new TypeReference<List<JsonNode>>() {});
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String unitCurrencyCode = null;
+                String rateCurrencyCode = null;
+                Double buyRate = null;
+                Double saleRate = null;
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+
+                    parser.nextToken();
+
+                    // The rates are provided as the strings, but the numbers are accepted as well.
+                    switch (name) {
+                        case "ccy" -> unitCurrencyCode = parser.getValueAsString();
+                        case "base_ccy" -> rateCurrencyCode = parser.getValueAsString();
+                        case "buy" -> buyRate = parser.getValueAsDouble();
+                        case "sale" -> saleRate = parser.getValueAsDouble();
+                        default -> parser.skipChildren();
+                    }
+                }
+
+                if (unitCurrencyCode == null || rateCurrencyCode == null || buyRate == null || saleRate == null) {
+                    throw new IllegalArgumentException(
+                            String.format(
+                                    "Invalid item of the response, some of the values are missing (\"%s\").",
+                                    this.getClass().getName()
+                            )
+                    );
+                }
+
+                rows.add(new Row(1, unitCurrencyCode, rateCurrencyCode, buyRate, saleRate));
+            }
         }
 
-        throw new IllegalArgumentException(
-                String.format(
-                        "Invalid root response Object (\"%s\").",
-                        this.getClass().getName()
-                )
-        );
+        return rows;
     }
 
     @Override
     protected Object[] getItems(Object root) throws Exception {
-        if (root instanceof List<?> list && !list.isEmpty() && list.getFirst() instanceof JsonNode) {
+        if (root instanceof List<?> list && !list.isEmpty() && list.getFirst() instanceof Row) {
             return list.toArray();
         }
 
@@ -54,27 +103,33 @@ public class PrivatBankAtBranchesScraper extends Scraper {
 
     @Override
     protected Integer getUnit(Object item) throws Exception {
-        return 1;
+        return ((Row) item).unit();
     }
 
     @Override
     protected String getUnitCurrencyCode(Object item) throws Exception {
-        return ((JsonNode) item).get("ccy").asText();
+        return ((Row) item).unitCurrencyCode();
     }
 
     @Override
     protected String getRateCurrencyCode(Object item) throws Exception {
-        return ((JsonNode) item).get("base_ccy").asText();
+        return ((Row) item).rateCurrencyCode();
     }
 
     @Override
     protected Double getBuyRate(Object item) throws Exception {
-        return ((JsonNode) item).get("buy").asDouble();
+        return ((Row) item).buyRate();
     }
 
     @Override
     protected Double getSaleRate(Object item) throws Exception {
-        return ((JsonNode) item).get("sale").asDouble();
+        return ((Row) item).saleRate();
+    }
+
+    @Override
+    protected RowExtractor getRowExtractor() {
+        // The items are already read into the rows by the streaming parser.
+        return (item) -> (Row) item;
     }
 
     @Override
@@ -1,15 +1,34 @@
 package org.example.scrapers;
 
 import org.example.dto.CurrencyExchangeRateDTO;
-
+import org.example.dto.ScraperValidatorDTO;
+import org.example.tracing.Scope;
+import org.example.tracing.Span;
+import org.example.tracing.Tracer;
+import org.example.utils.CharsetDetector;
+import org.example.utils.HttpClientRegistry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.function.Predicate;
 
 public abstract class Scraper {
@@ -24,12 +43,59 @@ public abstract class Scraper {
     }
 
     /**
-     * Getting array of the DTOs.
+     * Getting array of the DTOs (fetching and parsing the response).
      * @return Array of the DTOs.
      * @throws Exception If a some error occurs.
      */
     public CurrencyExchangeRateDTO[] getCurrencyExchangeRateDTOs() throws Exception {
-        Object root = this.getRoot();
+        return this.parse(this.getResponse());
+    }
+
+    /**
+     * Fetching the response body (the I/O part of the scraping, that could be run separately from the parsing).
+     * The body isn't decoded into the string, it's passed to the parsers as the bytes (or as the stream).
+     * @return The response body.
+     * @throws Exception If a request error occurs.
+     */
+    public Body fetch() throws Exception {
+        return this.fetch(null);
+    }
+
+    /**
+     * Fetching the response body conditionally, with the validators of the last saved response.
+     * If the response wasn't modified since then, the body without the content is returned (see Body.isNotModified).
+     * @param scraperValidatorDTO The validators of the last saved response, or null, if there are none.
+     * @return The response body.
+     * @throws Exception If a request error occurs.
+     */
+    public Body fetch(ScraperValidatorDTO scraperValidatorDTO) throws Exception {
+        return this.getResponseBody(scraperValidatorDTO);
+    }
+
+    /**
+     * Parsing the fetched response into array of the DTOs (the CPU part of the scraping).
+     * @param response Request response as the string.
+     * @return Array of the DTOs.
+     * @throws Exception If a some error occurs.
+     */
+    public CurrencyExchangeRateDTO[] parse(String response) throws Exception {
+        return this.parse(Body.of(response));
+    }
+
+    /**
+     * Parsing the fetched response body into array of the DTOs (the CPU part of the scraping).
+     * The body is closed, after it was parsed.
+     * @param body The response body.
+     * @return Array of the DTOs.
+     * @throws Exception If a some error occurs.
+     */
+    public CurrencyExchangeRateDTO[] parse(Body body) throws Exception {
+        Object root;
+
+        try (body; Body region = this.extract(body)) {
+            root = this.getRoot(region);
+        }
+
         Object[] items = this.getItems(root);
 
         if (items.length == 0) {
@@ -42,17 +108,18 @@ public abstract class Scraper {
         }
 
         CurrencyExchangeRateDTO[] currencyExchangeRateDTOs = new CurrencyExchangeRateDTO[items.length];
+        RowExtractor rowExtractor = this.getRowExtractor();
 
         for (int i = 0; i < items.length; i++) {
-            Object item = items[i];
+            Row row = rowExtractor.extract(items[i]);
 
             currencyExchangeRateDTOs[i] = new CurrencyExchangeRateDTO(
                     this.getId(),
-                    this.getUnit(item),
-                    this.getUnitCurrencyCode(item),
-                    this.getRateCurrencyCode(item),
-                    this.getBuyRate(item),
-                    this.getSaleRate(item)
+                    row.unit(),
+                    row.unitCurrencyCode(),
+                    row.rateCurrencyCode(),
+                    row.buyRate(),
+                    row.saleRate()
             );
         }
 
@@ -60,50 +127,258 @@ public abstract class Scraper {
                 .filter(this.getPredicate()).toList().toArray(new CurrencyExchangeRateDTO[0]);
     }
 
+    /**
+     * Extracting the region of the body, that contains the rates (the rest of the body is neither hashed, nor parsed).
+     * The region keeps the validators of the body, and it's extracted only once (it's returned as is, if it's passed again).
+     * @param body The response body.
+     * @return The region of the body.
+     * @throws Exception If a reading of the body error occurs.
+     */
+    public Body extract(Body body) throws Exception {
+        return body.isExtracted() ? body : this.getRegion(body).extractedFrom(body);
+    }
+
+    /**
+     * Getting the region of the body, that contains the rates.
+     * By default, the whole body is the region.
+     * @param body The response body.
+     * @return The region of the body, or the body itself.
+     * @throws Exception If a reading of the body error occurs.
+     */
+    protected Body getRegion(Body body) throws Exception {
+        return body;
+    }
+
+    /**
+     * Getting the region of the body out of the fragment, that was read out of the body.
+     * If the fragment wasn't found (e.g. the markup was changed), then the whole body is the region,
+     * unless the body is the stream: it was read through, while the fragment was searched, and it isn't buffered,
+     * so the attempt is failed (and retried), rather than the whole page is kept in the memory.
+     * @param body The response body.
+     * @param fragment The fragment, or null, if it wasn't found.
+     * @return The region of the body, or the body itself.
+     * @throws Exception If the fragment wasn't found in the streamed body.
+     */
+    protected Body getRegion(Body body, String fragment) throws Exception {
+        if (fragment != null) {
+            return Body.of(fragment);
+        }
+
+        if (body.isStream()) {
+            throw new Exception(
+                    String.format(
+                            "The region was not found in the streamed body (\"%s\").",
+                            this.getClass().getName()
+                    )
+            );
+        }
+
+        return body;
+    }
+
+    /**
+     * Getting the root Object, based on the response body, for further processing.
+     * By default, the body is decoded into the string, and passed to the getRoot(String).
+     * The scrapers could override it, to feed the parser directly from the bytes of the body.
+     * @param body The response body.
+     * @return Root Object, based on the response, for further processing.
+     * @throws Exception If a creation of root response Object error occurs.
+     */
+    protected Object getRoot(Body body) throws Exception {
+        return this.getRoot(body.getText());
+    }
+
     /**
      * Getting the root Object, based on the response, for further processing.
+     * @param response Request response as the string.
      * @return Root Object, based on the response, for further processing.
      * @throws Exception If a creation of root response Object error occurs.
      */
-    protected Object getRoot() throws Exception {
-        return this.getResponse();
+    protected Object getRoot(String response) throws Exception {
+        return response;
     }
 
     /**
-     * Getting request response as the string.
+     * Getting request response as the string (decoded with the detected charset).
      * @return Request response as the string.
      * @throws Exception If a request error occurs.
      */
     protected String getResponse() throws Exception {
-        try (HttpClient httpClient = HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).build()) {
-            HttpRequest.Builder httpRequestBuilder = HttpRequest.newBuilder();
+        try (Body body = this.getResponseBody()) {
+            return body.getText();
+        }
+    }
+
+    /**
+     * Getting request response body, in the mode of the scraper.
+     * @return The response body.
+     * @throws Exception If a request error occurs.
+     */
+    protected Body getResponseBody() throws Exception {
+        return this.getResponseBody(null);
+    }
+
+    /**
+     * Getting request response body, in the mode of the scraper.
+     * The charset of the body is detected once, out of the content type header, or out of the leading bytes.
+     * If the validators are provided (and the scraper is conditional), then the request is conditional,
+     * and the response 304 is returned as the body, that wasn't modified.
+     * @param scraperValidatorDTO The validators of the last saved response, or null, if there are none.
+     * @return The response body.
+     * @throws Exception If a request error occurs.
+     */
+    protected Body getResponseBody(ScraperValidatorDTO scraperValidatorDTO) throws Exception {
+        // Getting the shared HTTP client (its connections are kept alive between the requests).
+        HttpClient httpClient = HttpClientRegistry.getHttpClient(
+                this.getRedirect(),
+                this.getConnectTimeout(),
+                this.getVersion()
+        );
 
-            httpRequestBuilder
-                    .uri(this.getURI())
-                    .timeout(this.getTimeout())
-                    .method(this.getMethod(), this.getBodyPublisher());
+        HttpRequest.Builder httpRequestBuilder = HttpRequest.newBuilder();
 
-            String[] headers = this.getHeaders();
+        httpRequestBuilder
+                .uri(this.getURI())
+                .timeout(this.getTimeout())
+                .method(this.getMethod(), this.getBodyPublisher());
 
-            if (headers.length > 0) {
-                httpRequestBuilder.headers(headers);
-            }
+        String[] headers = this.getHeaders();
+
+        if (headers.length > 0) {
+            httpRequestBuilder.headers(headers);
+        }
 
-            HttpRequest httpRequest = httpRequestBuilder.build();
+        boolean conditional = scraperValidatorDTO != null && this.isConditional();
 
-            HttpResponse<String> httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+        if (conditional && scraperValidatorDTO.getEtag() != null) {
+            httpRequestBuilder.header("If-None-Match", scraperValidatorDTO.getEtag());
+        }
+
+        if (conditional && scraperValidatorDTO.getLastModified() != null) {
+            httpRequestBuilder.header("If-Modified-Since", scraperValidatorDTO.getLastModified());
+        }
+
+        HttpRequest httpRequest = httpRequestBuilder.build();
+
+        if (this.getBodyMode() == BodyMode.STREAM) {
+            HttpResponse<InputStream> httpResponse = this.send(httpClient, httpRequest, HttpResponse.BodyHandlers.ofInputStream());
 
             if (httpResponse.statusCode() != HttpURLConnection.HTTP_OK) {
-                throw new Exception(
-                        String.format(
-                                "Response status code is %d (\"%s\").",
-                                httpResponse.statusCode(),
-                                httpResponse.uri().toString()
-                        )
-                );
+                // Releasing the connection, without reading the rest of the body.
+                httpResponse.body().close();
+            }
+
+            if (conditional && httpResponse.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return Body.notModified(httpResponse, scraperValidatorDTO);
             }
 
-            return httpResponse.body();
+            this.checkStatusCode(httpResponse);
+
+            // Sniffing the leading bytes, that are read again by the parser.
+            BufferedInputStream inputStream = new BufferedInputStream(httpResponse.body(), CharsetDetector.HEAD_LENGTH);
+
+            inputStream.mark(CharsetDetector.HEAD_LENGTH);
+
+            byte[] head = inputStream.readNBytes(CharsetDetector.HEAD_LENGTH);
+
+            inputStream.reset();
+
+            return Body.of(
+                    inputStream,
+                    CharsetDetector.detect(
+                            httpResponse.headers().firstValue("Content-Type").orElse(null),
+                            head,
+                            head.length
+                    )
+            ).withValidators(httpResponse);
+        }
+
+        HttpResponse<byte[]> httpResponse = this.send(httpClient, httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+
+        if (conditional && httpResponse.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            return Body.notModified(httpResponse, scraperValidatorDTO);
+        }
+
+        this.checkStatusCode(httpResponse);
+
+        return Body.of(
+                httpResponse.body(),
+                CharsetDetector.detect(
+                        httpResponse.headers().firstValue("Content-Type").orElse(null),
+                        httpResponse.body(),
+                        httpResponse.body().length
+                )
+        ).withValidators(httpResponse);
+    }
+
+    /**
+     * Sending the request, within the span of the request, which children are the time to the first byte
+     * (the connection and the TLS handshake are included, when the connection isn't reused) and the body.
+     * The body handler is applied, once the headers are received, so the body span starts there
+     * (the streamed body is read later, within the span of the extraction).
+     * @param httpClient The HTTP client.
+     * @param httpRequest The request.
+     * @param bodyHandler The body handler.
+     * @return The response.
+     * @param <T> Type of the response body.
+     * @throws IOException If an I/O error occurs.
+     * @throws InterruptedException If the thread was interrupted.
+     */
+    private <T> HttpResponse<T> send(
+            HttpClient httpClient,
+            HttpRequest httpRequest,
+            HttpResponse.BodyHandler<T> bodyHandler
+    ) throws IOException, InterruptedException {
+        try (Scope scope = Tracer.open("http.request")) {
+            Span span = scope.span()
+                    .setKind(Span.Kind.CLIENT)
+                    .setAttribute("http.request.method", httpRequest.method())
+                    .setAttribute("url.full", httpRequest.uri().toString());
+            Span firstByteSpan = Tracer.startSpan("http.ttfb", span);
+            Span[] bodySpan = {Span.NOOP};
+
+            try {
+                HttpResponse<T> httpResponse = httpClient.send(httpRequest, (responseInfo) -> {
+                    firstByteSpan.end();
+
+                    bodySpan[0] = Tracer.startSpan("http.body", span);
+
+                    return bodyHandler.apply(responseInfo);
+                });
+
+                span.setAttribute("http.response.status_code", httpResponse.statusCode())
+                        .setAttribute("network.protocol.version", httpResponse.version() == HttpClient.Version.HTTP_2 ? "2" : "1.1");
+
+                if (httpResponse.body() instanceof byte[] bytes) {
+                    span.setAttribute("http.response.body.size", bytes.length);
+                }
+
+                return httpResponse;
+            } catch (IOException | InterruptedException e) {
+                span.setError(e);
+
+                throw e;
+            } finally {
+                firstByteSpan.end();
+                bodySpan[0].end();
+            }
+        }
+    }
+
+    /**
+     * Checking that the response status code is successful.
+     * @param httpResponse The response.
+     * @throws Exception If the response status code isn't 200.
+     */
+    private void checkStatusCode(HttpResponse<?> httpResponse) throws Exception {
+        if (httpResponse.statusCode() != HttpURLConnection.HTTP_OK) {
+            throw new Exception(
+                    String.format(
+                            "Response status code is %d (\"%s\").",
+                            httpResponse.statusCode(),
+                            httpResponse.uri().toString()
+                    )
+            );
         }
     }
 
@@ -123,6 +398,23 @@ public abstract class Scraper {
      */
     protected abstract Object[] getItems(Object root) throws Exception;
 
+    /**
+     * Getting the row extractor, that reads all the values of the item at once.
+     * By default, each value is read by its own getter (the slow path, that is kept for the compatibility).
+     * The scrapers could override it, with the extractor, that is created once per class,
+     * and that walks the item only once.
+     * @return The row extractor.
+     */
+    protected RowExtractor getRowExtractor() {
+        return (item) -> new Row(
+                this.getUnit(item),
+                this.getUnitCurrencyCode(item),
+                this.getRateCurrencyCode(item),
+                this.getBuyRate(item),
+                this.getSaleRate(item)
+        );
+    }
+
     /**
      * Getting the unit value.
      * @param item Object item, that contains the unit value.
@@ -176,12 +468,53 @@ public abstract class Scraper {
      */
     protected abstract URI getURI() throws URISyntaxException;
 
+    /**
+     * Getting the mode, in which the response body is received.
+     * @return The body mode.
+     */
+    protected BodyMode getBodyMode() {
+        return BodyMode.BYTES;
+    }
+
+    /**
+     * Checking if the requests are conditional (the validators of the last saved response are sent).
+     * The scrapers, that are served with the unreliable validators, could turn it off.
+     * @return True, if the requests are conditional.
+     */
+    protected boolean isConditional() {
+        return true;
+    }
+
     /**
      * Getting request timeout.
      * @return Request timeout, as Duration instance.
      */
     protected abstract Duration getTimeout();
 
+    /**
+     * Getting connect timeout, of the HTTP client.
+     * @return Connect timeout, as Duration instance.
+     */
+    protected Duration getConnectTimeout() {
+        return this.getTimeout();
+    }
+
+    /**
+     * Getting redirect policy, of the HTTP client.
+     * @return Redirect policy.
+     */
+    protected HttpClient.Redirect getRedirect() {
+        return HttpClient.Redirect.NORMAL;
+    }
+
+    /**
+     * Getting preferred HTTP version, of the HTTP client.
+     * @return Preferred HTTP version.
+     */
+    protected HttpClient.Version getVersion() {
+        return HttpClient.Version.HTTP_2;
+    }
+
     /**
      * Getting request method.
      * @return Request method.
@@ -199,4 +532,296 @@ public abstract class Scraper {
      * @return Array of pairs - header name and header value, or empty array, if there is no headers required.
      */
     protected abstract String[] getHeaders();
+
+    /**
+     * The values of the single item.
+     * @param unit The unit value.
+     * @param unitCurrencyCode The unit currency code.
+     * @param rateCurrencyCode The rate currency code.
+     * @param buyRate The buy rate value.
+     * @param saleRate The sale rate value.
+     */
+    protected record Row(Integer unit, String unitCurrencyCode, String rateCurrencyCode, Double buyRate, Double saleRate) {
+        //
+    }
+
+    /**
+     * Extractor of all the values of the item.
+     */
+    @FunctionalInterface
+    protected interface RowExtractor {
+        /**
+         * Extracting the values of the item.
+         * @param item Object item, that contains the values.
+         * @return The values of the item.
+         * @throws Exception If a reading value error occurs.
+         */
+        Row extract(Object item) throws Exception;
+    }
+
+    /**
+     * The modes, in which the response body is received.
+     */
+    protected enum BodyMode {
+        // The body is received into a single array of bytes, by the fetch stage, and parsed later.
+        BYTES,
+
+        // The body is read by the parser directly from the connection (nothing is buffered, except the head).
+        // The connection is kept open, until the body is parsed, so it suits the large payloads.
+        STREAM
+    }
+
+    /**
+     * The response body (the bytes, or the stream), with its detected charset.
+     * The stream could be read only once, the bytes could be read any number of times.
+     */
+    public static final class Body implements Closeable {
+        private final byte[] bytes;
+
+        private final InputStream inputStream;
+
+        private final Charset charset;
+
+        // The cache validators of the response (ETag and Last-Modified headers), or null, if they were not sent.
+        private final String etag;
+
+        private final String lastModified;
+
+        private final boolean notModified;
+
+        // True, if the body is the region, that was extracted by the scraper (see Scraper.extract).
+        private final boolean extracted;
+
+        private boolean consumed;
+
+        /**
+         * Constructor.
+         * @param bytes The bytes of the body, or null, if the body is the stream.
+         * @param inputStream The stream of the body, or null, if the body is the bytes.
+         * @param charset The charset of the body.
+         * @param etag The entity tag of the response.
+         * @param lastModified The last modification date of the response.
+         * @param notModified True, if the response wasn't modified (the body has no content).
+         * @param extracted True, if the body is the extracted region.
+         */
+        private Body(
+                byte[] bytes,
+                InputStream inputStream,
+                Charset charset,
+                String etag,
+                String lastModified,
+                boolean notModified,
+                boolean extracted
+        ) {
+            this.bytes = bytes;
+            this.inputStream = inputStream;
+            this.charset = charset;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.notModified = notModified;
+            this.extracted = extracted;
+            this.consumed = false;
+        }
+
+        /**
+         * Creating the body out of the bytes.
+         * @param bytes The bytes of the body.
+         * @param charset The charset of the body.
+         * @return The body.
+         */
+        public static Body of(byte[] bytes, Charset charset) {
+            return new Body(bytes, null, charset, null, null, false, false);
+        }
+
+        /**
+         * Creating the body out of the stream.
+         * @param inputStream The stream of the body.
+         * @param charset The charset of the body.
+         * @return The body.
+         */
+        public static Body of(InputStream inputStream, Charset charset) {
+            return new Body(null, inputStream, charset, null, null, false, false);
+        }
+
+        /**
+         * Creating the body out of the string (encoded as UTF-8).
+         * @param text The text of the body.
+         * @return The body.
+         */
+        public static Body of(String text) {
+            return new Body(text.getBytes(StandardCharsets.UTF_8), null, StandardCharsets.UTF_8, null, null, false, false);
+        }
+
+        /**
+         * Creating the body of the response, that wasn't modified (304).
+         * @param etag The entity tag of the response.
+         * @param lastModified The last modification date of the response.
+         * @return The body without the content.
+         */
+        public static Body notModified(String etag, String lastModified) {
+            return new Body(new byte[0], null, StandardCharsets.UTF_8, etag, lastModified, true, false);
+        }
+
+        /**
+         * Creating the body of the response, that wasn't modified (304).
+         * The validators of the response replace the provided ones, if they were sent again.
+         * @param httpResponse The response.
+         * @param scraperValidatorDTO The validators, that were sent with the request.
+         * @return The body without the content.
+         */
+        private static Body notModified(HttpResponse<?> httpResponse, ScraperValidatorDTO scraperValidatorDTO) {
+            return Body.notModified(
+                    httpResponse.headers().firstValue("ETag").orElse(scraperValidatorDTO.getEtag()),
+                    httpResponse.headers().firstValue("Last-Modified").orElse(scraperValidatorDTO.getLastModified())
+            );
+        }
+
+        /**
+         * Copying the body, with the validators of the response.
+         * @param httpResponse The response.
+         * @return The copy of the body.
+         */
+        private Body withValidators(HttpResponse<?> httpResponse) {
+            return new Body(
+                    this.bytes,
+                    this.inputStream,
+                    this.charset,
+                    httpResponse.headers().firstValue("ETag").orElse(null),
+                    httpResponse.headers().firstValue("Last-Modified").orElse(null),
+                    this.notModified,
+                    this.extracted
+            );
+        }
+
+        /**
+         * Copying the body (the region), with the validators of the body, that it was extracted from.
+         * @param body The body, that the region was extracted from.
+         * @return The copy of the region.
+         */
+        private Body extractedFrom(Body body) {
+            return new Body(this.bytes, this.inputStream, this.charset, body.etag, body.lastModified, body.notModified, true);
+        }
+
+        /**
+         * Checking if the body is the stream (it could be read only once).
+         * @return True, if the body is the stream.
+         */
+        public boolean isStream() {
+            return this.bytes == null;
+        }
+
+        /**
+         * Getting the charset of the body.
+         * @return The charset of the body.
+         */
+        public Charset getCharset() {
+            return this.charset;
+        }
+
+        /**
+         * Getting the entity tag of the response.
+         * @return The entity tag, or null, if it wasn't sent.
+         */
+        public String getEtag() {
+            return this.etag;
+        }
+
+        /**
+         * Getting the last modification date of the response (as it was sent).
+         * @return The last modification date, or null, if it wasn't sent.
+         */
+        public String getLastModified() {
+            return this.lastModified;
+        }
+
+        /**
+         * Checking if the response wasn't modified, since the validators were saved (the body has no content).
+         * @return True, if the response wasn't modified.
+         */
+        public boolean isNotModified() {
+            return this.notModified;
+        }
+
+        /**
+         * Checking if the body is the region, that was extracted by the scraper.
+         * @return True, if the body is the extracted region.
+         */
+        public boolean isExtracted() {
+            return this.extracted;
+        }
+
+        /**
+         * Getting the SHA-256 hash of the bytes of the body.
+         * @return The hexadecimal hash, or null, if the body is the stream.
+         */
+        public String getContentHash() {
+            if (this.bytes == null) {
+                return null;
+            }
+
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(this.bytes));
+            } catch (NoSuchAlgorithmException e) {
+                // Every implementation of the Java platform is required to support SHA-256.
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Getting the length of the body.
+         * @return The number of the bytes, or -1, if the body is the stream.
+         */
+        public int getLength() {
+            return this.bytes != null ? this.bytes.length : -1;
+        }
+
+        /**
+         * Getting the body as the stream of the bytes.
+         * @return The stream of the bytes.
+         * @throws IllegalStateException If the body is the stream, and it was already read.
+         */
+        public InputStream getInputStream() throws IllegalStateException {
+            if (this.bytes != null) {
+                return new ByteArrayInputStream(this.bytes);
+            }
+
+            if (this.consumed) {
+                throw new IllegalStateException("The stream of the body was already read.");
+            }
+
+            this.consumed = true;
+
+            return this.inputStream;
+        }
+
+        /**
+         * Getting the body as the stream of the characters, decoded with the charset of the body.
+         * @return The stream of the characters.
+         * @throws IllegalStateException If the body is the stream, and it was already read.
+         */
+        public Reader getReader() throws IllegalStateException {
+            return new BufferedReader(new InputStreamReader(this.getInputStream(), this.charset));
+        }
+
+        /**
+         * Decoding the whole body into the string.
+         * @return The text of the body.
+         * @throws IOException If an I/O error occurs.
+         * @throws IllegalStateException If the body is the stream, and it was already read.
+         */
+        public String getText() throws IOException, IllegalStateException {
+            if (this.bytes != null) {
+                return new String(this.bytes, this.charset);
+            }
+
+            return new String(this.getInputStream().readAllBytes(), this.charset);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.inputStream != null) {
+                this.inputStream.close();
+            }
+        }
+    }
 }
\ No newline at end of file
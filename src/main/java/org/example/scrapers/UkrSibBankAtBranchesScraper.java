@@ -1,9 +1,11 @@
 package org.example.scrapers;
 
 import org.example.dto.CurrencyExchangeRateDTO;
+import org.example.utils.HtmlFragmentReader;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -15,6 +17,56 @@ import java.util.Objects;
 import java.util.function.Predicate;
 
 public class UkrSibBankAtBranchesScraper extends Scraper {
+    private final static String CURRENCY_CLASS_NAME = "module-exchange__item-currency";
+
+    private final static String VALUE_CLASS_NAME = "module-exchange__item-value";
+
+    private final static String TEXT_CLASS_NAME = "module-exchange__item-text";
+
+    // Reads the item in a single pass over its blocks: the currency code (the own text of the currency block),
+    // the buy rate (the 2nd value block, buying by cash), and the sale rate (the 4th value block, selling by cash).
+    private final static RowExtractor ROW_EXTRACTOR = (item) -> {
+        String unitCurrencyCode = null;
+        String buyRate = null;
+        String saleRate = null;
+        int index = 0;
+
+        for (Element block : ((Element) item).children()) {
+            if (!block.normalName().equals("div")) {
+                continue;
+            }
+
+            String className = block.className();
+
+            if (className.equals(UkrSibBankAtBranchesScraper.CURRENCY_CLASS_NAME)) {
+                Element text = UkrSibBankAtBranchesScraper.getText(block);
+
+                unitCurrencyCode = text != null ? text.ownText().trim() : null;
+            } else if (className.equals(UkrSibBankAtBranchesScraper.VALUE_CLASS_NAME)) {
+                ++index;
+
+                if (index == 2 || index == 4) {
+                    Element text = UkrSibBankAtBranchesScraper.getText(block);
+                    String value = text != null ? UkrSibBankAtBranchesScraper.getSpanText(text) : null;
+
+                    if (index == 2) {
+                        buyRate = value;
+                    } else {
+                        saleRate = value;
+                    }
+                }
+            }
+        }
+
+        return new Row(
+                1,
+                Objects.requireNonNull(unitCurrencyCode),
+                "UAH",
+                Double.valueOf(Objects.requireNonNull(buyRate)),
+                Double.valueOf(Objects.requireNonNull(saleRate))
+        );
+    };
+
     /**
      * Constructor.
      * @param id The unique scraper identifier.
@@ -24,19 +76,15 @@ public class UkrSibBankAtBranchesScraper extends Scraper {
     }
 
     @Override
-    protected Object getRoot() throws Exception {
-        Object root = super.getRoot();
-
-        if (root instanceof String) {
-            return Jsoup.parse((String) root);
-        }
+    protected Body getRegion(Body body) throws Exception {
+        // Only the block of the exchange rates at branches is hashed and parsed (the rest of the page is skipped, without building its tree).
+        // If the element wasn't found (e.g. the markup was changed), then the whole page is the region (see Scraper.getRegion).
+        return this.getRegion(body, HtmlFragmentReader.read(body.getReader(), "div", "id", "kassa"));
+    }
 
-        throw new IllegalArgumentException(
-                String.format(
-                        "Invalid root response Object (\"%s\").",
-                        this.getClass().getName()
-                )
-        );
+    @Override
+    protected Object getRoot(Body body) throws Exception {
+        return Jsoup.parse(body.getInputStream(), body.getCharset().name(), "");
     }
 
     @Override
@@ -53,6 +101,11 @@ public class UkrSibBankAtBranchesScraper extends Scraper {
         );
     }
 
+    @Override
+    protected RowExtractor getRowExtractor() {
+        return UkrSibBankAtBranchesScraper.ROW_EXTRACTOR;
+    }
+
     @Override
     protected Integer getUnit(Object item) throws Exception {
         return 1;
@@ -120,4 +173,36 @@ public class UkrSibBankAtBranchesScraper extends Scraper {
                 "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36"
         };
     }
+
+    /**
+     * Getting the text block (the direct child) of the block.
+     * @param block The block.
+     * @return The text block, or null, if the text block wasn't found.
+     */
+    private static Element getText(Element block) {
+        for (Element child : block.children()) {
+            if (child.normalName().equals("div") && child.className().equals(UkrSibBankAtBranchesScraper.TEXT_CLASS_NAME)) {
+                return child;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Getting the text of the spans (the direct children) of the text block.
+     * @param text The text block.
+     * @return The text of the spans, separated by the space.
+     */
+    private static String getSpanText(Element text) {
+        Elements spans = new Elements();
+
+        for (Element child : text.children()) {
+            if (child.normalName().equals("span")) {
+                spans.add(child);
+            }
+        }
+
+        return spans.text().trim();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package org.example.services;
+
+import org.example.dao.CurrencyExchangeRateArchiveDAO;
+import org.example.dao.CurrencyExchangeRateDAO;
+import org.example.entities.CurrencyExchangeRateArchiveEntity;
+import org.example.entities.CurrencyExchangeRateEntity;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CurrencyExchangeRateCache {
+    // The maximum number of the entities, which latest archive entities are read by a single statement.
+    private final static int BULK_SIZE = 1000;
+
+    // The last persisted states, by the scraper identifier, the unit currency code and the rate currency code.
+    private final Map<List<Object>, State> states;
+
+    private final Duration heartbeatInterval;
+
+    /**
+     * Constructor.
+     * @param heartbeatInterval How often the date of update of the unchanged entity is still written to the database.
+     */
+    public CurrencyExchangeRateCache(Duration heartbeatInterval) {
+        this.states = new ConcurrentHashMap<>();
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * Warming the cache up, with the entities and their latest archive entities, from the database.
+     * @param connection Database connection.
+     * @param currencyExchangeRateDAO Instance of the DAO.
+     * @param currencyExchangeRateArchiveDAO Instance of the archive DAO.
+     * @return The number of the cached entities.
+     * @throws SQLException If an SQL error occurs.
+     */
+    public int warm(
+            Connection connection,
+            CurrencyExchangeRateDAO currencyExchangeRateDAO,
+            CurrencyExchangeRateArchiveDAO currencyExchangeRateArchiveDAO
+    ) throws SQLException {
+        List<CurrencyExchangeRateEntity> currencyExchangeRateEntities = currencyExchangeRateDAO.readAll(connection);
+
+        int numberOfCachedEntities = 0;
+
+        for (int i = 0; i < currencyExchangeRateEntities.size(); i += CurrencyExchangeRateCache.BULK_SIZE) {
+            List<CurrencyExchangeRateEntity> bulk = currencyExchangeRateEntities.subList(
+                    i,
+                    Math.min(i + CurrencyExchangeRateCache.BULK_SIZE, currencyExchangeRateEntities.size())
+            );
+
+            List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities = new ArrayList<>();
+
+            for (CurrencyExchangeRateEntity currencyExchangeRateEntity : bulk) {
+                currencyExchangeRateArchiveEntities.add(new CurrencyExchangeRateArchiveEntity(currencyExchangeRateEntity));
+            }
+
+            // Latest archive entities, by the currency exchange rate identifier.
+            Map<Integer, CurrencyExchangeRateArchiveEntity> latestCurrencyExchangeRateArchiveEntities = new HashMap<>();
+
+            for (
+                    CurrencyExchangeRateArchiveEntity latestCurrencyExchangeRateArchiveEntity
+                    : currencyExchangeRateArchiveDAO.readAll(connection, currencyExchangeRateArchiveEntities)
+            ) {
+                latestCurrencyExchangeRateArchiveEntities.put(
+                        latestCurrencyExchangeRateArchiveEntity.getCurrencyExchangeRateId(),
+                        latestCurrencyExchangeRateArchiveEntity
+                );
+            }
+
+            for (CurrencyExchangeRateEntity currencyExchangeRateEntity : bulk) {
+                CurrencyExchangeRateArchiveEntity latestCurrencyExchangeRateArchiveEntity =
+                        latestCurrencyExchangeRateArchiveEntities.get(currencyExchangeRateEntity.getId());
+
+                // Only the entities, that are in sync with their latest archive entities, are cached.
+                if (
+                        latestCurrencyExchangeRateArchiveEntity != null
+                                && latestCurrencyExchangeRateArchiveEntity.getUnit().equals(currencyExchangeRateEntity.getUnit())
+                                && latestCurrencyExchangeRateArchiveEntity.getBuyRate().equals(currencyExchangeRateEntity.getBuyRate())
+                                && latestCurrencyExchangeRateArchiveEntity.getSaleRate().equals(currencyExchangeRateEntity.getSaleRate())
+                ) {
+                    this.put(currencyExchangeRateEntity, latestCurrencyExchangeRateArchiveEntity);
+
+                    ++numberOfCachedEntities;
+                }
+            }
+        }
+
+        return numberOfCachedEntities;
+    }
+
+    /**
+     * Getting the last persisted state of the entity.
+     * @param currencyExchangeRateEntity Instance of the entity, that will be used for search.
+     * @return The last persisted state, or null if the entity is not cached.
+     */
+    public State get(CurrencyExchangeRateEntity currencyExchangeRateEntity) {
+        return this.states.get(CurrencyExchangeRateCache.getKey(currencyExchangeRateEntity));
+    }
+
+    /**
+     * Checking if the entity is unchanged, comparing to its last persisted state,
+     * and the heartbeat interval isn't elapsed since that state was persisted (so the entity could be skipped).
+     * @param currencyExchangeRateEntity Instance of the entity.
+     * @return True, if the entity could be skipped.
+     */
+    public boolean isFresh(CurrencyExchangeRateEntity currencyExchangeRateEntity) {
+        State state = this.get(currencyExchangeRateEntity);
+
+        return state != null
+                && state.isUnchanged(currencyExchangeRateEntity)
+                && currencyExchangeRateEntity.getUpdatedAt().isBefore(state.updatedAt().plus(this.heartbeatInterval));
+    }
+
+    /**
+     * Putting the persisted state of the entity into the cache.
+     * @param currencyExchangeRateEntity Instance of the persisted entity.
+     * @param currencyExchangeRateArchiveEntity Instance of its persisted (latest) archive entity.
+     */
+    public void put(
+            CurrencyExchangeRateEntity currencyExchangeRateEntity,
+            CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity
+    ) {
+        this.states.put(
+                CurrencyExchangeRateCache.getKey(currencyExchangeRateEntity),
+                new State(
+                        currencyExchangeRateEntity.getId(),
+                        currencyExchangeRateEntity.getUnit(),
+                        currencyExchangeRateEntity.getBuyRate(),
+                        currencyExchangeRateEntity.getSaleRate(),
+                        currencyExchangeRateArchiveEntity.getId(),
+                        currencyExchangeRateArchiveEntity.getCreatedAt(),
+                        currencyExchangeRateEntity.getUpdatedAt()
+                )
+        );
+    }
+
+    /**
+     * Removing the entity from the cache (e.g. when its saving was rolled back).
+     * @param currencyExchangeRateEntity Instance of the entity.
+     */
+    public void remove(CurrencyExchangeRateEntity currencyExchangeRateEntity) {
+        this.states.remove(CurrencyExchangeRateCache.getKey(currencyExchangeRateEntity));
+    }
+
+    /**
+     * Getting the number of the cached entities.
+     * @return The number of the cached entities.
+     */
+    public int size() {
+        return this.states.size();
+    }
+
+    /**
+     * Getting the key of the entity, in the cache.
+     * @param currencyExchangeRateEntity Instance of the entity.
+     * @return List of the scraper identifier, the unit currency code and the rate currency code.
+     */
+    private static List<Object> getKey(CurrencyExchangeRateEntity currencyExchangeRateEntity) {
+        return List.of(
+                currencyExchangeRateEntity.getScraperId(),
+                currencyExchangeRateEntity.getUnitCurrencyCode(),
+                currencyExchangeRateEntity.getRateCurrencyCode()
+        );
+    }
+
+    /**
+     * The last persisted state of the entity.
+     * @param id Identifier of the entity.
+     * @param unit Unit of the entity.
+     * @param buyRate Buy rate of the entity.
+     * @param saleRate Sale rate of the entity.
+     * @param archiveId Identifier of the latest archive entity.
+     * @param archiveCreatedAt Date of creation of the latest archive entity.
+     * @param updatedAt Date of the last update, that was written to the database.
+     */
+    public record State(
+            Integer id,
+            Integer unit,
+            Double buyRate,
+            Double saleRate,
+            Long archiveId,
+            LocalDateTime archiveCreatedAt,
+            LocalDateTime updatedAt
+    ) {
+        /**
+         * Checking if the unit, buy and sale rates of the entity are the same, as in the persisted state.
+         * @param currencyExchangeRateEntity Instance of the entity.
+         * @return True, if the entity is unchanged.
+         */
+        public boolean isUnchanged(CurrencyExchangeRateEntity currencyExchangeRateEntity) {
+            return this.unit.equals(currencyExchangeRateEntity.getUnit())
+                    && this.buyRate.equals(currencyExchangeRateEntity.getBuyRate())
+                    && this.saleRate.equals(currencyExchangeRateEntity.getSaleRate());
+        }
+    }
+}
\ No newline at end of file
@@ -2,20 +2,36 @@ package org.example.services;
 
 import org.example.dao.CurrencyExchangeRateArchiveDAO;
 import org.example.dto.CurrencyExchangeRateDTO;
+import org.example.dto.ScraperValidatorDTO;
 import org.example.entities.CurrencyExchangeRateArchiveEntity;
 import org.example.entities.CurrencyExchangeRateEntity;
 import org.example.dao.CurrencyExchangeRateDAO;
+import org.example.metrics.MetricRegistry;
+import org.example.tracing.Scope;
+import org.example.tracing.Tracer;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Optional;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class CurrencyExchangeRateService {
     private final CurrencyExchangeRateDAO currencyExchangeRateDAO;
 
     private final CurrencyExchangeRateArchiveDAO currencyExchangeRateArchiveDAO;
 
+    // Write-through cache of the last persisted states, or null if the cache is disabled.
+    private final CurrencyExchangeRateCache currencyExchangeRateCache;
+
+    // The service of the validators, that are saved within the transactions of the DTOs, or null if they aren't saved.
+    private final ScraperValidatorService scraperValidatorService;
+
     /**
      * Constructor.
      * @param currencyExchangeRateDAO Instance of the DAO.
@@ -24,13 +40,82 @@ public class CurrencyExchangeRateService {
     public CurrencyExchangeRateService(
             CurrencyExchangeRateDAO currencyExchangeRateDAO,
             CurrencyExchangeRateArchiveDAO currencyExchangeRateArchiveDAO
+    ) {
+        this(currencyExchangeRateDAO, currencyExchangeRateArchiveDAO, null);
+    }
+
+    /**
+     * Constructor.
+     * The service should be the only writer of the currency exchange rates, when the cache is used.
+     * @param currencyExchangeRateDAO Instance of the DAO.
+     * @param currencyExchangeRateArchiveDAO Instance of the archive DAO.
+     * @param currencyExchangeRateCache Instance of the cache (or null, if the cache is disabled).
+     */
+    public CurrencyExchangeRateService(
+            CurrencyExchangeRateDAO currencyExchangeRateDAO,
+            CurrencyExchangeRateArchiveDAO currencyExchangeRateArchiveDAO,
+            CurrencyExchangeRateCache currencyExchangeRateCache
+    ) {
+        this(currencyExchangeRateDAO, currencyExchangeRateArchiveDAO, currencyExchangeRateCache, null);
+    }
+
+    /**
+     * Constructor.
+     * The service should be the only writer of the currency exchange rates, when the cache is used.
+     * @param currencyExchangeRateDAO Instance of the DAO.
+     * @param currencyExchangeRateArchiveDAO Instance of the archive DAO.
+     * @param currencyExchangeRateCache Instance of the cache (or null, if the cache is disabled).
+     * @param scraperValidatorService Instance of the service of the validators, that are saved within the same
+     *        transactions as the DTOs of their responses (or null, if the validators aren't saved).
+     */
+    public CurrencyExchangeRateService(
+            CurrencyExchangeRateDAO currencyExchangeRateDAO,
+            CurrencyExchangeRateArchiveDAO currencyExchangeRateArchiveDAO,
+            CurrencyExchangeRateCache currencyExchangeRateCache,
+            ScraperValidatorService scraperValidatorService
     ) {
         this.currencyExchangeRateDAO = currencyExchangeRateDAO;
         this.currencyExchangeRateArchiveDAO = currencyExchangeRateArchiveDAO;
+        this.currencyExchangeRateCache = currencyExchangeRateCache;
+        this.scraperValidatorService = scraperValidatorService;
+    }
+
+    /**
+     * Warming the cache up from the database (if the cache is enabled).
+     * @param dataSource Instance of the data source.
+     * @return The number of the cached entities.
+     * @throws SQLException If an SQL error occurs.
+     */
+    public int warmCache(DataSource dataSource) throws SQLException {
+        if (this.currencyExchangeRateCache == null) {
+            return 0;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            try {
+                int numberOfCachedEntities = this.currencyExchangeRateCache.warm(
+                        connection,
+                        this.currencyExchangeRateDAO,
+                        this.currencyExchangeRateArchiveDAO
+                );
+
+                connection.commit();
+
+                return numberOfCachedEntities;
+            } catch (SQLException e) {
+                connection.rollback();
+
+                throw e;
+            }
+        }
     }
 
     /**
      * Saving DTOs into the database.
+     * The whole array is saved using a constant number of statements (regardless of the number of DTOs).
+     * If the cache is enabled, then the unchanged DTOs are skipped, and only their dates of update are written
+     * once per heartbeat interval.
+     * If there are several DTOs for the same scraper, unit currency and rate currency, then the last one is saved.
      * @param dataSource Instance of the data source.
      * @param currencyExchangeRateDTOs Array of the DTOs.
      * @throws SQLException If an SQL error occurs.
@@ -39,84 +124,473 @@ public class CurrencyExchangeRateService {
     public void save(DataSource dataSource, CurrencyExchangeRateDTO[] currencyExchangeRateDTOs)
             throws SQLException, NullPointerException
     {
-        try (Connection connection = dataSource.getConnection()) {
-            try {
-                for (CurrencyExchangeRateDTO currencyExchangeRateDTO : currencyExchangeRateDTOs) {
-                    // Mapping the DTO into the entity.
-                    CurrencyExchangeRateEntity currencyExchangeRateEntity =
-                            new CurrencyExchangeRateEntity(currencyExchangeRateDTO);
-
-                    // Searching this entity in the database.
-                    Optional<CurrencyExchangeRateEntity> optionalCurrentCurrencyExchangeRateEntity =
-                            this.currencyExchangeRateDAO.read(connection, currencyExchangeRateEntity);
-
-                    // The entity is present in the database.
-                    // Updating that entity in the database.
-                    if (optionalCurrentCurrencyExchangeRateEntity.isPresent()) {
-                        CurrencyExchangeRateEntity currentCurrencyExchangeRateEntity =
-                                optionalCurrentCurrencyExchangeRateEntity.get();
-
-                        currentCurrencyExchangeRateEntity.setUnit(currencyExchangeRateEntity.getUnit());
-                        currentCurrencyExchangeRateEntity.setBuyRate(currencyExchangeRateEntity.getBuyRate());
-                        currentCurrencyExchangeRateEntity.setSaleRate(currencyExchangeRateEntity.getSaleRate());
-                        currentCurrencyExchangeRateEntity.setUpdatedAt(currencyExchangeRateEntity.getUpdatedAt());
-
-                        // Updating that entity.
-                        this.currencyExchangeRateDAO.update(connection, currentCurrencyExchangeRateEntity);
-
-                        currencyExchangeRateEntity.setId(currentCurrencyExchangeRateEntity.getId());
-                    } else {
-                        // The entity is not present in the database.
-                        // Adding the entity as the new one.
-                        this.currencyExchangeRateDAO.create(connection, currencyExchangeRateEntity);
+        this.save(dataSource, currencyExchangeRateDTOs, null);
+    }
+
+    /**
+     * Saving DTOs into the database, together with the validators of their response (see the save method above).
+     * The validators are saved within the same transaction (even if all the DTOs are skipped by the cache),
+     * and are kept in the memory of the service of the validators only after the commit.
+     * @param dataSource Instance of the data source.
+     * @param currencyExchangeRateDTOs Array of the DTOs.
+     * @param scraperValidatorDTO The validators of the response (or null, if they aren't saved).
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required DTO fields is null.
+     */
+    public void save(
+            DataSource dataSource,
+            CurrencyExchangeRateDTO[] currencyExchangeRateDTOs,
+            ScraperValidatorDTO scraperValidatorDTO
+    ) throws SQLException, NullPointerException {
+        long startTime = System.nanoTime();
+
+        try (Scope scope = Tracer.open("save")) {
+            Changes changes = this.getChanges(currencyExchangeRateDTOs);
+
+            scope.span()
+                    .setAttribute("rates.changed", changes.changedCurrencyExchangeRateEntities().size())
+                    .setAttribute("rates.unchanged", changes.unchangedCurrencyExchangeRateEntities().size())
+                    .setAttribute("rates.skipped", changes.skippedCurrencyExchangeRateEntities().size());
+
+            List<ScraperValidatorDTO> scraperValidatorDTOs = this.getScraperValidatorDTOs(scraperValidatorDTO);
+
+            if (changes.isEmpty() && scraperValidatorDTOs.isEmpty()) {
+                this.count(changes);
+
+                return;
+            }
+
+            try (Connection connection = dataSource.getConnection()) {
+                try {
+                    this.write(connection, changes);
+                    this.write(connection, scraperValidatorDTOs);
+                    this.commit(connection);
+                } catch (SQLException | NullPointerException e) {
+                    scope.span().setError(e);
+
+                    connection.rollback();
+
+                    this.evict(changes);
+
+                    throw e;
+                }
+            }
+
+            this.count(changes);
+            this.cache(changes);
+            this.keep(scraperValidatorDTOs);
+        } finally {
+            this.recordSave(startTime, "save");
+        }
+    }
+
+    /**
+     * Saving several arrays of the DTOs (e.g. scraped by the different scrapers) into the database,
+     * within a single transaction (so the commit is paid once for all of them).
+     * Each array is saved the same way as by the save method, within its own savepoint,
+     * so the array, that was failed, is rolled back without affecting the others.
+     * @param dataSource Instance of the data source.
+     * @param currencyExchangeRateDTOArrays List of the arrays of the DTOs.
+     * @return List of the exceptions, by the indexes of the arrays (null, if the array was successfully saved).
+     * @throws SQLException If an SQL error occurs outside the savepoints (e.g. on commit),
+     *         then none of the arrays is saved.
+     */
+    public List<Exception> saveAll(DataSource dataSource, List<CurrencyExchangeRateDTO[]> currencyExchangeRateDTOArrays)
+            throws SQLException
+    {
+        return this.saveAll(
+                dataSource,
+                currencyExchangeRateDTOArrays,
+                Collections.nCopies(currencyExchangeRateDTOArrays.size(), null)
+        );
+    }
+
+    /**
+     * Saving several arrays of the DTOs into the database, together with the validators of their responses
+     * (see the saveAll method above). The validators of each array are saved within its savepoint,
+     * and are kept in the memory of the service of the validators only after the commit.
+     * @param dataSource Instance of the data source.
+     * @param currencyExchangeRateDTOArrays List of the arrays of the DTOs.
+     * @param scraperValidatorDTOs List of the validators, by the indexes of the arrays (null, if they aren't saved).
+     * @return List of the exceptions, by the indexes of the arrays (null, if the array was successfully saved).
+     * @throws SQLException If an SQL error occurs outside the savepoints (e.g. on commit),
+     *         then none of the arrays is saved.
+     */
+    public List<Exception> saveAll(
+            DataSource dataSource,
+            List<CurrencyExchangeRateDTO[]> currencyExchangeRateDTOArrays,
+            List<ScraperValidatorDTO> scraperValidatorDTOs
+    ) throws SQLException {
+        long startTime = System.nanoTime();
+
+        try (Scope scope = Tracer.open("saveAll")) {
+            List<Changes> changesList = new ArrayList<>(currencyExchangeRateDTOArrays.size());
+            List<List<ScraperValidatorDTO>> scraperValidatorDTOLists = new ArrayList<>(currencyExchangeRateDTOArrays.size());
+            List<Exception> exceptions = new ArrayList<>(currencyExchangeRateDTOArrays.size());
+
+            for (int i = 0; i < currencyExchangeRateDTOArrays.size(); i++) {
+                scraperValidatorDTOLists.add(this.getScraperValidatorDTOs(scraperValidatorDTOs.get(i)));
+
+                try {
+                    changesList.add(this.getChanges(currencyExchangeRateDTOArrays.get(i)));
+                    exceptions.add(null);
+                } catch (NullPointerException e) {
+                    changesList.add(null);
+                    exceptions.add(e);
+                }
+            }
+
+            try (Connection connection = dataSource.getConnection()) {
+                try {
+                    for (int i = 0; i < changesList.size(); i++) {
+                        Changes changes = changesList.get(i);
+
+                        if (changes == null || (changes.isEmpty() && scraperValidatorDTOLists.get(i).isEmpty())) {
+                            continue;
+                        }
+
+                        Savepoint savepoint = connection.setSavepoint();
+
+                        try {
+                            this.write(connection, changes);
+                            this.write(connection, scraperValidatorDTOLists.get(i));
+
+                            connection.releaseSavepoint(savepoint);
+                        } catch (SQLException | NullPointerException e) {
+                            connection.rollback(savepoint);
+
+                            this.evict(changes);
+
+                            changesList.set(i, null);
+                            exceptions.set(i, e);
+                        }
                     }
 
-                    // Mapping the entity into the archive entity.
-                    CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity =
-                            new CurrencyExchangeRateArchiveEntity(currencyExchangeRateEntity);
-
-                    // Searching this archive entity in the database.
-                    Optional<CurrencyExchangeRateArchiveEntity> optionalCurrentCurrencyExchangeRateArchiveEntity =
-                            this.currencyExchangeRateArchiveDAO.read(connection, currencyExchangeRateArchiveEntity);
-
-                    // The archive entity was found in the database.
-                    // Comparing current archive entity with the new one.
-                    // If they are the same, then updating current archive entity date,
-                    // if they not, then adding the archive entity as the new one.
-                    if (optionalCurrentCurrencyExchangeRateArchiveEntity.isPresent()) {
-                        CurrencyExchangeRateArchiveEntity currentCurrencyExchangeRateArchiveEntity =
-                                optionalCurrentCurrencyExchangeRateArchiveEntity.get();
-
-                        // The current archive entity is the same as the new one.
-                        if (
-                                currentCurrencyExchangeRateArchiveEntity.getUnit().equals(currencyExchangeRateArchiveEntity.getUnit())
-                                        && currentCurrencyExchangeRateArchiveEntity.getBuyRate().equals(currencyExchangeRateArchiveEntity.getBuyRate())
-                                        && currentCurrencyExchangeRateArchiveEntity.getSaleRate().equals(currencyExchangeRateArchiveEntity.getSaleRate())
-                        ) {
-                            // Syncing the new archive entity with the current one.
-                            currencyExchangeRateArchiveEntity.setId(currentCurrencyExchangeRateArchiveEntity.getId());
-                            currencyExchangeRateArchiveEntity.setCreatedAt(currentCurrencyExchangeRateArchiveEntity.getCreatedAt());
-
-                            // Updating that archive entity.
-                            this.currencyExchangeRateArchiveDAO.update(connection, currencyExchangeRateArchiveEntity);
-                        } else {
-                            // The current archive entity is different that the new one.
-                            // Adding the archive entity as the new one.
-                            this.currencyExchangeRateArchiveDAO.create(connection, currencyExchangeRateArchiveEntity);
+                    this.commit(connection);
+                } catch (SQLException e) {
+                    scope.span().setError(e);
+
+                    connection.rollback();
+
+                    for (Changes changes : changesList) {
+                        if (changes != null) {
+                            this.evict(changes);
                         }
-                    } else {
-                        // The archive entity wasn't found in the database.
-                        // Adding the archive entity as the new one.
-                        this.currencyExchangeRateArchiveDAO.create(connection, currencyExchangeRateArchiveEntity);
                     }
+
+                    throw e;
                 }
+            }
 
-                connection.commit();
-            } catch (SQLException | NullPointerException e) {
-                connection.rollback();
+            for (int i = 0; i < changesList.size(); i++) {
+                if (changesList.get(i) != null) {
+                    this.count(changesList.get(i));
+                    this.cache(changesList.get(i));
+                    this.keep(scraperValidatorDTOLists.get(i));
+                }
+            }
 
-                throw e;
+            return exceptions;
+        } finally {
+            this.recordSave(startTime, "saveAll");
+        }
+    }
+
+    /**
+     * Mapping the DTOs into the entities, and splitting them into the changed ones,
+     * and the unchanged ones, which heartbeat is due (the unchanged entities, which heartbeat isn't due, are skipped).
+     * @param currencyExchangeRateDTOs Array of the DTOs.
+     * @return The changes, that should be written.
+     * @throws NullPointerException If one of the required DTO fields is null.
+     */
+    private Changes getChanges(CurrencyExchangeRateDTO[] currencyExchangeRateDTOs) throws NullPointerException {
+        // Mapping the DTOs into the entities (unique by the scraper identifier, unit and rate currency codes).
+        Map<List<Object>, CurrencyExchangeRateEntity> currencyExchangeRateEntities = new LinkedHashMap<>();
+
+        for (CurrencyExchangeRateDTO currencyExchangeRateDTO : currencyExchangeRateDTOs) {
+            currencyExchangeRateEntities.put(
+                    List.of(
+                            currencyExchangeRateDTO.getScraperId(),
+                            currencyExchangeRateDTO.getUnitCurrencyCode(),
+                            currencyExchangeRateDTO.getRateCurrencyCode()
+                    ),
+                    new CurrencyExchangeRateEntity(currencyExchangeRateDTO)
+            );
+        }
+
+        Changes changes = new Changes(
+                new ArrayList<>(),
+                new ArrayList<>(),
+                new ArrayList<>(),
+                new ArrayList<>(),
+                new ArrayList<>()
+        );
+
+        for (CurrencyExchangeRateEntity currencyExchangeRateEntity : currencyExchangeRateEntities.values()) {
+            if (this.currencyExchangeRateCache == null) {
+                changes.changedCurrencyExchangeRateEntities().add(currencyExchangeRateEntity);
+            } else if (this.currencyExchangeRateCache.isFresh(currencyExchangeRateEntity)) {
+                changes.skippedCurrencyExchangeRateEntities().add(currencyExchangeRateEntity);
+            } else {
+                CurrencyExchangeRateCache.State state = this.currencyExchangeRateCache.get(currencyExchangeRateEntity);
+
+                if (state != null && state.isUnchanged(currencyExchangeRateEntity)) {
+                    changes.unchangedCurrencyExchangeRateEntities().add(currencyExchangeRateEntity);
+                } else {
+                    changes.changedCurrencyExchangeRateEntities().add(currencyExchangeRateEntity);
+                }
             }
         }
+
+        return changes;
+    }
+
+    /**
+     * Writing the changes into the database (without committing).
+     * @param connection Database connection.
+     * @param changes The changes.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required entity fields is null.
+     */
+    private void write(Connection connection, Changes changes) throws SQLException, NullPointerException {
+        if (!changes.changedCurrencyExchangeRateEntities().isEmpty()) {
+            // Adding the new entities, and updating already existing ones.
+            Tracer.run("CurrencyExchangeRateDAO.upsertAll", (span) -> {
+                span.setAttribute("db.rows", changes.changedCurrencyExchangeRateEntities().size());
+
+                this.currencyExchangeRateDAO.upsertAll(connection, changes.changedCurrencyExchangeRateEntities());
+            });
+
+            for (CurrencyExchangeRateEntity currencyExchangeRateEntity : changes.changedCurrencyExchangeRateEntities()) {
+                changes.changedCurrencyExchangeRateArchiveEntities().add(
+                        new CurrencyExchangeRateArchiveEntity(currencyExchangeRateEntity)
+                );
+            }
+
+            // Extending the latest archive entities, that are the same as the new ones,
+            // and adding the rest archive entities as the new ones.
+            Tracer.run("CurrencyExchangeRateArchiveDAO.archiveAll", (span) -> {
+                span.setAttribute("db.rows", changes.changedCurrencyExchangeRateArchiveEntities().size());
+
+                this.currencyExchangeRateArchiveDAO.archiveAll(
+                        connection,
+                        changes.changedCurrencyExchangeRateArchiveEntities()
+                );
+            });
+        }
+
+        if (!changes.unchangedCurrencyExchangeRateEntities().isEmpty()) {
+            // The identifiers of the unchanged entities and their latest archive entities are known,
+            // so only their dates of update are extended (without any lookups).
+            for (CurrencyExchangeRateEntity currencyExchangeRateEntity : changes.unchangedCurrencyExchangeRateEntities()) {
+                CurrencyExchangeRateCache.State state = this.currencyExchangeRateCache.get(currencyExchangeRateEntity);
+
+                currencyExchangeRateEntity.setId(state.id());
+
+                changes.unchangedCurrencyExchangeRateArchiveEntities().add(
+                        new CurrencyExchangeRateArchiveEntity(
+                                state.archiveId(),
+                                state.id(),
+                                currencyExchangeRateEntity.getUnit(),
+                                currencyExchangeRateEntity.getBuyRate(),
+                                currencyExchangeRateEntity.getSaleRate(),
+                                state.archiveCreatedAt(),
+                                currencyExchangeRateEntity.getUpdatedAt()
+                        )
+                );
+            }
+
+            Tracer.run("CurrencyExchangeRateDAO.updateAll", (span) -> {
+                span.setAttribute("db.rows", changes.unchangedCurrencyExchangeRateEntities().size());
+
+                this.currencyExchangeRateDAO.updateAll(connection, changes.unchangedCurrencyExchangeRateEntities());
+            });
+            Tracer.run("CurrencyExchangeRateArchiveDAO.updateAll", (span) -> {
+                span.setAttribute("db.rows", changes.unchangedCurrencyExchangeRateArchiveEntities().size());
+
+                this.currencyExchangeRateArchiveDAO.updateAll(
+                        connection,
+                        changes.unchangedCurrencyExchangeRateArchiveEntities()
+                );
+            });
+        }
+    }
+
+    /**
+     * Writing the validators into the database, within the transaction of the DTOs of their response (without committing).
+     * @param connection Database connection.
+     * @param scraperValidatorDTOs List of the validators.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required DTO fields is null.
+     */
+    private void write(Connection connection, List<ScraperValidatorDTO> scraperValidatorDTOs)
+            throws SQLException, NullPointerException
+    {
+        if (scraperValidatorDTOs.isEmpty()) {
+            return;
+        }
+
+        Tracer.run("ScraperValidatorDAO.upsertAll", (span) -> {
+            span.setAttribute("db.rows", scraperValidatorDTOs.size());
+
+            this.scraperValidatorService.saveAll(connection, scraperValidatorDTOs);
+        });
+    }
+
+    /**
+     * Keeping the committed validators in the memory of the service of the validators.
+     * @param scraperValidatorDTOs List of the validators.
+     */
+    private void keep(List<ScraperValidatorDTO> scraperValidatorDTOs) {
+        if (!scraperValidatorDTOs.isEmpty()) {
+            this.scraperValidatorService.keepAll(scraperValidatorDTOs);
+        }
+    }
+
+    /**
+     * Getting the validators, that should be saved with the DTOs.
+     * @param scraperValidatorDTO The validators of the response (or null).
+     * @return List of the validators (empty, if there are none, or if the validators aren't saved by the service).
+     */
+    private List<ScraperValidatorDTO> getScraperValidatorDTOs(ScraperValidatorDTO scraperValidatorDTO) {
+        return this.scraperValidatorService != null && scraperValidatorDTO != null
+                ? List.of(scraperValidatorDTO)
+                : List.of();
+    }
+
+    /**
+     * Committing the transaction (the duration of the commit is recorded).
+     * @param connection Database connection.
+     * @throws SQLException If an SQL error occurs.
+     */
+    private void commit(Connection connection) throws SQLException {
+        long startTime = System.nanoTime();
+
+        try {
+            Tracer.run("commit", (span) -> connection.commit());
+        } finally {
+            MetricRegistry.timer(
+                    "currency_exchange_rate_commit_seconds",
+                    "Time spent committing the transactions of the currency exchange rates."
+            ).record(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Recording the duration of the saving.
+     * @param startTime The start time (the System.nanoTime value).
+     * @param method The method: "save" or "saveAll".
+     */
+    private void recordSave(long startTime, String method) {
+        MetricRegistry.timer(
+                "currency_exchange_rate_save_seconds",
+                "Time spent saving the currency exchange rates (including the commit, and the failed saves).",
+                "method",
+                method
+        ).record(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Counting the rows of the committed changes, by the scrapers.
+     * The changed entity gets the new archive entity (created), unless its latest archive entity is the same,
+     * and was extended instead (the extended archive entity keeps the date of creation of the latest one).
+     * @param changes The changes, that were committed.
+     */
+    private void count(Changes changes) {
+        // Counting by the scraper identifiers and the results first (the array is usually of a single scraper).
+        Map<List<Object>, Long> counts = new HashMap<>();
+
+        for (int i = 0; i < changes.changedCurrencyExchangeRateEntities().size(); i++) {
+            CurrencyExchangeRateEntity currencyExchangeRateEntity = changes.changedCurrencyExchangeRateEntities().get(i);
+            boolean created = changes.changedCurrencyExchangeRateArchiveEntities()
+                    .get(i)
+                    .getCreatedAt()
+                    .equals(currencyExchangeRateEntity.getCreatedAt());
+
+            counts.merge(List.of(currencyExchangeRateEntity.getScraperId(), created ? "created" : "updated"), 1L, Long::sum);
+        }
+
+        for (CurrencyExchangeRateEntity currencyExchangeRateEntity : changes.unchangedCurrencyExchangeRateEntities()) {
+            counts.merge(List.of(currencyExchangeRateEntity.getScraperId(), "updated"), 1L, Long::sum);
+        }
+
+        for (CurrencyExchangeRateEntity currencyExchangeRateEntity : changes.skippedCurrencyExchangeRateEntities()) {
+            counts.merge(List.of(currencyExchangeRateEntity.getScraperId(), "unchanged"), 1L, Long::sum);
+        }
+
+        counts.forEach((key, count) -> MetricRegistry.counter(
+                "currency_exchange_rate_rows_total",
+                "Number of the saved currency exchange rates: created - the rate was changed (the new archive row), "
+                        + "updated - the rate was the same (the latest archive row was extended), "
+                        + "unchanged - the rate was the same, and wasn't written at all (skipped by the cache).",
+                "scraper_id",
+                String.valueOf(key.get(0)),
+                "result",
+                (String) key.get(1)
+        ).increment(count));
+    }
+
+    /**
+     * Writing the persisted changes through the cache (if the cache is enabled).
+     * @param changes The changes, that were committed.
+     */
+    private void cache(Changes changes) {
+        if (this.currencyExchangeRateCache == null) {
+            return;
+        }
+
+        for (int i = 0; i < changes.changedCurrencyExchangeRateEntities().size(); i++) {
+            this.currencyExchangeRateCache.put(
+                    changes.changedCurrencyExchangeRateEntities().get(i),
+                    changes.changedCurrencyExchangeRateArchiveEntities().get(i)
+            );
+        }
+
+        for (int i = 0; i < changes.unchangedCurrencyExchangeRateEntities().size(); i++) {
+            this.currencyExchangeRateCache.put(
+                    changes.unchangedCurrencyExchangeRateEntities().get(i),
+                    changes.unchangedCurrencyExchangeRateArchiveEntities().get(i)
+            );
+        }
+    }
+
+    /**
+     * Evicting the changes out of the cache (if the cache is enabled), since the cached states could be
+     * out of sync with the database, after the rollback.
+     * @param changes The changes, that were rolled back.
+     */
+    private void evict(Changes changes) {
+        if (this.currencyExchangeRateCache == null) {
+            return;
+        }
+
+        changes.changedCurrencyExchangeRateEntities().forEach(this.currencyExchangeRateCache::remove);
+        changes.unchangedCurrencyExchangeRateEntities().forEach(this.currencyExchangeRateCache::remove);
+    }
+
+    /**
+     * The changes of the single array of the DTOs.
+     * The archive entities are filled, while the changes are written.
+     * @param changedCurrencyExchangeRateEntities List of the changed (or new) entities.
+     * @param unchangedCurrencyExchangeRateEntities List of the unchanged entities, which heartbeat is due.
+     * @param changedCurrencyExchangeRateArchiveEntities List of the archive entities of the changed entities.
+     * @param unchangedCurrencyExchangeRateArchiveEntities List of the archive entities of the unchanged entities.
+     * @param skippedCurrencyExchangeRateEntities List of the unchanged entities, that are skipped (not written).
+     */
+    private record Changes(
+            List<CurrencyExchangeRateEntity> changedCurrencyExchangeRateEntities,
+            List<CurrencyExchangeRateEntity> unchangedCurrencyExchangeRateEntities,
+            List<CurrencyExchangeRateArchiveEntity> changedCurrencyExchangeRateArchiveEntities,
+            List<CurrencyExchangeRateArchiveEntity> unchangedCurrencyExchangeRateArchiveEntities,
+            List<CurrencyExchangeRateEntity> skippedCurrencyExchangeRateEntities
+    ) {
+        /**
+         * Checking if there is nothing to write.
+         * @return True, if there is nothing to write.
+         */
+        public boolean isEmpty() {
+            return this.changedCurrencyExchangeRateEntities.isEmpty()
+                    && this.unchangedCurrencyExchangeRateEntities.isEmpty();
+        }
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.example.entities.ScraperEntity;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 public class ScraperService {
@@ -52,4 +53,26 @@ public class ScraperService {
             }
         }
     }
+
+    /**
+     * Reading all the DTOs out of the database, within a single query.
+     * @param dataSource Instance of the data source.
+     * @return List of the DTOs from the database.
+     * @throws SQLException If an SQL error occurs.
+     */
+    public List<ScraperDTO> readAll(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try {
+                List<ScraperEntity> scraperEntities = this.scraperDAO.readAll(connection);
+
+                connection.commit();
+
+                return scraperEntities.stream().map(ScraperDTO::new).toList();
+            } catch (SQLException e) {
+                connection.rollback();
+
+                throw e;
+            }
+        }
+    }
 }
\ No newline at end of file
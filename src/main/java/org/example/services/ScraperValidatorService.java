@@ -0,0 +1,190 @@
+package org.example.services;
+
+import org.example.dao.ScraperValidatorDAO;
+import org.example.dto.ScraperValidatorDTO;
+import org.example.entities.ScraperValidatorEntity;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ScraperValidatorService {
+    private final ScraperValidatorDAO scraperValidatorDAO;
+
+    // The validators of the last saved responses, by the scraper ids. They are read on each fetch,
+    // so they are kept in memory, and the database is only written through.
+    private final Map<Integer, ScraperValidatorDTO> scraperValidatorDTOs;
+
+    // How often the unchanged response is still parsed and saved (zero - never).
+    private final Duration refreshInterval;
+
+    /**
+     * Constructor.
+     * @param scraperValidatorDAO Instance of the DAO.
+     */
+    public ScraperValidatorService(ScraperValidatorDAO scraperValidatorDAO) {
+        this(scraperValidatorDAO, Duration.ZERO);
+    }
+
+    /**
+     * Constructor.
+     * @param scraperValidatorDAO Instance of the DAO.
+     * @param refreshInterval How often the unchanged response is still parsed and saved (zero - never).
+     * @throws IllegalArgumentException If the refresh interval is negative.
+     */
+    public ScraperValidatorService(ScraperValidatorDAO scraperValidatorDAO, Duration refreshInterval)
+            throws IllegalArgumentException
+    {
+        if (refreshInterval.isNegative()) {
+            throw new IllegalArgumentException("The refresh interval should not be negative.");
+        }
+
+        this.scraperValidatorDAO = scraperValidatorDAO;
+        this.scraperValidatorDTOs = new ConcurrentHashMap<>();
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Loading all the validators out of the database, within a single query.
+     * @param dataSource Instance of the data source.
+     * @return Number of the loaded validators.
+     * @throws SQLException If an SQL error occurs.
+     */
+    public int load(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try {
+                List<ScraperValidatorEntity> scraperValidatorEntities = this.scraperValidatorDAO.readAll(connection);
+
+                connection.commit();
+
+                for (ScraperValidatorEntity scraperValidatorEntity : scraperValidatorEntities) {
+                    this.scraperValidatorDTOs.put(
+                            scraperValidatorEntity.getScraperId(),
+                            new ScraperValidatorDTO(scraperValidatorEntity)
+                    );
+                }
+
+                return scraperValidatorEntities.size();
+            } catch (SQLException e) {
+                connection.rollback();
+
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Reading the validators of the last saved response of the scraper (out of the memory).
+     * @param scraperId The scraper id.
+     * @return The DTO, or null, if no response of the scraper was saved yet.
+     */
+    public ScraperValidatorDTO read(Integer scraperId) {
+        return this.scraperValidatorDTOs.get(scraperId);
+    }
+
+    /**
+     * Reading the validators, that should be sent with the conditional request of the scraper.
+     * @param scraperId The scraper id.
+     * @return The DTO, or null, if no response of the scraper was saved yet, or if the refresh is due.
+     */
+    public ScraperValidatorDTO readConditional(Integer scraperId) {
+        ScraperValidatorDTO scraperValidatorDTO = this.read(scraperId);
+
+        return scraperValidatorDTO != null && !this.isRefreshDue(scraperValidatorDTO) ? scraperValidatorDTO : null;
+    }
+
+    /**
+     * Checking if the content of the response is the same, as the content of the last saved one
+     * (and the refresh isn't due), so the response could be neither parsed, nor saved.
+     * @param scraperValidatorDTO The validators of the response.
+     * @return True, if the content is unchanged.
+     */
+    public boolean isUnchanged(ScraperValidatorDTO scraperValidatorDTO) {
+        if (scraperValidatorDTO.getContentHash() == null) {
+            return false;
+        }
+
+        ScraperValidatorDTO savedScraperValidatorDTO = this.read(scraperValidatorDTO.getScraperId());
+
+        return savedScraperValidatorDTO != null
+                && scraperValidatorDTO.getContentHash().equals(savedScraperValidatorDTO.getContentHash())
+                && !this.isRefreshDue(savedScraperValidatorDTO);
+    }
+
+    /**
+     * Saving the validators of the saved responses into the database (within a single transaction),
+     * and then into the memory.
+     * @param dataSource Instance of the data source.
+     * @param scraperValidatorDTOs List of the DTOs.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required DTO fields is null.
+     */
+    public void saveAll(DataSource dataSource, List<ScraperValidatorDTO> scraperValidatorDTOs)
+            throws SQLException, NullPointerException
+    {
+        if (scraperValidatorDTOs.isEmpty()) {
+            return;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            try {
+                this.saveAll(connection, scraperValidatorDTOs);
+
+                connection.commit();
+            } catch (SQLException | NullPointerException e) {
+                connection.rollback();
+
+                throw e;
+            }
+        }
+
+        this.keepAll(scraperValidatorDTOs);
+    }
+
+    /**
+     * Saving the validators into the database, within the transaction of the caller
+     * (e.g. the one of the saved currency exchange rates, so the validators never drift apart from them).
+     * The transaction isn't committed, and the validators aren't kept in the memory, until keepAll is called.
+     * @param connection Database connection.
+     * @param scraperValidatorDTOs List of the DTOs.
+     * @throws SQLException If an SQL error occurs.
+     * @throws NullPointerException If one of the required DTO fields is null.
+     */
+    public void saveAll(Connection connection, List<ScraperValidatorDTO> scraperValidatorDTOs)
+            throws SQLException, NullPointerException
+    {
+        if (scraperValidatorDTOs.isEmpty()) {
+            return;
+        }
+
+        this.scraperValidatorDAO.upsertAll(
+                connection,
+                scraperValidatorDTOs.stream().map(ScraperValidatorEntity::new).toList()
+        );
+    }
+
+    /**
+     * Keeping the validators, that were saved and committed, in the memory.
+     * @param scraperValidatorDTOs List of the DTOs.
+     */
+    public void keepAll(List<ScraperValidatorDTO> scraperValidatorDTOs) {
+        for (ScraperValidatorDTO scraperValidatorDTO : scraperValidatorDTOs) {
+            this.scraperValidatorDTOs.put(scraperValidatorDTO.getScraperId(), scraperValidatorDTO);
+        }
+    }
+
+    /**
+     * Checking if the refresh interval has elapsed, since the validators were saved.
+     * @param scraperValidatorDTO The saved validators.
+     * @return True, if the response should be parsed and saved, even if it's unchanged.
+     */
+    private boolean isRefreshDue(ScraperValidatorDTO scraperValidatorDTO) {
+        return !this.refreshInterval.isZero()
+                && !scraperValidatorDTO.getUpdatedAt().plus(this.refreshInterval).isAfter(LocalDateTime.now());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package org.example.tracing;
+
+/**
+ * The scope, within which the span is the current one of the thread (the new spans are started as its children).
+ */
+public class Scope implements AutoCloseable {
+    private final Span span;
+
+    private final Span previousSpan;
+
+    // Whether the span is ended, when the scope is closed.
+    private final boolean end;
+
+    /**
+     * Constructor (the span becomes the current one of the thread right away).
+     * @param span The span.
+     * @param end Whether the span is ended, when the scope is closed.
+     */
+    Scope(Span span, boolean end) {
+        this.span = span;
+        this.previousSpan = Tracer.setCurrent(span);
+        this.end = end;
+    }
+
+    /**
+     * Getting the span of the scope.
+     * @return The span.
+     */
+    public Span span() {
+        return this.span;
+    }
+
+    @Override
+    public void close() {
+        if (this.end) {
+            this.span.end();
+        }
+
+        Tracer.setCurrent(this.previousSpan);
+    }
+}
\ No newline at end of file
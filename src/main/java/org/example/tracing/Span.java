@@ -0,0 +1,203 @@
+package org.example.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The timed operation of the trace (e.g. the run, the scrape of the single scraper, or the single DAO call).
+ * The span could be passed between the threads (e.g. between the stages of the worker), but it's mutated
+ * by a single thread at a time. The span is recorded into the ring buffer of the tracer, once it's ended.
+ */
+public class Span {
+    // The span, that isn't recorded (it's returned, when the tracing is disabled, or when there is no parent span).
+    public final static Span NOOP = new Span(null, null, null, null, 0);
+
+    private final String traceId;
+
+    private final String spanId;
+
+    private final String parentSpanId;
+
+    private final String name;
+
+    private final long startTime;
+
+    private final Map<String, Object> attributes;
+
+    private final AtomicBoolean ended;
+
+    private Kind kind;
+
+    private volatile long endTime;
+
+    private volatile String errorMessage;
+
+    /**
+     * Constructor.
+     * @param traceId Identifier of the trace (32 hex digits), or null, if the span isn't recorded.
+     * @param spanId Identifier of the span (16 hex digits).
+     * @param parentSpanId Identifier of the parent span, or null, if the span is the root one.
+     * @param name Name of the span.
+     * @param startTime Start time, in nanoseconds since the epoch.
+     */
+    Span(String traceId, String spanId, String parentSpanId, String name, long startTime) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.startTime = startTime;
+        this.attributes = traceId != null ? new LinkedHashMap<>() : Collections.emptyMap();
+        this.ended = new AtomicBoolean(traceId == null);
+        this.kind = Kind.INTERNAL;
+    }
+
+    /**
+     * Checking if the span is recorded (so the expensive attributes could be skipped otherwise).
+     * @return True, if the span is recorded.
+     */
+    public boolean isRecording() {
+        return this.traceId != null;
+    }
+
+    /**
+     * Setting the attribute of the span.
+     * @param key Key of the attribute.
+     * @param value Value of the attribute (string, number or boolean).
+     * @return The span.
+     */
+    public Span setAttribute(String key, Object value) {
+        if (this.isRecording() && value != null) {
+            this.attributes.put(key, value);
+        }
+
+        return this;
+    }
+
+    /**
+     * Setting the kind of the span.
+     * @param kind The kind.
+     * @return The span.
+     */
+    public Span setKind(Kind kind) {
+        if (this.isRecording()) {
+            this.kind = kind;
+        }
+
+        return this;
+    }
+
+    /**
+     * Marking the span as failed.
+     * @param e The exception.
+     * @return The span.
+     */
+    public Span setError(Throwable e) {
+        if (this.isRecording()) {
+            this.errorMessage = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+        }
+
+        return this;
+    }
+
+    /**
+     * Making the span the current one of the thread (the span isn't ended, when the scope is closed).
+     * @return The scope, that restores the previous span of the thread, when it's closed.
+     */
+    public Scope makeCurrent() {
+        return new Scope(this, false);
+    }
+
+    /**
+     * Calling the operation, while the span is the current one of the thread (see the makeCurrent method).
+     * Unlike the Tracer.call, neither the span is ended, nor the error is recorded on it (it's left to the owner of the span).
+     * @param operation The operation, that takes the span.
+     * @return The result of the operation.
+     * @param <T> Type of the result.
+     * @param <E> Type of the exception of the operation.
+     * @throws E If the operation was failed.
+     */
+    public <T, E extends Exception> T call(Tracer.Operation<T, E> operation) throws E {
+        try (Scope scope = this.makeCurrent()) {
+            return operation.call(scope.span());
+        }
+    }
+
+    /**
+     * Running the operation without the result, while the span is the current one of the thread (see the call method).
+     * @param operation The operation, that takes the span.
+     * @param <E> Type of the exception of the operation.
+     * @throws E If the operation was failed.
+     */
+    public <E extends Exception> void run(Tracer.VoidOperation<E> operation) throws E {
+        this.call((span) -> {
+            operation.run(span);
+
+            return null;
+        });
+    }
+
+    /**
+     * Ending the span, and recording it (the span is recorded only once, the next calls are ignored).
+     */
+    public void end() {
+        if (this.ended.compareAndSet(false, true)) {
+            this.endTime = Tracer.now();
+
+            Tracer.record(this);
+        }
+    }
+
+    public String getTraceId() {
+        return this.traceId;
+    }
+
+    public String getSpanId() {
+        return this.spanId;
+    }
+
+    public String getParentSpanId() {
+        return this.parentSpanId;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    public long getStartTime() {
+        return this.startTime;
+    }
+
+    public long getEndTime() {
+        return this.endTime;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return this.attributes;
+    }
+
+    public String getErrorMessage() {
+        return this.errorMessage;
+    }
+
+    // Kind of the span, with its OTLP code.
+    public enum Kind {
+        INTERNAL(1),
+        CLIENT(3);
+
+        private final int code;
+
+        Kind(int code) {
+            this.code = code;
+        }
+
+        public int getCode() {
+            return this.code;
+        }
+    }
+}
\ No newline at end of file
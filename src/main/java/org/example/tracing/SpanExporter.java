@@ -0,0 +1,213 @@
+package org.example.tracing;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.Logger;
+import org.example.utils.JsonMapperRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The exporter of the ended spans into the local file, in the OTLP JSON format (as the OpenTelemetry Collector
+ * file exporter writes it): each export appends a single line, that is a trace export request of the drained spans.
+ */
+public class SpanExporter implements Closeable {
+    private final static String SERVICE_NAME = "currency-exchange-rate-scraper";
+
+    private final static String SCOPE_NAME = "org.example";
+
+    private final Logger logger;
+
+    // The buffer of the ended spans, or null, if the spans aren't exported.
+    private SpanRingBuffer spanRingBuffer;
+
+    private ScheduledExecutorService scheduledExecutorService;
+
+    private Path path;
+
+    // Number of the dropped spans, that was already reported.
+    private long reportedDroppedCount;
+
+    /**
+     * Constructor.
+     * @param logger Instance of the logger.
+     */
+    public SpanExporter(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Enabling the tracing, and exporting the ended spans into the file periodically (and on close).
+     * @param path The file (the spans are appended to it).
+     * @param interval How often the spans are exported.
+     * @param capacity Capacity of the buffer of the ended spans (the spans over it, between the exports, are dropped).
+     * @throws IllegalStateException If the spans are already exported.
+     * @throws IllegalArgumentException If the interval, or the capacity is not positive.
+     */
+    public void export(Path path, Duration interval, int capacity) throws IllegalStateException, IllegalArgumentException {
+        if (this.spanRingBuffer != null) {
+            throw new IllegalStateException("The spans are already exported.");
+        }
+
+        if (!interval.isPositive()) {
+            throw new IllegalArgumentException("The export interval should be positive.");
+        }
+
+        this.path = path;
+        this.spanRingBuffer = new SpanRingBuffer(capacity);
+        this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("spans-export").daemon().factory()
+        );
+
+        Tracer.setSpanRingBuffer(this.spanRingBuffer);
+
+        this.scheduledExecutorService.scheduleWithFixedDelay(
+                this::write,
+                interval.toNanos(),
+                interval.toNanos(),
+                TimeUnit.NANOSECONDS
+        );
+    }
+
+    /**
+     * Disabling the tracing, and exporting the rest of the spans.
+     */
+    @Override
+    public void close() {
+        if (this.spanRingBuffer == null) {
+            return;
+        }
+
+        Tracer.setSpanRingBuffer(null);
+
+        this.scheduledExecutorService.shutdownNow();
+
+        try {
+            // Waiting for the running export, so the last one doesn't interleave with it.
+            this.scheduledExecutorService.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.write();
+
+        this.spanRingBuffer = null;
+        this.scheduledExecutorService = null;
+    }
+
+    /**
+     * Draining the buffer, and appending the spans into the file (the errors are logged, and the spans are lost).
+     */
+    private void write() {
+        List<Span> spans = this.spanRingBuffer.drain();
+        long droppedCount = this.spanRingBuffer.getDroppedCount();
+
+        if (droppedCount > this.reportedDroppedCount) {
+            this.logger.warn(
+                    String.format(
+                            "%d spans were dropped, since the span buffer of %d spans was full.",
+                            droppedCount - this.reportedDroppedCount,
+                            this.spanRingBuffer.getCapacity()
+                    )
+            );
+
+            this.reportedDroppedCount = droppedCount;
+        }
+
+        if (spans.isEmpty()) {
+            return;
+        }
+
+        try {
+            Files.writeString(
+                    this.path,
+                    SpanExporter.toJson(spans) + "\n",
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND
+            );
+        } catch (IOException e) {
+            this.logger.warn(String.format("The spans exporting error, %d spans are lost. %s", spans.size(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Converting the spans into the OTLP JSON trace export request.
+     * The 64-bit integers are written as the strings, and the identifiers as the hex strings (as OTLP JSON requires).
+     * @param spans List of the spans.
+     * @return The JSON.
+     */
+    static String toJson(List<Span> spans) {
+        ObjectNode request = JsonMapperRegistry.getObjectMapper().createObjectNode();
+        ObjectNode resourceSpans = request.putArray("resourceSpans").addObject();
+
+        SpanExporter.putAttributes(
+                resourceSpans.putObject("resource"),
+                Map.<String, Object>of("service.name", SpanExporter.SERVICE_NAME)
+        );
+
+        ObjectNode scopeSpans = resourceSpans.putArray("scopeSpans").addObject();
+
+        scopeSpans.putObject("scope").put("name", SpanExporter.SCOPE_NAME);
+
+        ArrayNode spanNodes = scopeSpans.putArray("spans");
+
+        for (Span span : spans) {
+            ObjectNode spanNode = spanNodes.addObject();
+
+            spanNode.put("traceId", span.getTraceId());
+            spanNode.put("spanId", span.getSpanId());
+
+            if (span.getParentSpanId() != null) {
+                spanNode.put("parentSpanId", span.getParentSpanId());
+            }
+
+            spanNode.put("name", span.getName());
+            spanNode.put("kind", span.getKind().getCode());
+            spanNode.put("startTimeUnixNano", String.valueOf(span.getStartTime()));
+            spanNode.put("endTimeUnixNano", String.valueOf(span.getEndTime()));
+
+            SpanExporter.putAttributes(spanNode, span.getAttributes());
+
+            // The status is left unset for the successful spans.
+            if (span.getErrorMessage() != null) {
+                spanNode.putObject("status").put("code", 2).put("message", span.getErrorMessage());
+            }
+        }
+
+        return request.toString();
+    }
+
+    /**
+     * Putting the attributes into the node, as the OTLP key-values.
+     * @param node The node.
+     * @param attributes Map of the attributes.
+     */
+    private static void putAttributes(ObjectNode node, Map<String, Object> attributes) {
+        ArrayNode attributeNodes = node.putArray("attributes");
+
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            ObjectNode attributeNode = attributeNodes.addObject();
+            ObjectNode valueNode = attributeNode.put("key", attribute.getKey()).putObject("value");
+
+            switch (attribute.getValue()) {
+                case Boolean value -> valueNode.put("boolValue", value);
+                case Integer value -> valueNode.put("intValue", String.valueOf(value));
+                case Long value -> valueNode.put("intValue", String.valueOf(value));
+                case Number value -> valueNode.put("doubleValue", value.doubleValue());
+                default -> valueNode.put("stringValue", String.valueOf(attribute.getValue()));
+            }
+        }
+    }
+}
\ No newline at end of file
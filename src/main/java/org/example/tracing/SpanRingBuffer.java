@@ -0,0 +1,89 @@
+package org.example.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The bounded lock-free buffer of the ended spans (many writers, a single reader).
+ * The writers never wait: when the buffer is full, the oldest span of the slot is overwritten (and counted as dropped),
+ * so the tracing never slows the scrapes down, even if the exporter falls behind.
+ */
+public class SpanRingBuffer {
+    private final AtomicReferenceArray<Span> slots;
+
+    private final int mask;
+
+    // Sequence of the next slot to write (the writers claim the slots in turn).
+    private final AtomicLong sequence;
+
+    private final LongAdder droppedCounter;
+
+    /**
+     * Constructor.
+     * @param capacity Capacity of the buffer (rounded up to the power of two).
+     * @throws IllegalArgumentException If the capacity is not positive, or too large.
+     */
+    public SpanRingBuffer(int capacity) throws IllegalArgumentException {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity of the span buffer should be from 1 to 2^30.");
+        }
+
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.sequence = new AtomicLong();
+        this.droppedCounter = new LongAdder();
+    }
+
+    /**
+     * Putting the span into the buffer.
+     * @param span The span.
+     */
+    public void offer(Span span) {
+        int index = (int) (this.sequence.getAndIncrement() & this.mask);
+
+        if (this.slots.getAndSet(index, span) != null) {
+            this.droppedCounter.increment();
+        }
+    }
+
+    /**
+     * Taking all the spans out of the buffer.
+     * The slots are swapped one by one, so the writers are never blocked by the reader
+     * (the span, that is written during the drain, is taken by this drain, or by the next one).
+     * @return List of the spans.
+     */
+    public List<Span> drain() {
+        List<Span> spans = new ArrayList<>();
+
+        for (int i = 0; i < this.slots.length(); i++) {
+            Span span = this.slots.getAndSet(i, null);
+
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+
+        return spans;
+    }
+
+    /**
+     * Getting the capacity of the buffer.
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return this.slots.length();
+    }
+
+    /**
+     * Getting the number of the spans, that were overwritten before they were drained.
+     * @return The number of the dropped spans.
+     */
+    public long getDroppedCount() {
+        return this.droppedCounter.sum();
+    }
+}
\ No newline at end of file
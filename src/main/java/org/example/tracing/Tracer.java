@@ -0,0 +1,199 @@
+package org.example.tracing;
+
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class Tracer {
+    // Current span of each thread (the new spans of the thread are started as its children).
+    private final static ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+
+    // The epoch time, that corresponds to the base of the monotonic clock (so the spans are timed by the latter).
+    private final static long epochNanos;
+
+    private final static long baseNanos;
+
+    static {
+        Instant instant = Instant.now();
+
+        baseNanos = System.nanoTime();
+        epochNanos = instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    // The buffer of the ended spans, or null, if the tracing is disabled.
+    private static volatile SpanRingBuffer spanRingBuffer;
+
+    private Tracer() {
+        //
+    }
+
+    /**
+     * Starting the root span of the new trace (the span isn't made current).
+     * @param name Name of the span.
+     * @return The span, or the no-op span, if the tracing is disabled.
+     */
+    public static Span startTrace(String name) {
+        if (Tracer.spanRingBuffer == null) {
+            return Span.NOOP;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return new Span(
+                HexFormat.of().toHexDigits(random.nextLong()) + HexFormat.of().toHexDigits(random.nextLong()),
+                Tracer.newSpanId(),
+                null,
+                name,
+                Tracer.now()
+        );
+    }
+
+    /**
+     * Starting the child span of the provided parent (the span isn't made current).
+     * @param name Name of the span.
+     * @param parent The parent span.
+     * @return The span, or the no-op span, if the parent isn't recorded, or if the tracing is disabled.
+     */
+    public static Span startSpan(String name, Span parent) {
+        if (Tracer.spanRingBuffer == null || !parent.isRecording()) {
+            return Span.NOOP;
+        }
+
+        return new Span(parent.getTraceId(), Tracer.newSpanId(), parent.getSpanId(), name, Tracer.now());
+    }
+
+    /**
+     * Starting the child span of the current span of the thread, and making it current, until the scope is closed.
+     * The span is ended, when the scope is closed.
+     * @param name Name of the span.
+     * @return The scope of the span (the span is the no-op one, if there is no current span).
+     */
+    public static Scope open(String name) {
+        return new Scope(Tracer.startSpan(name, Tracer.current()), true);
+    }
+
+    /**
+     * Calling the operation within the scope of the new span (see the open method).
+     * The exception (or the error), that is thrown by the operation, is recorded on the span, and is rethrown.
+     * @param name Name of the span.
+     * @param operation The operation, that takes the span.
+     * @return The result of the operation.
+     * @param <T> Type of the result.
+     * @param <E> Type of the exception of the operation.
+     * @throws E If the operation was failed.
+     */
+    public static <T, E extends Exception> T call(String name, Operation<T, E> operation) throws E {
+        try (Scope scope = Tracer.open(name)) {
+            try {
+                return operation.call(scope.span());
+            } catch (Throwable e) {
+                scope.span().setError(e);
+
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Running the operation without the result within the scope of the new span (see the call method).
+     * @param name Name of the span.
+     * @param operation The operation, that takes the span.
+     * @param <E> Type of the exception of the operation.
+     * @throws E If the operation was failed.
+     */
+    public static <E extends Exception> void run(String name, VoidOperation<E> operation) throws E {
+        Tracer.call(name, (span) -> {
+            operation.run(span);
+
+            return null;
+        });
+    }
+
+    /**
+     * Getting the current span of the thread.
+     * @return The current span, or the no-op span, if there is none.
+     */
+    public static Span current() {
+        Span span = Tracer.currentSpan.get();
+
+        return span != null ? span : Span.NOOP;
+    }
+
+    /**
+     * Enabling the tracing, with the provided buffer of the ended spans (null - disabling the tracing).
+     * @param spanRingBuffer The buffer of the ended spans.
+     */
+    public static void setSpanRingBuffer(SpanRingBuffer spanRingBuffer) {
+        Tracer.spanRingBuffer = spanRingBuffer;
+    }
+
+    /**
+     * Getting the current time, in nanoseconds since the epoch (by the monotonic clock).
+     * @return The current time.
+     */
+    static long now() {
+        return Tracer.epochNanos + (System.nanoTime() - Tracer.baseNanos);
+    }
+
+    /**
+     * Recording the ended span (it's dropped, if the tracing was disabled since the span was started).
+     * @param span The span.
+     */
+    static void record(Span span) {
+        SpanRingBuffer spanRingBuffer = Tracer.spanRingBuffer;
+
+        if (spanRingBuffer != null) {
+            spanRingBuffer.offer(span);
+        }
+    }
+
+    /**
+     * Setting the current span of the thread.
+     * @param span The span (the no-op one, or null, clears the current span).
+     * @return The previous current span of the thread (or null, if there was none).
+     */
+    static Span setCurrent(Span span) {
+        Span previousSpan = Tracer.currentSpan.get();
+
+        if (span == null || !span.isRecording()) {
+            Tracer.currentSpan.remove();
+        } else {
+            Tracer.currentSpan.set(span);
+        }
+
+        return previousSpan;
+    }
+
+    /**
+     * Generating the identifier of the span (16 hex digits, never all zeros).
+     * @return The identifier.
+     */
+    private static String newSpanId() {
+        long id;
+
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+
+        return HexFormat.of().toHexDigits(id);
+    }
+
+    /**
+     * The operation, that is called within the scope of the span.
+     * @param <T> Type of the result.
+     * @param <E> Type of the exception.
+     */
+    @FunctionalInterface
+    public interface Operation<T, E extends Exception> {
+        T call(Span span) throws E;
+    }
+
+    /**
+     * The operation without the result, that is run within the scope of the span.
+     * @param <E> Type of the exception.
+     */
+    @FunctionalInterface
+    public interface VoidOperation<E extends Exception> {
+        void run(Span span) throws E;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package org.example.utils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class CharsetDetector {
+    // Number of the leading bytes of the body, that are sniffed for the byte order mark and the meta tag.
+    public final static int HEAD_LENGTH = 1024;
+
+    private final static Pattern CONTENT_TYPE_PATTERN = Pattern.compile(
+            "charset\\s*=\\s*[\"']?([\\w.:-]+)",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private final static Pattern META_PATTERN = Pattern.compile(
+            "<meta[^>]+charset\\s*=\\s*[\"']?([\\w.:-]+)",
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private CharsetDetector() {
+        //
+    }
+
+    /**
+     * Detecting the charset of the body, in the order of the precedence:
+     * the charset parameter of the content type, the byte order mark, and the meta tag of the markup.
+     * @param contentType Value of the content type header, or null, if it's missing.
+     * @param head The leading bytes of the body (only the first HEAD_LENGTH bytes are sniffed).
+     * @param length Number of the leading bytes, that were read into the head.
+     * @return The detected charset, or UTF-8, if the charset wasn't detected (or isn't supported).
+     */
+    public static Charset detect(String contentType, byte[] head, int length) {
+        Charset charset = contentType != null
+                ? CharsetDetector.find(CharsetDetector.CONTENT_TYPE_PATTERN, contentType)
+                : null;
+
+        if (charset != null) {
+            return charset;
+        }
+
+        length = Math.min(length, Math.min(head.length, CharsetDetector.HEAD_LENGTH));
+
+        if (length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+
+        if (length >= 2 && (head[0] & 0xFF) == 0xFE && (head[1] & 0xFF) == 0xFF) {
+            return StandardCharsets.UTF_16BE;
+        }
+
+        if (length >= 2 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xFE) {
+            return StandardCharsets.UTF_16LE;
+        }
+
+        // The meta tag is ASCII in all the charsets, that could be declared by it.
+        charset = CharsetDetector.find(
+                CharsetDetector.META_PATTERN,
+                new String(head, 0, length, StandardCharsets.ISO_8859_1)
+        );
+
+        return charset != null ? charset : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Finding the supported charset, that is named by the first group of the pattern.
+     * @param pattern The pattern.
+     * @param text The text to search in.
+     * @return The charset, or null, if it wasn't found, or isn't supported.
+     */
+    private static Charset find(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+
+        if (!matcher.find()) {
+            return null;
+        }
+
+        try {
+            return Charset.forName(matcher.group(1));
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
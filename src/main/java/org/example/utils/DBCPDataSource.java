@@ -3,6 +3,7 @@ package org.example.utils;
 import org.apache.commons.dbcp2.BasicDataSource;
 
 import java.io.IOException;
+import java.util.Objects;
 
 public class DBCPDataSource {
     private static BasicDataSource dataSource;
@@ -38,6 +39,11 @@ public class DBCPDataSource {
             DBCPDataSource.dataSource.setUsername(Config.getProperty("database.username"));
             DBCPDataSource.dataSource.setPassword(Config.getProperty("database.password"));
             DBCPDataSource.dataSource.setDefaultAutoCommit(false);
+
+            // Rewriting the batched inserts into the multi-row ones (supported by PostgreSQL driver only).
+            if (Objects.requireNonNullElse(DBCPDataSource.dataSource.getUrl(), "").startsWith("jdbc:postgresql:")) {
+                DBCPDataSource.dataSource.addConnectionProperty("reWriteBatchedInserts", String.valueOf(true));
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+package org.example.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public class HtmlFragmentReader {
+    private HtmlFragmentReader() {
+        //
+    }
+
+    /**
+     * Reading the markup of the element (including the element itself), that has the provided attribute value.
+     * The markup is read as a stream: the markup before the element is discarded, and the reading is stopped,
+     * as soon as the element is closed (so the rest of the document is neither read, nor parsed).
+     * The content of the comments, the scripts and the styles is not treated as the markup.
+     * @param reader Reader of the document.
+     * @param tagName Tag name of the element (e.g. "table").
+     * @param attributeName Attribute name of the element (e.g. "id").
+     * @param attributeValue Attribute value of the element.
+     * @return The markup of the element, or null, if the element wasn't found.
+     *         If the element isn't closed until the end of the document, then the markup until the end is returned.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static String read(Reader reader, String tagName, String attributeName, String attributeValue)
+            throws IOException
+    {
+        Pattern attributePattern = Pattern.compile(
+                String.format(
+                        "\\s%s\\s*=\\s*(\"%2$s\"|'%2$s'|%2$s(?=[\\s/>]))",
+                        Pattern.quote(attributeName),
+                        Pattern.quote(attributeValue)
+                ),
+                Pattern.CASE_INSENSITIVE
+        );
+
+        String lowerCaseTagName = tagName.toLowerCase(Locale.ROOT);
+
+        StringBuilder fragment = null;
+        int depth = 0;
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            if (c != '<') {
+                if (fragment != null) {
+                    fragment.append((char) c);
+                }
+
+                continue;
+            }
+
+            String markup = HtmlFragmentReader.readMarkup(reader);
+            String name = HtmlFragmentReader.getTagName(markup);
+            boolean closing = markup.startsWith("</");
+            boolean selfClosing = markup.endsWith("/>");
+
+            if (fragment == null) {
+                // Searching for the start tag of the element.
+                if (name.equals(lowerCaseTagName) && !closing && attributePattern.matcher(markup).find()) {
+                    if (selfClosing) {
+                        return markup;
+                    }
+
+                    fragment = new StringBuilder(markup);
+                    depth = 1;
+                }
+            } else {
+                fragment.append(markup);
+
+                // Counting the nested elements with the same tag name, until the element is closed.
+                if (name.equals(lowerCaseTagName)) {
+                    if (closing && --depth == 0) {
+                        return fragment.toString();
+                    } else if (!closing && !selfClosing) {
+                        ++depth;
+                    }
+                }
+            }
+
+            // Skipping the content of the script and the style, that could contain "<".
+            if (!closing && !selfClosing && (name.equals("script") || name.equals("style"))) {
+                String rawText = HtmlFragmentReader.readUntil(reader, "</" + name);
+
+                if (fragment != null) {
+                    fragment.append(rawText);
+                }
+            }
+        }
+
+        return fragment != null ? fragment.toString() : null;
+    }
+
+    /**
+     * Reading the markup (the tag, the comment, or the declaration), after the "<" was read.
+     * If "<" isn't followed by the tag (e.g. "a < b"), then only the following character is read.
+     * @param reader Reader of the document.
+     * @return The markup, starting from "<".
+     * @throws IOException If an I/O error occurs.
+     */
+    private static String readMarkup(Reader reader) throws IOException {
+        int c = reader.read();
+
+        if (c == -1) {
+            return "<";
+        }
+
+        if (!Character.isLetter(c) && c != '/' && c != '!' && c != '?') {
+            return "<" + (char) c;
+        }
+
+        StringBuilder markup = new StringBuilder("<").append((char) c);
+
+        // Comments could contain ">", so they are read until "-->".
+        if (c == '!') {
+            c = reader.read();
+
+            if (c == -1) {
+                return markup.toString();
+            }
+
+            markup.append((char) c);
+
+            if (c == '>') {
+                return markup.toString();
+            }
+
+            if (c == '-') {
+                c = reader.read();
+
+                if (c == -1) {
+                    return markup.toString();
+                }
+
+                markup.append((char) c);
+
+                if (c == '-') {
+                    return markup.append(HtmlFragmentReader.readUntil(reader, "-->")).toString();
+                }
+
+                if (c == '>') {
+                    return markup.toString();
+                }
+            }
+        }
+
+        // Reading the tag until ">" (the quoted attribute values could contain ">").
+        int quote = 0;
+
+        while ((c = reader.read()) != -1) {
+            markup.append((char) c);
+
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                break;
+            }
+        }
+
+        return markup.toString();
+    }
+
+    /**
+     * Reading the characters, until the provided (case-insensitive) terminator is read, and then until ">".
+     * @param reader Reader of the document.
+     * @param terminator The terminator (e.g. "-->", or "</script").
+     * @return The read characters, including the terminator.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static String readUntil(Reader reader, String terminator) throws IOException {
+        StringBuilder text = new StringBuilder();
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            text.append((char) c);
+
+            if (
+                    text.length() >= terminator.length()
+                            && text.substring(text.length() - terminator.length()).equalsIgnoreCase(terminator)
+            ) {
+                break;
+            }
+        }
+
+        // Reading the rest of the closing tag (e.g. "</script >").
+        if (!terminator.endsWith(">")) {
+            while (c != -1 && c != '>') {
+                c = reader.read();
+
+                if (c != -1) {
+                    text.append((char) c);
+                }
+            }
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Getting the lower case tag name of the markup.
+     * @param markup The markup, starting from "<".
+     * @return The tag name, or the empty string, if the markup isn't the tag.
+     */
+    private static String getTagName(String markup) {
+        int start = markup.startsWith("</") ? 2 : 1;
+        int end = start;
+
+        while (
+                end < markup.length()
+                        && (Character.isLetterOrDigit(markup.charAt(end)) || markup.charAt(end) == '-')
+        ) {
+            ++end;
+        }
+
+        return markup.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package org.example.utils;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HttpClientRegistry {
+    // Map of the shared HTTP clients, by their policy.
+    private final static Map<Policy, HttpClient> httpClients = new ConcurrentHashMap<>();
+
+    // Number of the HTTP clients, that was created.
+    private final static AtomicLong createdCounter = new AtomicLong();
+
+    // Number of times, when already created HTTP client was reused.
+    private final static AtomicLong reusedCounter = new AtomicLong();
+
+    private HttpClientRegistry() {
+        //
+    }
+
+    /**
+     * Getting the shared instance of the HTTP client, for the provided policy.
+     * The HTTP client is created only once, for each policy, and keeps its connections alive between the requests.
+     * @param redirect Redirect policy.
+     * @param connectTimeout Connect timeout.
+     * @param version Preferred HTTP version.
+     * @return Shared instance of the HTTP client.
+     * @throws NullPointerException If one of the provided policy values is null.
+     */
+    public static HttpClient getHttpClient(HttpClient.Redirect redirect, Duration connectTimeout, HttpClient.Version version)
+            throws NullPointerException
+    {
+        Policy policy = new Policy(redirect, connectTimeout, version);
+
+        HttpClient httpClient = HttpClientRegistry.httpClients.get(policy);
+
+        if (httpClient != null) {
+            HttpClientRegistry.reusedCounter.incrementAndGet();
+
+            return httpClient;
+        }
+
+        return HttpClientRegistry.httpClients.computeIfAbsent(policy, (key) -> {
+            HttpClientRegistry.createdCounter.incrementAndGet();
+
+            return HttpClient.newBuilder()
+                    .followRedirects(key.redirect())
+                    .connectTimeout(key.connectTimeout())
+                    .version(key.version())
+                    .build();
+        });
+    }
+
+    /**
+     * Setting for how long idle connections are kept alive, by all HTTP clients.
+     * Should be called before the first HTTP client is created, otherwise it will not take effect.
+     * @param keepAliveTimeout Keep alive timeout.
+     */
+    public static void setKeepAliveTimeout(Duration keepAliveTimeout) {
+        System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(keepAliveTimeout.toSeconds()));
+    }
+
+    /**
+     * Getting the number of the HTTP clients, that was created.
+     * @return The number of the HTTP clients, that was created.
+     */
+    public static long getCreatedCount() {
+        return HttpClientRegistry.createdCounter.get();
+    }
+
+    /**
+     * Getting the number of times, when already created HTTP client (and its pooled connections) was reused.
+     * @return The number of times, when already created HTTP client was reused.
+     */
+    public static long getReusedCount() {
+        return HttpClientRegistry.reusedCounter.get();
+    }
+
+    /**
+     * Closing all the HTTP clients, and resetting the counters.
+     */
+    public static void close() {
+        HttpClientRegistry.httpClients.values().forEach(HttpClient::close);
+        HttpClientRegistry.httpClients.clear();
+
+        HttpClientRegistry.createdCounter.set(0);
+        HttpClientRegistry.reusedCounter.set(0);
+    }
+
+    // The policy, that is used as the key of the shared HTTP client.
+    private record Policy(HttpClient.Redirect redirect, Duration connectTimeout, HttpClient.Version version) {
+        private Policy {
+            Objects.requireNonNull(redirect);
+            Objects.requireNonNull(connectTimeout);
+            Objects.requireNonNull(version);
+        }
+    }
+}
\ No newline at end of file
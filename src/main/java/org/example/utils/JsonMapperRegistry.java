@@ -0,0 +1,33 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JsonMapperRegistry {
+    // The mapper is thread-safe, once it is configured, so the single instance is shared by all the scrapers
+    // (the creation of the mapper is expensive, and each instance keeps its own caches of the serializers).
+    private final static ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private JsonMapperRegistry() {
+        //
+    }
+
+    /**
+     * Getting the shared instance of the object mapper.
+     * The mapper must not be reconfigured, after it was got.
+     * @return Shared instance of the object mapper.
+     */
+    public static ObjectMapper getObjectMapper() {
+        return JsonMapperRegistry.objectMapper;
+    }
+
+    /**
+     * Getting the factory of the shared object mapper, to create the streaming parsers.
+     * @return Shared instance of the JSON factory.
+     */
+    public static JsonFactory getJsonFactory() {
+        return JsonMapperRegistry.objectMapper.getFactory();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,215 @@
+package org.example.utils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+public class Schedule {
+    // The maximum number of years, the next run time is searched in.
+    private final static int MAX_YEARS_TO_SEARCH = 5;
+
+    private final String expression;
+
+    // Fixed rate, or null if the schedule is the cron expression.
+    private final Duration rate;
+
+    // Allowed minutes, hours, days of the month, months and days of the week (for the cron expression).
+    private final BitSet minutes;
+
+    private final BitSet hours;
+
+    private final BitSet daysOfMonth;
+
+    private final BitSet months;
+
+    private final BitSet daysOfWeek;
+
+    // Whether the days of the month and the days of the week are restricted (for the cron expression).
+    private final boolean daysOfMonthRestricted;
+
+    private final boolean daysOfWeekRestricted;
+
+    /**
+     * Constructor.
+     * @param expression Fixed rate, as ISO-8601 duration (e.g. "PT5M"),
+     *        or five fields cron expression (e.g. "0 8-20 * * 1-5").
+     * @throws IllegalArgumentException If the expression is empty, or is not valid.
+     * @throws NullPointerException If the expression is null.
+     */
+    public Schedule(String expression) throws IllegalArgumentException, NullPointerException {
+        this.expression = expression.trim();
+
+        if (this.expression.isEmpty()) {
+            throw new IllegalArgumentException("The schedule expression is empty.");
+        }
+
+        if (this.expression.startsWith("P") || this.expression.startsWith("p")) {
+            try {
+                this.rate = Duration.parse(this.expression);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(
+                        String.format("\"%s\" schedule expression is invalid.", this.expression),
+                        e
+                );
+            }
+
+            if (this.rate.isNegative() || this.rate.isZero()) {
+                throw new IllegalArgumentException(
+                        String.format("\"%s\" schedule rate should be positive.", this.expression)
+                );
+            }
+
+            this.minutes = null;
+            this.hours = null;
+            this.daysOfMonth = null;
+            this.months = null;
+            this.daysOfWeek = null;
+            this.daysOfMonthRestricted = false;
+            this.daysOfWeekRestricted = false;
+
+            return;
+        }
+
+        String[] fields = this.expression.split("\\s+");
+
+        if (fields.length != 5) {
+            throw new IllegalArgumentException(
+                    String.format("\"%s\" cron expression should contain exactly five fields.", this.expression)
+            );
+        }
+
+        this.rate = null;
+        this.minutes = this.parseField(fields[0], 0, 59);
+        this.hours = this.parseField(fields[1], 0, 23);
+        this.daysOfMonth = this.parseField(fields[2], 1, 31);
+        this.months = this.parseField(fields[3], 1, 12);
+        this.daysOfWeek = this.parseField(fields[4], 0, 7);
+        // The day field, that starts with the asterisk (e.g. "*/2"), isn't restricted (as in the Vixie cron),
+        // so it's matched together with the other day field, rather than either of them.
+        this.daysOfMonthRestricted = !fields[2].startsWith("*");
+        this.daysOfWeekRestricted = !fields[4].startsWith("*");
+
+        // Sunday could be written as 0, or as 7.
+        if (this.daysOfWeek.get(7)) {
+            this.daysOfWeek.set(0);
+        }
+    }
+
+    /**
+     * Getting the next run time, strictly after the provided time.
+     * @param after The time, after which the next run time is searched.
+     * @return The next run time.
+     * @throws IllegalStateException If the cron expression never matches (e.g. "0 0 31 2 *").
+     */
+    public LocalDateTime next(LocalDateTime after) throws IllegalStateException {
+        if (this.rate != null) {
+            return after.plus(this.rate);
+        }
+
+        LocalDateTime next = after.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        LocalDateTime limit = after.plusYears(Schedule.MAX_YEARS_TO_SEARCH);
+
+        while (next.isBefore(limit)) {
+            if (!this.months.get(next.getMonthValue())) {
+                next = next.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).plusMonths(1);
+            } else if (!this.matchesDay(next)) {
+                next = next.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            } else if (!this.hours.get(next.getHour())) {
+                next = next.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            } else if (!this.minutes.get(next.getMinute())) {
+                next = next.plusMinutes(1);
+            } else {
+                return next;
+            }
+        }
+
+        throw new IllegalStateException(
+                String.format("\"%s\" cron expression never matches.", this.expression)
+        );
+    }
+
+    /**
+     * Getting the schedule expression.
+     * @return The schedule expression.
+     */
+    public String getExpression() {
+        return this.expression;
+    }
+
+    @Override
+    public String toString() {
+        return this.expression;
+    }
+
+    /**
+     * Checking if the day of the provided time matches the cron expression.
+     * If both, the days of the month and the days of the week are restricted, then one of them should match.
+     * @param time The time to check.
+     * @return True, if the day matches the cron expression.
+     */
+    private boolean matchesDay(LocalDateTime time) {
+        boolean dayOfMonthMatches = this.daysOfMonth.get(time.getDayOfMonth());
+        boolean dayOfWeekMatches = this.daysOfWeek.get(time.getDayOfWeek().getValue() % 7);
+
+        if (this.daysOfMonthRestricted && this.daysOfWeekRestricted) {
+            return dayOfMonthMatches || dayOfWeekMatches;
+        }
+
+        return dayOfMonthMatches && dayOfWeekMatches;
+    }
+
+    /**
+     * Parsing the cron expression field (supports "*", values, ranges, lists and steps).
+     * @param field The cron expression field.
+     * @param min The minimum allowed value.
+     * @param max The maximum allowed value.
+     * @return Set of the allowed values.
+     * @throws IllegalArgumentException If the field is not valid.
+     */
+    private BitSet parseField(String field, int min, int max) throws IllegalArgumentException {
+        BitSet values = new BitSet(max + 1);
+
+        for (String part : field.split(",")) {
+            try {
+                int step = 1;
+                int slashIndex = part.indexOf('/');
+
+                if (slashIndex >= 0) {
+                    step = Integer.parseInt(part.substring(slashIndex + 1));
+                    part = part.substring(0, slashIndex);
+                }
+
+                int from;
+                int to;
+
+                if (part.equals("*")) {
+                    from = min;
+                    to = max;
+                } else if (part.indexOf('-') > 0) {
+                    from = Integer.parseInt(part.substring(0, part.indexOf('-')));
+                    to = Integer.parseInt(part.substring(part.indexOf('-') + 1));
+                } else {
+                    from = Integer.parseInt(part);
+                    to = slashIndex >= 0 ? max : from;
+                }
+
+                if (from < min || to > max || from > to || step < 1) {
+                    throw new IllegalArgumentException();
+                }
+
+                for (int value = from; value <= to; value += step) {
+                    values.set(value);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        String.format("\"%s\" cron expression field is invalid.", field),
+                        e
+                );
+            }
+        }
+
+        return values;
+    }
+}
\ No newline at end of file
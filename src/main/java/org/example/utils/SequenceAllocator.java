@@ -0,0 +1,111 @@
+package org.example.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class SequenceAllocator {
+    private final String sequenceName;
+
+    private final int blockSize;
+
+    // The next unused identifier of the current block, and the end (exclusive) of the current block.
+    private long next;
+
+    private long limit;
+
+    // Guards the current block. The lock (unlike the monitor) doesn't pin the virtual thread, while the block is reserved.
+    private final Lock lock;
+
+    /**
+     * Constructor.
+     * Each value of the sequence reserves the block of the identifiers, starting from that value,
+     * so the sequence should be incremented by the same size as the block.
+     * @param sequenceName Name of the database sequence.
+     * @param blockSize Number of the identifiers, reserved by a single value of the sequence.
+     * @throws IllegalArgumentException If the block size is not positive.
+     */
+    public SequenceAllocator(String sequenceName, int blockSize) throws IllegalArgumentException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The block size should be positive.");
+        }
+
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+        this.next = 0;
+        this.limit = 0;
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * Allocating the unique identifiers.
+     * The identifiers are taken from the current block, and the missing blocks are reserved using a single statement.
+     * @param connection Database connection.
+     * @param count Number of the identifiers.
+     * @return List of the unique identifiers.
+     * @throws SQLException If an SQL error occurs.
+     */
+    public List<Long> allocate(Connection connection, int count) throws SQLException {
+        this.lock.lock();
+
+        try {
+            return this.allocateLocked(connection, count);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Allocating the unique identifiers, while the lock is held.
+     * @param connection Database connection.
+     * @param count Number of the identifiers.
+     * @return List of the unique identifiers.
+     * @throws SQLException If an SQL error occurs.
+     */
+    private List<Long> allocateLocked(Connection connection, int count) throws SQLException {
+        List<Long> ids = new ArrayList<>(count);
+
+        // Taking the identifiers from the current block.
+        while (ids.size() < count && this.next < this.limit) {
+            ids.add(this.next++);
+        }
+
+        if (ids.size() == count) {
+            return ids;
+        }
+
+        // Reserving the missing blocks.
+        int numberOfBlocks = (count - ids.size() + this.blockSize - 1) / this.blockSize;
+
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("""
+                        SELECT NEXTVAL('%s') AS id
+                        FROM GENERATE_SERIES(1, ?);
+                """.formatted(this.sequenceName))
+        ) {
+            preparedStatement.setInt(1, numberOfBlocks);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    this.next = resultSet.getLong("id");
+                    this.limit = this.next + this.blockSize;
+
+                    while (ids.size() < count && this.next < this.limit) {
+                        ids.add(this.next++);
+                    }
+                }
+            }
+        }
+
+        if (ids.size() != count) {
+            throw new SQLException("The entity id creation error.");
+        }
+
+        return ids;
+    }
+}
\ No newline at end of file
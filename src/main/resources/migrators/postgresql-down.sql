@@ -1,11 +1,13 @@
+DROP TABLE IF EXISTS currency_exchange_rates_archive;
+
 DROP SEQUENCE IF EXISTS currency_exchange_rates_archive_sequence;
 
-DROP TABLE IF EXISTS currency_exchange_rates_archive;
+DROP TABLE IF EXISTS currency_exchange_rates;
 
 DROP SEQUENCE IF EXISTS currency_exchange_rates_sequence;
 
-DROP TABLE IF EXISTS currency_exchange_rates;
+DROP TABLE IF EXISTS scraper_validators;
 
-DROP SEQUENCE IF EXISTS scrapers_sequence;
+DROP TABLE IF EXISTS scrapers;
 
-DROP TABLE IF EXISTS scrapers;
\ No newline at end of file
+DROP SEQUENCE IF EXISTS scrapers_sequence;
\ No newline at end of file
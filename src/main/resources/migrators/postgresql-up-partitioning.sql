@@ -0,0 +1,54 @@
+-- Converting the archive into the table, that is partitioned by the month of creation (if it is not partitioned already).
+-- Partitions are created for the months of the existing rows, the future partitions are created by the partitioner.
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    IF EXISTS (
+        SELECT 1
+        FROM pg_partitioned_table pt
+        INNER JOIN pg_class c ON (
+            c.oid = pt.partrelid
+        )
+        WHERE c.relname = 'currency_exchange_rates_archive'
+    ) THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE currency_exchange_rates_archive RENAME TO currency_exchange_rates_archive_heap;
+    ALTER TABLE currency_exchange_rates_archive_heap
+        RENAME CONSTRAINT currency_exchange_rates_archive_pkey TO currency_exchange_rates_archive_heap_pkey;
+    ALTER INDEX currency_exchange_rates_archive_index RENAME TO currency_exchange_rates_archive_heap_index;
+
+    -- The primary key of the partitioned table should include the partition key.
+    CREATE TABLE currency_exchange_rates_archive (
+        LIKE currency_exchange_rates_archive_heap INCLUDING DEFAULTS,
+        PRIMARY KEY (id, created_at),
+        FOREIGN KEY (currency_exchange_rate_id) REFERENCES currency_exchange_rates (id) ON DELETE CASCADE
+    ) PARTITION BY RANGE (created_at);
+
+    CREATE INDEX currency_exchange_rates_archive_index ON currency_exchange_rates_archive (
+        currency_exchange_rate_id,
+        updated_at DESC
+    );
+
+    FOR month IN
+        SELECT DISTINCT DATE_TRUNC('month', created_at)::DATE
+        FROM currency_exchange_rates_archive_heap
+    LOOP
+        EXECUTE FORMAT(
+            'CREATE TABLE %I PARTITION OF currency_exchange_rates_archive FOR VALUES FROM (%L) TO (%L)',
+            'currency_exchange_rates_archive_p' || TO_CHAR(month, 'YYYYMM'),
+            month,
+            (month + INTERVAL '1 month')::DATE
+        );
+    END LOOP;
+
+    INSERT INTO currency_exchange_rates_archive
+    SELECT * FROM currency_exchange_rates_archive_heap;
+
+    DROP TABLE currency_exchange_rates_archive_heap;
+END $$;
+
+-- The rows outside the created partitions (e.g. if the rollover didn't run in time) are kept in the default partition.
+CREATE TABLE IF NOT EXISTS currency_exchange_rates_archive_default PARTITION OF currency_exchange_rates_archive DEFAULT;
\ No newline at end of file
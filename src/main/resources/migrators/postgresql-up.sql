@@ -3,6 +3,7 @@ CREATE TABLE IF NOT EXISTS scrapers (
     class_name CHARACTER VARYING(255) NOT NULL,
     name_en CHARACTER VARYING(255) NOT NULL,
     name_uk CHARACTER VARYING(255) NOT NULL,
+    schedule CHARACTER VARYING(255),
     created_at TIMESTAMP(6) NOT NULL,
     updated_at TIMESTAMP(6) NOT NULL,
     PRIMARY KEY (id)
@@ -12,8 +13,10 @@ CREATE UNIQUE INDEX IF NOT EXISTS scrapers_index ON scrapers (class_name);
 
 CREATE SEQUENCE IF NOT EXISTS scrapers_sequence AS INTEGER INCREMENT BY 1 MINVALUE 1 START WITH 1;
 
+CREATE SEQUENCE IF NOT EXISTS currency_exchange_rates_sequence AS INTEGER INCREMENT BY 1 MINVALUE 1 START WITH 1;
+
 CREATE TABLE IF NOT EXISTS currency_exchange_rates (
-	id INTEGER,
+	id INTEGER DEFAULT NEXTVAL('currency_exchange_rates_sequence'),
 	scraper_id INTEGER NOT NULL,
 	unit INTEGER NOT NULL,
 	unit_currency_code CHARACTER(3) NOT NULL,
@@ -22,6 +25,8 @@ CREATE TABLE IF NOT EXISTS currency_exchange_rates (
 	sale_rate DOUBLE PRECISION NOT NULL,
 	created_at TIMESTAMP(6) NOT NULL,
 	updated_at TIMESTAMP(6) NOT NULL,
+	archive_id BIGINT,
+	archive_created_at TIMESTAMP(6),
 	PRIMARY KEY (id),
     FOREIGN KEY (scraper_id) REFERENCES scrapers (id) ON DELETE CASCADE
 );
@@ -32,10 +37,11 @@ CREATE UNIQUE INDEX IF NOT EXISTS currency_exchange_rates_index ON currency_exch
     rate_currency_code
 );
 
-CREATE SEQUENCE IF NOT EXISTS currency_exchange_rates_sequence AS INTEGER INCREMENT BY 1 MINVALUE 1 START WITH 1;
+-- Each value of the archive sequence reserves the block of 50 identifiers (is used by the batch inserts).
+CREATE SEQUENCE IF NOT EXISTS currency_exchange_rates_archive_sequence AS BIGINT INCREMENT BY 50 MINVALUE 1 START WITH 1;
 
 CREATE TABLE IF NOT EXISTS currency_exchange_rates_archive (
-	id BIGINT,
+	id BIGINT DEFAULT NEXTVAL('currency_exchange_rates_archive_sequence'),
 	currency_exchange_rate_id INTEGER NOT NULL,
 	unit INTEGER NOT NULL,
 	buy_rate DOUBLE PRECISION NOT NULL,
@@ -46,4 +52,54 @@ CREATE TABLE IF NOT EXISTS currency_exchange_rates_archive (
     FOREIGN KEY (currency_exchange_rate_id) REFERENCES currency_exchange_rates (id) ON DELETE CASCADE
 );
 
-CREATE SEQUENCE IF NOT EXISTS currency_exchange_rates_archive_sequence AS BIGINT INCREMENT BY 1 MINVALUE 1 START WITH 1;
\ No newline at end of file
+-- The latest archive entity of the currency exchange rate is read by this index (without scanning the archive).
+CREATE INDEX IF NOT EXISTS currency_exchange_rates_archive_index ON currency_exchange_rates_archive (
+    currency_exchange_rate_id,
+    updated_at DESC
+);
+
+-- The cache validators of the last successfully saved response of each scraper (for the conditional requests).
+CREATE TABLE IF NOT EXISTS scraper_validators (
+    scraper_id INTEGER,
+    etag CHARACTER VARYING(1024),
+    last_modified CHARACTER VARYING(255),
+    content_hash CHARACTER(64),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (scraper_id),
+    FOREIGN KEY (scraper_id) REFERENCES scrapers (id) ON DELETE CASCADE
+);
+
+-- Upgrading the existing tables and sequences.
+ALTER TABLE currency_exchange_rates ALTER COLUMN id SET DEFAULT NEXTVAL('currency_exchange_rates_sequence');
+
+ALTER SEQUENCE currency_exchange_rates_archive_sequence INCREMENT BY 50;
+
+ALTER TABLE currency_exchange_rates_archive ALTER COLUMN id SET DEFAULT NEXTVAL('currency_exchange_rates_archive_sequence');
+
+-- The identifier of the current (latest) archive entity of the currency exchange rate.
+-- It is maintained by the archive DAO, within the same transaction (without foreign key, to avoid the cyclic reference).
+ALTER TABLE currency_exchange_rates ADD COLUMN IF NOT EXISTS archive_id BIGINT;
+
+UPDATE currency_exchange_rates
+SET archive_id = (
+    SELECT cera.id
+    FROM currency_exchange_rates_archive cera
+    WHERE cera.currency_exchange_rate_id = currency_exchange_rates.id
+    ORDER BY cera.updated_at DESC, cera.id DESC
+    LIMIT 1
+)
+WHERE archive_id IS NULL;
+
+-- The date of creation of the current archive entity (the partition key of the archive, so the head is read from
+-- a single partition, and the partitions, that hold the heads, are known without scanning them).
+ALTER TABLE currency_exchange_rates ADD COLUMN IF NOT EXISTS archive_created_at TIMESTAMP(6);
+
+UPDATE currency_exchange_rates
+SET archive_created_at = (
+    SELECT cera.created_at
+    FROM currency_exchange_rates_archive cera
+    WHERE cera.id = currency_exchange_rates.archive_id
+)
+WHERE archive_id IS NOT NULL
+	AND archive_created_at IS NULL;
\ No newline at end of file
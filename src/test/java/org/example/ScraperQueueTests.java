@@ -0,0 +1,85 @@
+package org.example;
+
+import org.example.scrapers.NBUScraper;
+import org.example.scrapers.PrivatBankAtBranchesScraper;
+import org.example.scrapers.Scraper;
+import org.example.scrapers.UkrSibBankAtBranchesScraper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScraperQueueTests {
+    @Test
+    public void pollTest() {
+        ScraperQueue scraperQueue = new ScraperQueue(
+                List.of(UkrSibBankAtBranchesScraper.class, PrivatBankAtBranchesScraper.class, NBUScraper.class),
+                Map.of(NBUScraper.class, 0, PrivatBankAtBranchesScraper.class, 1),
+                2
+        );
+
+        // The scraper classes should be polled by the priority (the scraper class without the priority is last).
+        ScraperQueue.Entry entry = scraperQueue.poll();
+
+        assertEquals(NBUScraper.class, entry.scraperClass());
+        assertEquals(1, entry.attempt());
+
+        // The failed scraper class should be retried after the first attempts of all the others.
+        assertTrue(scraperQueue.retry(entry));
+
+        assertEquals(PrivatBankAtBranchesScraper.class, scraperQueue.poll().scraperClass());
+        assertEquals(UkrSibBankAtBranchesScraper.class, scraperQueue.poll().scraperClass());
+
+        entry = scraperQueue.poll();
+
+        assertEquals(NBUScraper.class, entry.scraperClass());
+        assertEquals(2, entry.attempt());
+
+        // There are no attempts left.
+        assertFalse(scraperQueue.retry(entry));
+        assertTrue(scraperQueue.isEmpty());
+        assertNull(scraperQueue.poll());
+    }
+
+    @Test
+    public void pollConcurrentlyTest() {
+        int numberOfEntries = 10000;
+
+        List<Class<? extends Scraper>> scraperClasses = new ArrayList<>();
+
+        IntStream.range(0, numberOfEntries).forEach((i) -> scraperClasses.add(NBUScraper.class));
+
+        ScraperQueue scraperQueue = new ScraperQueue(scraperClasses, Map.of(), 1);
+
+        Set<Long> orders = ConcurrentHashMap.newKeySet();
+
+        // Polling the queue by many threads at once.
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                executorService.submit(() -> {
+                    ScraperQueue.Entry entry;
+
+                    while ((entry = scraperQueue.poll()) != null) {
+                        assertTrue(orders.add(entry.order()));
+                    }
+                });
+            }
+        }
+
+        // Each entry should be polled exactly once.
+        assertEquals(numberOfEntries, orders.size());
+    }
+
+    @Test
+    public void constructorThrowsIllegalArgumentExceptionTest() {
+        assertThrows(IllegalArgumentException.class, () -> new ScraperQueue(List.of(), Map.of(), 0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,343 @@
+package org.example;
+
+import org.apache.logging.log4j.Logger;
+import org.example.dto.CurrencyExchangeRateDTO;
+import org.example.scrapers.NBUScraper;
+import org.example.scrapers.PrivatBankAtBranchesScraper;
+import org.example.scrapers.Scraper;
+import org.example.scrapers.UkrSibBankAtBranchesScraper;
+import org.example.dto.ScraperDTO;
+import org.example.services.CurrencyExchangeRateService;
+import org.example.services.ScraperValidatorService;
+import org.example.tracing.Span;
+import org.example.tracing.SpanRingBuffer;
+import org.example.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkerTests {
+    private final static List<Class<? extends Scraper>> scraperClasses = List.of(
+            NBUScraper.class,
+            PrivatBankAtBranchesScraper.class,
+            UkrSibBankAtBranchesScraper.class
+    );
+
+    private ScraperRegistry scraperRegistry;
+
+    private CurrencyExchangeRateService currencyExchangeRateService;
+
+    private ScraperValidatorService scraperValidatorService;
+
+    private Map<Class<? extends Scraper>, Scraper> scrapers;
+
+    private final Scraper.Body body = Scraper.Body.of("response");
+
+    @BeforeEach
+    public void init() throws Exception {
+        this.scraperRegistry = Mockito.mock(ScraperRegistry.class);
+        this.currencyExchangeRateService = Mockito.mock(CurrencyExchangeRateService.class);
+        this.scraperValidatorService = Mockito.mock(ScraperValidatorService.class);
+        this.scrapers = Map.of(
+                NBUScraper.class, Mockito.mock(NBUScraper.class),
+                PrivatBankAtBranchesScraper.class, Mockito.mock(PrivatBankAtBranchesScraper.class),
+                UkrSibBankAtBranchesScraper.class, Mockito.mock(UkrSibBankAtBranchesScraper.class)
+        );
+
+        for (Map.Entry<Class<? extends Scraper>, Scraper> entry : this.scrapers.entrySet()) {
+            Mockito.doReturn(entry.getValue()).when(this.scraperRegistry).getScraper(entry.getKey());
+            Mockito.doReturn(new ScraperDTO(WorkerTests.scraperClasses.indexOf(entry.getKey()) + 1, entry.getKey(), "", ""))
+                    .when(this.scraperRegistry).getScraperDTO(entry.getKey());
+            Mockito.doReturn(this.body).when(entry.getValue()).fetch(Mockito.any());
+            Mockito.doAnswer((invocation) -> invocation.getArgument(0)).when(entry.getValue()).extract(Mockito.any());
+            Mockito.doReturn(new CurrencyExchangeRateDTO[0]).when(entry.getValue()).parse(this.body);
+        }
+    }
+
+    @Test
+    public void runTest() throws Exception {
+        CountDownLatch fetchLatch = new CountDownLatch(WorkerTests.scraperClasses.size());
+
+        // Each fetch waits for all the others, so the fetches only pass, if they are running concurrently.
+        for (Scraper scraper : this.scrapers.values()) {
+            Mockito.doAnswer((invocation) -> {
+                fetchLatch.countDown();
+
+                return fetchLatch.await(10, TimeUnit.SECONDS) ? this.body : null;
+            }).when(scraper).fetch(Mockito.any());
+        }
+
+        Task task = this.newTask(1);
+
+        new Worker(WorkerTests.scraperClasses.size(), 1, 1, 1, 1, Duration.ZERO).run(task, Mockito.mock(Logger.class));
+
+        // All the scrapers should be fetched, parsed and saved.
+        assertTrue(task.isDone());
+        assertEquals(WorkerTests.scraperClasses.size(), task.getSuccessCount());
+        assertEquals(0, task.getFailureCount());
+
+        Mockito.verify(this.currencyExchangeRateService, Mockito.times(WorkerTests.scraperClasses.size()))
+                .save(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void runTracedTest() throws Exception {
+        SpanRingBuffer spanRingBuffer = new SpanRingBuffer(1024);
+
+        // The first fetch is failed, and the second one is succeeded.
+        Mockito.doThrow(new Exception("Fetch error.")).doReturn(this.body)
+                .when(this.scrapers.get(NBUScraper.class)).fetch(Mockito.any());
+
+        Tracer.setSpanRingBuffer(spanRingBuffer);
+
+        try {
+            new Worker(1, 1, 1, 1, 1, Duration.ZERO).run(this.newTask(2), Mockito.mock(Logger.class));
+        } finally {
+            Tracer.setSpanRingBuffer(null);
+        }
+
+        List<Span> spans = spanRingBuffer.drain();
+        List<Span> runSpans = spans.stream().filter((span) -> span.getName().equals("run")).toList();
+        List<Span> scrapeSpans = spans.stream().filter((span) -> span.getName().equals("scrape")).toList();
+
+        // The run is the root span of the trace, and each attempt of the scraper is its child.
+        assertEquals(1, runSpans.size());
+        assertNull(runSpans.getFirst().getParentSpanId());
+        assertEquals(WorkerTests.scraperClasses.size(), runSpans.getFirst().getAttributes().get("success"));
+        assertEquals(WorkerTests.scraperClasses.size() + 1, scrapeSpans.size());
+        assertEquals(0, spanRingBuffer.getDroppedCount());
+
+        for (Span span : spans) {
+            assertEquals(runSpans.getFirst().getTraceId(), span.getTraceId());
+            assertTrue(span.getEndTime() >= span.getStartTime());
+        }
+
+        for (Span scrapeSpan : scrapeSpans) {
+            assertEquals(runSpans.getFirst().getSpanId(), scrapeSpan.getParentSpanId());
+        }
+
+        // The failed attempt is marked, and the stages of the other attempts are their children.
+        Span failedSpan = scrapeSpans.stream()
+                .filter((span) -> span.getErrorMessage() != null)
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals("Fetch error.", failedSpan.getErrorMessage());
+        assertEquals("retry", failedSpan.getAttributes().get("result"));
+        assertEquals(NBUScraper.class.getName(), failedSpan.getAttributes().get("scraper"));
+
+        for (String name : List.of("fetch", "extract", "parse")) {
+            List<Span> stageSpans = spans.stream().filter((span) -> span.getName().equals(name)).toList();
+
+            assertEquals(name.equals("fetch") ? scrapeSpans.size() : WorkerTests.scraperClasses.size(), stageSpans.size());
+
+            for (Span stageSpan : stageSpans) {
+                assertTrue(scrapeSpans.stream().anyMatch((span) -> span.getSpanId().equals(stageSpan.getParentSpanId())));
+            }
+        }
+    }
+
+    @Test
+    public void runRetriesTest() throws Exception {
+        // The first fetch is failed, and the second one is succeeded.
+        Mockito.doThrow(new Exception("Fetch error.")).doReturn(this.body)
+                .when(this.scrapers.get(NBUScraper.class)).fetch(Mockito.any());
+
+        // The parsing is always failed.
+        Mockito.doThrow(new Exception("Parse error."))
+                .when(this.scrapers.get(PrivatBankAtBranchesScraper.class)).parse(this.body);
+
+        Task task = this.newTask(2);
+
+        new Worker(2, 2, 2, 1, 1, Duration.ZERO).run(task, Mockito.mock(Logger.class));
+
+        assertTrue(task.isDone());
+        assertEquals(2, task.getSuccessCount());
+        assertEquals(1, task.getFailureCount());
+        assertEquals(2, task.getRetryCount());
+
+        Mockito.verify(this.scrapers.get(NBUScraper.class), Mockito.times(2)).fetch(Mockito.any());
+        Mockito.verify(this.scrapers.get(PrivatBankAtBranchesScraper.class), Mockito.times(2)).parse(this.body);
+        Mockito.verify(this.currencyExchangeRateService, Mockito.times(2)).save(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void runErrorTest() throws Exception {
+        // The fetching and the parsing throw the recoverable errors (e.g. the stack overflow on a hostile page),
+        // and the exception without the message.
+        Mockito.doThrow(new NullPointerException()).doReturn(this.body)
+                .when(this.scrapers.get(NBUScraper.class)).fetch(Mockito.any());
+        Mockito.doThrow(new StackOverflowError("Parse error."))
+                .when(this.scrapers.get(PrivatBankAtBranchesScraper.class)).parse(this.body);
+
+        Task task = this.newTask(2);
+
+        // The errors are handled as the failures of the attempts, so the stages keep running, until the task is done.
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(10),
+                () -> new Worker(1, 1, 1, 1, 1, Duration.ZERO).run(task, Mockito.mock(Logger.class))
+        );
+
+        assertTrue(task.isDone());
+        assertEquals(2, task.getSuccessCount());
+        assertEquals(1, task.getFailureCount());
+        assertEquals(2, task.getRetryCount());
+
+        Mockito.verify(this.currencyExchangeRateService, Mockito.times(2)).save(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void runFatalErrorTest() throws Exception {
+        // The out of memory error isn't recoverable, so it isn't handled as the failure of the attempt.
+        Mockito.doThrow(new OutOfMemoryError("Fetch error.")).when(this.scrapers.get(NBUScraper.class)).fetch(Mockito.any());
+
+        Task task = this.newTask(2);
+
+        // The error stops the stage, and the other stages with it (rather than the worker hangs).
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(10),
+                () -> new Worker(1, 1, 1, 1, 1, Duration.ZERO).run(task, Mockito.mock(Logger.class))
+        );
+
+        assertFalse(task.isDone());
+        assertEquals(0, task.getFailureCount());
+        assertEquals(0, task.getRetryCount());
+    }
+
+    @Test
+    public void runInterruptedTest() throws Exception {
+        // The fetch is interrupted (e.g. on shutdown), instead of being failed.
+        for (Scraper scraper : this.scrapers.values()) {
+            Mockito.doThrow(new InterruptedException()).when(scraper).fetch(Mockito.any());
+        }
+
+        Task task = this.newTask(2);
+
+        // The worker is stopped, instead of retrying the interrupted attempt, or waiting for the stopped stage.
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(10),
+                () -> new Worker(1, 1, 1, 1, 1, Duration.ZERO).run(task, Mockito.mock(Logger.class))
+        );
+
+        assertFalse(task.isDone());
+        assertEquals(0, task.getFailureCount());
+        assertEquals(0, task.getRetryCount());
+
+        Mockito.verify(this.currencyExchangeRateService, Mockito.never()).save(Mockito.any(), Mockito.any(), Mockito.any());
+
+        int fetchCount = 0;
+
+        for (Scraper scraper : this.scrapers.values()) {
+            fetchCount += Mockito.mockingDetails(scraper).getInvocations().stream()
+                    .filter((invocation) -> invocation.getMethod().getName().equals("fetch"))
+                    .count();
+        }
+
+        // Only the first attempt is made, the other scraper classes are left in the queue.
+        assertEquals(1, fetchCount);
+    }
+
+    @Test
+    public void runBatchedTest() throws Exception {
+        // The first scraper fails within its savepoint, the others are saved.
+        Mockito.doAnswer((invocation) -> {
+            List<Exception> exceptions = new ArrayList<>(Collections.nCopies(invocation.<List<?>>getArgument(1).size(), null));
+
+            exceptions.set(0, new Exception("Save error."));
+
+            return exceptions;
+        }).when(this.currencyExchangeRateService).saveAll(Mockito.any(), Mockito.anyList(), Mockito.anyList());
+
+        Task task = this.newTask(1);
+
+        // All the scrapers are parsed within the window, so they are saved within a single transaction.
+        new Worker(
+                WorkerTests.scraperClasses.size(),
+                1,
+                1,
+                WorkerTests.scraperClasses.size(),
+                WorkerTests.scraperClasses.size(),
+                Duration.ofSeconds(10)
+        ).run(task, Mockito.mock(Logger.class));
+
+        assertTrue(task.isDone());
+        assertEquals(WorkerTests.scraperClasses.size() - 1, task.getSuccessCount());
+        assertEquals(1, task.getFailureCount());
+
+        Mockito.verify(this.currencyExchangeRateService, Mockito.times(1)).saveAll(Mockito.any(), Mockito.anyList(), Mockito.anyList());
+        Mockito.verify(this.currencyExchangeRateService, Mockito.never()).save(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void runNotModifiedTest() throws Exception {
+        Scraper.Body notModifiedBody = Scraper.Body.notModified("\"etag\"", null);
+
+        // The response of the first scraper wasn't modified, since it was saved.
+        Mockito.doReturn(notModifiedBody).when(this.scrapers.get(NBUScraper.class)).fetch(Mockito.any());
+
+        Task task = this.newTask(1);
+
+        new Worker(1, 1, 1, 1, 1, Duration.ZERO).run(task, Mockito.mock(Logger.class));
+
+        assertTrue(task.isDone());
+        assertEquals(WorkerTests.scraperClasses.size() - 1, task.getSuccessCount());
+        assertEquals(1, task.getUnchangedCount());
+        assertEquals(0, task.getFailureCount());
+
+        // The unchanged response is neither parsed, nor saved.
+        Mockito.verify(this.scrapers.get(NBUScraper.class), Mockito.never()).parse(Mockito.any(Scraper.Body.class));
+        // The validators are saved within the transactions of the DTOs.
+        Mockito.verify(this.currencyExchangeRateService, Mockito.times(WorkerTests.scraperClasses.size() - 1))
+                .save(Mockito.any(), Mockito.any(), Mockito.notNull());
+        Mockito.verify(this.scraperValidatorService, Mockito.never()).saveAll(Mockito.any(DataSource.class), Mockito.anyList());
+    }
+
+    @Test
+    public void runContentUnchangedTest() throws Exception {
+        // The content of all the responses is the same, as the content of the last saved ones.
+        Mockito.doReturn(true).when(this.scraperValidatorService).isUnchanged(Mockito.any());
+
+        Task task = this.newTask(1);
+
+        new Worker(1, 1, 1, 1, 1, Duration.ZERO).run(task, Mockito.mock(Logger.class));
+
+        assertTrue(task.isDone());
+        assertEquals(0, task.getSuccessCount());
+        assertEquals(WorkerTests.scraperClasses.size(), task.getUnchangedCount());
+
+        for (Scraper scraper : this.scrapers.values()) {
+            Mockito.verify(scraper, Mockito.never()).parse(Mockito.any(Scraper.Body.class));
+        }
+
+        Mockito.verify(this.currencyExchangeRateService, Mockito.never()).save(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void constructorThrowsIllegalArgumentExceptionTest() {
+        assertThrows(IllegalArgumentException.class, () -> new Worker(1, 1, 1, 0, 1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new Worker(0, 1, 1, 1, 1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new Worker(1, 1, 1, 1, 1, Duration.ofSeconds(-1)));
+    }
+
+    private Task newTask(int maxAttempts) {
+        return new Task(
+                null,
+                new ScraperQueue(WorkerTests.scraperClasses, Map.of(), maxAttempts),
+                this.scraperRegistry,
+                this.currencyExchangeRateService,
+                this.scraperValidatorService,
+                Mockito.mock(Logger.class)
+        );
+    }
+}
\ No newline at end of file
@@ -12,6 +12,7 @@ import org.example.utils.Config;
 import org.example.utils.DBCPDataSource;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
@@ -22,6 +23,8 @@ import java.net.URISyntaxException;
 import java.net.http.HttpRequest;
 import java.sql.*;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -182,6 +185,93 @@ public class PostgreSQLCurrencyExchangeRateArchiveDAOTests {
         }
     }
 
+    @Test
+    public void readIndexTest() throws Exception {
+        List<String> columns = new ArrayList<>();
+
+        // Getting the columns of the index, that the latest archive entity is read by.
+        try (
+                ResultSet resultSet = PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection.getMetaData().getIndexInfo(
+                        null,
+                        null,
+                        "currency_exchange_rates_archive",
+                        false,
+                        false
+                )
+        ) {
+            while (resultSet.next()) {
+                if ("currency_exchange_rates_archive_index".equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) {
+                    columns.add(
+                            String.format(
+                                    "%s %s",
+                                    resultSet.getString("COLUMN_NAME").toLowerCase(),
+                                    resultSet.getString("ASC_OR_DESC")
+                            )
+                    );
+                }
+            }
+        }
+
+        // Checking that the index covers the lookup by the currency exchange rate identifier, ordered by the date of update.
+        assertEquals(List.of("currency_exchange_rate_id A", "updated_at D"), columns);
+    }
+
+    @Test
+    public void readPlanTest() throws Exception {
+        // The plan is checked only against PostgreSQL (e.g. -Dtest.postgresql.url=jdbc:postgresql://localhost/test),
+        // because H2 plans the lookup by its own index of the foreign key.
+        String url = System.getProperty("test.postgresql.url", "");
+
+        Assumptions.assumeFalse(url.isEmpty(), "PostgreSQL isn't configured.");
+
+        try (
+                Connection connection = DriverManager.getConnection(
+                        url,
+                        System.getProperty("test.postgresql.username", ""),
+                        System.getProperty("test.postgresql.password", "")
+                )
+        ) {
+            connection.setAutoCommit(false);
+
+            try {
+                // Creating the tables within the transaction, that is rolled back (the DDL is transactional in PostgreSQL).
+                PostgreSQLCurrencyExchangeRateArchiveDAOTests.migrator.up(connection);
+
+                StringBuilder plan = new StringBuilder();
+
+                try (Statement statement = connection.createStatement()) {
+                    // The tables are empty, so the sequential scan is disabled (it's used, only if there is no index).
+                    statement.execute("SET LOCAL enable_seqscan = off;");
+
+                    try (
+                            ResultSet resultSet = statement.executeQuery("""
+                                    EXPLAIN SELECT id,
+                                    	unit,
+                                    	buy_rate,
+                                    	sale_rate,
+                                    	created_at,
+                                    	updated_at
+                                    FROM currency_exchange_rates_archive
+                                    WHERE currency_exchange_rate_id = 1
+                                    ORDER BY updated_at DESC
+                                    LIMIT 1;
+                            """)
+                    ) {
+                        while (resultSet.next()) {
+                            plan.append(resultSet.getString(1)).append('\n');
+                        }
+                    }
+                }
+
+                // Checking that the lookup doesn't regress to the sequential scan of the archive.
+                assertTrue(plan.toString().contains("currency_exchange_rates_archive_index"), plan.toString());
+                assertFalse(plan.toString().contains("Seq Scan"), plan.toString());
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
     @Test
     public void updateTest() throws Exception {
         CurrencyExchangeRateArchiveEntity originalCurrencyExchangeRateArchiveEntity =
@@ -232,6 +322,182 @@ public class PostgreSQLCurrencyExchangeRateArchiveDAOTests {
         }
     }
 
+    @Test
+    public void createAllTest() throws Exception {
+        CurrencyExchangeRateEntity currencyExchangeRateEntity = this.getCurrencyExchangeRateEntity();
+
+        CurrencyExchangeRateArchiveEntity firstCurrencyExchangeRateArchiveEntity =
+                new CurrencyExchangeRateArchiveEntity(currencyExchangeRateEntity);
+        CurrencyExchangeRateArchiveEntity secondCurrencyExchangeRateArchiveEntity = new CurrencyExchangeRateArchiveEntity(
+                null,
+                currencyExchangeRateEntity.getId(),
+                currencyExchangeRateEntity.getUnit(),
+                currencyExchangeRateEntity.getBuyRate() * 2,
+                currencyExchangeRateEntity.getSaleRate() * 2,
+                currencyExchangeRateEntity.getCreatedAt().plusSeconds(1),
+                currencyExchangeRateEntity.getUpdatedAt().plusSeconds(1)
+        );
+
+        try {
+            // Creating the entities.
+            PostgreSQLCurrencyExchangeRateArchiveDAOTests.currencyExchangeRateArchiveDAO.createAll(
+                    PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection,
+                    List.of(firstCurrencyExchangeRateArchiveEntity, secondCurrencyExchangeRateArchiveEntity)
+            );
+
+            // Checking that all the entities was created.
+            for (
+                    CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity
+                    : List.of(firstCurrencyExchangeRateArchiveEntity, secondCurrencyExchangeRateArchiveEntity)
+            ) {
+                assertNotNull(currencyExchangeRateArchiveEntity.getId());
+
+                Optional<CurrencyExchangeRateArchiveEntity> optionalCurrencyExchangeRateArchiveEntity = this.read(
+                        PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection,
+                        currencyExchangeRateArchiveEntity.getId()
+                );
+
+                assertTrue(optionalCurrencyExchangeRateArchiveEntity.isPresent());
+                assertEquals(currencyExchangeRateArchiveEntity, optionalCurrencyExchangeRateArchiveEntity.get());
+            }
+
+            // Checking that only the latest entity is read, for the currency exchange rate.
+            assertEquals(
+                    List.of(secondCurrencyExchangeRateArchiveEntity),
+                    PostgreSQLCurrencyExchangeRateArchiveDAOTests.currencyExchangeRateArchiveDAO.readAll(
+                            PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection,
+                            List.of(new CurrencyExchangeRateArchiveEntity(currencyExchangeRateEntity))
+                    )
+            );
+
+            PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection.rollback();
+
+            throw e;
+        }
+    }
+
+    @Test
+    public void archiveAllHeadTest() throws Exception {
+        CurrencyExchangeRateEntity currencyExchangeRateEntity = this.getCurrencyExchangeRateEntity();
+
+        CurrencyExchangeRateArchiveEntity firstCurrencyExchangeRateArchiveEntity =
+                new CurrencyExchangeRateArchiveEntity(currencyExchangeRateEntity);
+        CurrencyExchangeRateArchiveEntity secondCurrencyExchangeRateArchiveEntity = new CurrencyExchangeRateArchiveEntity(
+                null,
+                currencyExchangeRateEntity.getId(),
+                currencyExchangeRateEntity.getUnit(),
+                currencyExchangeRateEntity.getBuyRate() * 2,
+                currencyExchangeRateEntity.getSaleRate(),
+                currencyExchangeRateEntity.getCreatedAt().plusSeconds(1),
+                currencyExchangeRateEntity.getUpdatedAt().plusSeconds(1)
+        );
+
+        try {
+            // Archiving the entity, and then the entity with the changed values.
+            PostgreSQLCurrencyExchangeRateArchiveDAOTests.currencyExchangeRateArchiveDAO.archiveAll(
+                    PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection,
+                    List.of(firstCurrencyExchangeRateArchiveEntity)
+            );
+
+            assertEquals(firstCurrencyExchangeRateArchiveEntity.getId(), this.readHead(currencyExchangeRateEntity.getId()));
+
+            PostgreSQLCurrencyExchangeRateArchiveDAOTests.currencyExchangeRateArchiveDAO.archiveAll(
+                    PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection,
+                    List.of(secondCurrencyExchangeRateArchiveEntity)
+            );
+
+            // Checking that the head of the archive was moved to the new entity.
+            assertNotEquals(firstCurrencyExchangeRateArchiveEntity.getId(), secondCurrencyExchangeRateArchiveEntity.getId());
+            assertEquals(secondCurrencyExchangeRateArchiveEntity.getId(), this.readHead(currencyExchangeRateEntity.getId()));
+
+            PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection.rollback();
+
+            throw e;
+        }
+    }
+
+    @Test
+    public void archiveAllTest() throws Exception {
+        CurrencyExchangeRateArchiveEntity originalCurrencyExchangeRateArchiveEntity =
+                new CurrencyExchangeRateArchiveEntity(this.getCurrencyExchangeRateEntity());
+
+        try {
+            // Creating the entity.
+            this.create(PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection, originalCurrencyExchangeRateArchiveEntity);
+
+            // The entity with the same values, but created later.
+            CurrencyExchangeRateArchiveEntity extendedCurrencyExchangeRateArchiveEntity = new CurrencyExchangeRateArchiveEntity(
+                    null,
+                    originalCurrencyExchangeRateArchiveEntity.getCurrencyExchangeRateId(),
+                    originalCurrencyExchangeRateArchiveEntity.getUnit(),
+                    originalCurrencyExchangeRateArchiveEntity.getBuyRate(),
+                    originalCurrencyExchangeRateArchiveEntity.getSaleRate(),
+                    originalCurrencyExchangeRateArchiveEntity.getCreatedAt().plusSeconds(1),
+                    originalCurrencyExchangeRateArchiveEntity.getUpdatedAt().plusSeconds(1)
+            );
+
+            // Archiving the entity.
+            PostgreSQLCurrencyExchangeRateArchiveDAOTests.currencyExchangeRateArchiveDAO.archiveAll(
+                    PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection,
+                    List.of(extendedCurrencyExchangeRateArchiveEntity)
+            );
+
+            // Checking that the original entity was extended (and synced with the archived one).
+            assertEquals(originalCurrencyExchangeRateArchiveEntity.getId(), extendedCurrencyExchangeRateArchiveEntity.getId());
+            assertEquals(
+                    originalCurrencyExchangeRateArchiveEntity.getCreatedAt(),
+                    extendedCurrencyExchangeRateArchiveEntity.getCreatedAt()
+            );
+
+            Optional<CurrencyExchangeRateArchiveEntity> optionalExtendedCurrencyExchangeRateArchiveEntity = this.read(
+                    PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection,
+                    extendedCurrencyExchangeRateArchiveEntity.getId()
+            );
+
+            assertTrue(optionalExtendedCurrencyExchangeRateArchiveEntity.isPresent());
+            assertEquals(extendedCurrencyExchangeRateArchiveEntity, optionalExtendedCurrencyExchangeRateArchiveEntity.get());
+
+            // The entity with the changed values.
+            CurrencyExchangeRateArchiveEntity createdCurrencyExchangeRateArchiveEntity = new CurrencyExchangeRateArchiveEntity(
+                    null,
+                    originalCurrencyExchangeRateArchiveEntity.getCurrencyExchangeRateId(),
+                    originalCurrencyExchangeRateArchiveEntity.getUnit(),
+                    originalCurrencyExchangeRateArchiveEntity.getBuyRate() * 2,
+                    originalCurrencyExchangeRateArchiveEntity.getSaleRate(),
+                    originalCurrencyExchangeRateArchiveEntity.getCreatedAt().plusSeconds(2),
+                    originalCurrencyExchangeRateArchiveEntity.getUpdatedAt().plusSeconds(2)
+            );
+
+            // Archiving the entity.
+            PostgreSQLCurrencyExchangeRateArchiveDAOTests.currencyExchangeRateArchiveDAO.archiveAll(
+                    PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection,
+                    List.of(createdCurrencyExchangeRateArchiveEntity)
+            );
+
+            // Checking that the entity was added as the new one.
+            assertNotNull(createdCurrencyExchangeRateArchiveEntity.getId());
+            assertNotEquals(originalCurrencyExchangeRateArchiveEntity.getId(), createdCurrencyExchangeRateArchiveEntity.getId());
+
+            Optional<CurrencyExchangeRateArchiveEntity> optionalCreatedCurrencyExchangeRateArchiveEntity = this.read(
+                    PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection,
+                    createdCurrencyExchangeRateArchiveEntity.getId()
+            );
+
+            assertTrue(optionalCreatedCurrencyExchangeRateArchiveEntity.isPresent());
+            assertEquals(createdCurrencyExchangeRateArchiveEntity, optionalCreatedCurrencyExchangeRateArchiveEntity.get());
+
+            PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection.rollback();
+
+            throw e;
+        }
+    }
+
     private void create(Connection connection, CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity)
             throws Exception
     {
@@ -315,6 +581,23 @@ public class PostgreSQLCurrencyExchangeRateArchiveDAOTests {
         }
     }
 
+    private Long readHead(Integer currencyExchangeRateId) throws Exception {
+        try (
+                PreparedStatement preparedStatement =
+                        PostgreSQLCurrencyExchangeRateArchiveDAOTests.connection.prepareStatement("""
+                                SELECT archive_id
+                                FROM currency_exchange_rates
+                                WHERE id = ?;
+                        """)
+        ) {
+            preparedStatement.setInt(1, currencyExchangeRateId);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getObject("archive_id", Long.class) : null;
+            }
+        }
+    }
+
     private CurrencyExchangeRateEntity getCurrencyExchangeRateEntity() throws Exception {
         CurrencyExchangeRateEntity currencyExchangeRateEntity = new CurrencyExchangeRateEntity(
                 new CurrencyExchangeRateDTO(
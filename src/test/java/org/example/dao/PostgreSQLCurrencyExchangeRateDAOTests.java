@@ -21,6 +21,7 @@ import java.net.URISyntaxException;
 import java.net.http.HttpRequest;
 import java.sql.*;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -251,6 +252,200 @@ public class PostgreSQLCurrencyExchangeRateDAOTests {
         }
     }
 
+    @Test
+    public void createAllTest() throws Exception {
+        ScraperEntity scraperEntity = this.getScraperEntity();
+
+        List<CurrencyExchangeRateEntity> currencyExchangeRateEntities = List.of(
+                new CurrencyExchangeRateEntity(null, scraperEntity.getId(), 1, "UAH", "USD", 2.0, 3.0),
+                new CurrencyExchangeRateEntity(null, scraperEntity.getId(), 1, "UAH", "EUR", 4.0, 5.0)
+        );
+
+        try {
+            // Creating the entities.
+            PostgreSQLCurrencyExchangeRateDAOTests.currencyExchangeRateDAO.createAll(
+                    PostgreSQLCurrencyExchangeRateDAOTests.connection,
+                    currencyExchangeRateEntities
+            );
+
+            // Checking that all the entities was created.
+            for (CurrencyExchangeRateEntity currencyExchangeRateEntity : currencyExchangeRateEntities) {
+                assertNotNull(currencyExchangeRateEntity.getId());
+
+                Optional<CurrencyExchangeRateEntity> optionalCurrencyExchangeRateEntity = this.read(
+                        PostgreSQLCurrencyExchangeRateDAOTests.connection,
+                        currencyExchangeRateEntity.getId()
+                );
+
+                assertTrue(optionalCurrencyExchangeRateEntity.isPresent());
+                assertEquals(currencyExchangeRateEntity, optionalCurrencyExchangeRateEntity.get());
+            }
+
+            PostgreSQLCurrencyExchangeRateDAOTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLCurrencyExchangeRateDAOTests.connection.rollback();
+
+            throw e;
+        }
+    }
+
+    @Test
+    public void readAllTest() throws Exception {
+        ScraperEntity scraperEntity = this.getScraperEntity();
+
+        CurrencyExchangeRateEntity originalCurrencyExchangeRateEntity =
+                new CurrencyExchangeRateEntity(null, scraperEntity.getId(), 1, "UAH", "USD", 2.0, 3.0);
+
+        try {
+            // Creating the entity.
+            this.create(PostgreSQLCurrencyExchangeRateDAOTests.connection, originalCurrencyExchangeRateEntity);
+
+            // Reading the existing entity, and the entity that doesn't exist.
+            List<CurrencyExchangeRateEntity> currencyExchangeRateEntities =
+                    PostgreSQLCurrencyExchangeRateDAOTests.currencyExchangeRateDAO.readAll(
+                            PostgreSQLCurrencyExchangeRateDAOTests.connection,
+                            List.of(
+                                    new CurrencyExchangeRateEntity(null, scraperEntity.getId(), 1, "UAH", "USD", 0.0, 0.0),
+                                    new CurrencyExchangeRateEntity(null, scraperEntity.getId(), 1, "UAH", "PLN", 0.0, 0.0)
+                            )
+                    );
+
+            // Checking that only the existing entity was found.
+            assertEquals(List.of(originalCurrencyExchangeRateEntity), currencyExchangeRateEntities);
+
+            PostgreSQLCurrencyExchangeRateDAOTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLCurrencyExchangeRateDAOTests.connection.rollback();
+
+            throw e;
+        }
+    }
+
+    @Test
+    public void updateAllTest() throws Exception {
+        ScraperEntity scraperEntity = this.getScraperEntity();
+
+        List<CurrencyExchangeRateEntity> currencyExchangeRateEntities = List.of(
+                new CurrencyExchangeRateEntity(null, scraperEntity.getId(), 1, "UAH", "USD", 2.0, 3.0),
+                new CurrencyExchangeRateEntity(null, scraperEntity.getId(), 1, "UAH", "EUR", 4.0, 5.0)
+        );
+
+        try {
+            // Creating the entities.
+            for (CurrencyExchangeRateEntity currencyExchangeRateEntity : currencyExchangeRateEntities) {
+                this.create(PostgreSQLCurrencyExchangeRateDAOTests.connection, currencyExchangeRateEntity);
+            }
+
+            // Updating some fields in the entities.
+            for (CurrencyExchangeRateEntity currencyExchangeRateEntity : currencyExchangeRateEntities) {
+                currencyExchangeRateEntity.setUnit(currencyExchangeRateEntity.getUnit() * 2);
+                currencyExchangeRateEntity.setBuyRate(currencyExchangeRateEntity.getBuyRate() * 2);
+                currencyExchangeRateEntity.setSaleRate(currencyExchangeRateEntity.getSaleRate() * 2);
+                currencyExchangeRateEntity.setUpdatedAt(currencyExchangeRateEntity.getUpdatedAt().plusSeconds(1));
+            }
+
+            PostgreSQLCurrencyExchangeRateDAOTests.currencyExchangeRateDAO.updateAll(
+                    PostgreSQLCurrencyExchangeRateDAOTests.connection,
+                    currencyExchangeRateEntities
+            );
+
+            // Checking that all the entities was updated.
+            for (CurrencyExchangeRateEntity currencyExchangeRateEntity : currencyExchangeRateEntities) {
+                Optional<CurrencyExchangeRateEntity> optionalCurrencyExchangeRateEntity = this.read(
+                        PostgreSQLCurrencyExchangeRateDAOTests.connection,
+                        currencyExchangeRateEntity.getId()
+                );
+
+                assertTrue(optionalCurrencyExchangeRateEntity.isPresent());
+                assertEquals(currencyExchangeRateEntity, optionalCurrencyExchangeRateEntity.get());
+            }
+
+            PostgreSQLCurrencyExchangeRateDAOTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLCurrencyExchangeRateDAOTests.connection.rollback();
+
+            throw e;
+        }
+    }
+
+    @Test
+    public void upsertAllTest() throws Exception {
+        ScraperEntity scraperEntity = this.getScraperEntity();
+
+        CurrencyExchangeRateEntity originalCurrencyExchangeRateEntity = new CurrencyExchangeRateEntity(
+                null,
+                scraperEntity.getId(),
+                1,
+                "UAH",
+                "USD",
+                2.0,
+                3.0
+        );
+
+        try {
+            // Creating the entity.
+            this.create(PostgreSQLCurrencyExchangeRateDAOTests.connection, originalCurrencyExchangeRateEntity);
+
+            // Cloning original entity (without the identifier), and updating some fields in it.
+            CurrencyExchangeRateEntity updatedCurrencyExchangeRateEntity = new CurrencyExchangeRateEntity(
+                    null,
+                    originalCurrencyExchangeRateEntity.getScraperId(),
+                    originalCurrencyExchangeRateEntity.getUnit() * 2,
+                    originalCurrencyExchangeRateEntity.getUnitCurrencyCode(),
+                    originalCurrencyExchangeRateEntity.getRateCurrencyCode(),
+                    originalCurrencyExchangeRateEntity.getBuyRate() * 2,
+                    originalCurrencyExchangeRateEntity.getSaleRate() * 2,
+                    originalCurrencyExchangeRateEntity.getCreatedAt(),
+                    originalCurrencyExchangeRateEntity.getUpdatedAt().plusSeconds(1)
+            );
+
+            // The new entity.
+            CurrencyExchangeRateEntity createdCurrencyExchangeRateEntity = new CurrencyExchangeRateEntity(
+                    null,
+                    scraperEntity.getId(),
+                    1,
+                    "EUR",
+                    "USD",
+                    4.0,
+                    5.0
+            );
+
+            // Saving the entities.
+            PostgreSQLCurrencyExchangeRateDAOTests.currencyExchangeRateDAO.upsertAll(
+                    PostgreSQLCurrencyExchangeRateDAOTests.connection,
+                    List.of(updatedCurrencyExchangeRateEntity, createdCurrencyExchangeRateEntity)
+            );
+
+            // Checking that the existing entity was updated (with the same identifier).
+            assertEquals(originalCurrencyExchangeRateEntity.getId(), updatedCurrencyExchangeRateEntity.getId());
+
+            Optional<CurrencyExchangeRateEntity> optionalUpdatedCurrencyExchangeRateEntity = this.read(
+                    PostgreSQLCurrencyExchangeRateDAOTests.connection,
+                    updatedCurrencyExchangeRateEntity.getId()
+            );
+
+            assertTrue(optionalUpdatedCurrencyExchangeRateEntity.isPresent());
+            assertEquals(updatedCurrencyExchangeRateEntity, optionalUpdatedCurrencyExchangeRateEntity.get());
+
+            // Checking that the new entity was created.
+            assertNotNull(createdCurrencyExchangeRateEntity.getId());
+
+            Optional<CurrencyExchangeRateEntity> optionalCreatedCurrencyExchangeRateEntity = this.read(
+                    PostgreSQLCurrencyExchangeRateDAOTests.connection,
+                    createdCurrencyExchangeRateEntity.getId()
+            );
+
+            assertTrue(optionalCreatedCurrencyExchangeRateEntity.isPresent());
+            assertEquals(createdCurrencyExchangeRateEntity, optionalCreatedCurrencyExchangeRateEntity.get());
+
+            PostgreSQLCurrencyExchangeRateDAOTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLCurrencyExchangeRateDAOTests.connection.rollback();
+
+            throw e;
+        }
+    }
+
     private void create(Connection connection, CurrencyExchangeRateEntity currencyExchangeRateEntity) throws Exception {
         int id;
 
@@ -20,6 +20,8 @@ import java.net.URISyntaxException;
 import java.net.http.HttpRequest;
 import java.sql.*;
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -205,6 +207,69 @@ public class PostgreSQLScraperDAOTests {
         }
     }
 
+    @Test
+    public void readAllTest() throws Exception {
+        try {
+            // At the beginning, database should be empty.
+            assertTrue(PostgreSQLScraperDAOTests.scraperDAO.readAll(PostgreSQLScraperDAOTests.connection).isEmpty());
+
+            // Creating instance on the entity (for testing).
+            ScraperEntity scraperEntity = new ScraperEntity(
+                    1,
+                    PostgreSQLScraperDAOTests.TestScraper.class,
+                    "Test",
+                    "Тест",
+                    "PT1M",
+                    LocalDateTime.now(),
+                    LocalDateTime.now()
+            );
+
+            // Adding the entity, and the row of the class, that can't be loaded, into the database.
+            try (
+                    PreparedStatement preparedStatement = PostgreSQLScraperDAOTests.connection.prepareStatement("""
+                            INSERT INTO scrapers (
+                                id,
+                                class_name,
+                                name_en,
+                                name_uk,
+                                schedule,
+                                created_at,
+                                updated_at
+                            ) VALUES (
+                                ?, ?, ?, ?, ?, ?, ?
+                            );
+                    """)
+            ) {
+                int id = 0;
+
+                for (String className : List.of(scraperEntity.getClazz().getName(), "org.example.scrapers.Missing")) {
+                    preparedStatement.setInt(1, ++id);
+                    preparedStatement.setString(2, className);
+                    preparedStatement.setString(3, scraperEntity.getNameEn());
+                    preparedStatement.setString(4, scraperEntity.getNameUk());
+                    preparedStatement.setString(5, scraperEntity.getSchedule());
+                    preparedStatement.setTimestamp(6, Timestamp.valueOf(scraperEntity.getCreatedAt()));
+                    preparedStatement.setTimestamp(7, Timestamp.valueOf(scraperEntity.getUpdatedAt()));
+                    preparedStatement.addBatch();
+                }
+
+                preparedStatement.executeBatch();
+            }
+
+            // Only the entity of the loadable class should be read out of the database.
+            assertEquals(
+                    List.of(scraperEntity),
+                    PostgreSQLScraperDAOTests.scraperDAO.readAll(PostgreSQLScraperDAOTests.connection)
+            );
+
+            PostgreSQLScraperDAOTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLScraperDAOTests.connection.rollback();
+
+            throw e;
+        }
+    }
+
     // The class for testing.
     private static class TestScraper extends Scraper {
         public TestScraper(Integer id) {
@@ -0,0 +1,181 @@
+package org.example.dao;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.example.entities.ScraperValidatorEntity;
+import org.example.migrators.Migrator;
+import org.example.migrators.PostgreSQLMigrator;
+import org.example.utils.Config;
+import org.example.utils.DBCPDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostgreSQLScraperValidatorDAOTests {
+    private static MockedStatic<Config> mockedStaticConfig;
+
+    private static Migrator migrator;
+
+    private static ScraperValidatorDAO scraperValidatorDAO;
+
+    private static BasicDataSource dataSource;
+
+    private static Connection connection;
+
+    @BeforeAll
+    public static void initAll() throws Exception {
+        PostgreSQLScraperValidatorDAOTests.mockedStaticConfig = Mockito.mockStatic(Config.class);
+
+        // Replacing database configuration properties.
+        PostgreSQLScraperValidatorDAOTests.mockedStaticConfig
+                .when(() -> Config.getProperty("database.url"))
+                .thenReturn("jdbc:h2:mem:postgres;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        PostgreSQLScraperValidatorDAOTests.mockedStaticConfig
+                .when(() -> Config.getProperty("database.username"))
+                .thenReturn("sa");
+        PostgreSQLScraperValidatorDAOTests.mockedStaticConfig
+                .when(() -> Config.getProperty("database.password"))
+                .thenReturn("");
+
+        PostgreSQLScraperValidatorDAOTests.migrator = new PostgreSQLMigrator();
+        PostgreSQLScraperValidatorDAOTests.scraperValidatorDAO = new PostgreSQLScraperValidatorDAO();
+        PostgreSQLScraperValidatorDAOTests.dataSource = DBCPDataSource.getDataSource();
+        PostgreSQLScraperValidatorDAOTests.connection = PostgreSQLScraperValidatorDAOTests.dataSource.getConnection();
+
+        try {
+            // Creating tables of the database.
+            PostgreSQLScraperValidatorDAOTests.migrator.up(PostgreSQLScraperValidatorDAOTests.connection);
+
+            PostgreSQLScraperValidatorDAOTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLScraperValidatorDAOTests.connection.rollback();
+
+            throw e;
+        }
+    }
+
+    @AfterAll
+    public static void tearDownAll() throws Exception {
+        try {
+            // Dropping of the database tables.
+            PostgreSQLScraperValidatorDAOTests.migrator.down(PostgreSQLScraperValidatorDAOTests.connection);
+
+            PostgreSQLScraperValidatorDAOTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLScraperValidatorDAOTests.connection.rollback();
+
+            throw e;
+        } finally {
+            PostgreSQLScraperValidatorDAOTests.connection.close();
+            PostgreSQLScraperValidatorDAOTests.dataSource.close();
+            PostgreSQLScraperValidatorDAOTests.mockedStaticConfig.close();
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        try (
+                PreparedStatement preparedStatement =
+                        PostgreSQLScraperValidatorDAOTests.connection.prepareStatement("""
+                                DELETE FROM scrapers;
+                        """)
+        ) {
+            try {
+                // Clearing the database tables after each test (the validators are deleted by the cascade).
+                preparedStatement.executeUpdate();
+
+                PostgreSQLScraperValidatorDAOTests.connection.commit();
+            } catch (Exception e) {
+                PostgreSQLScraperValidatorDAOTests.connection.rollback();
+
+                throw e;
+            }
+        }
+    }
+
+    @Test
+    public void upsertAllTest() throws Exception {
+        try {
+            // Adding the scraper, that the validators refer to.
+            try (
+                    PreparedStatement preparedStatement = PostgreSQLScraperValidatorDAOTests.connection.prepareStatement("""
+                            INSERT INTO scrapers (
+                                id,
+                                class_name,
+                                name_en,
+                                name_uk,
+                                created_at,
+                                updated_at
+                            ) VALUES (
+                                1, 'Test', 'Test', 'Тест', ?, ?
+                            );
+                    """)
+            ) {
+                preparedStatement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                preparedStatement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                preparedStatement.executeUpdate();
+            }
+
+            // At the beginning, there are no validators.
+            assertTrue(
+                    PostgreSQLScraperValidatorDAOTests.scraperValidatorDAO
+                            .readAll(PostgreSQLScraperValidatorDAOTests.connection)
+                            .isEmpty()
+            );
+
+            ScraperValidatorEntity scraperValidatorEntity = new ScraperValidatorEntity(
+                    1,
+                    "\"first\"",
+                    "Mon, 01 Jan 2024 00:00:00 GMT",
+                    "0".repeat(64)
+            );
+
+            // Adding the validators.
+            PostgreSQLScraperValidatorDAOTests.scraperValidatorDAO.upsertAll(
+                    PostgreSQLScraperValidatorDAOTests.connection,
+                    List.of(scraperValidatorEntity)
+            );
+
+            assertEquals(
+                    List.of(scraperValidatorEntity),
+                    PostgreSQLScraperValidatorDAOTests.scraperValidatorDAO.readAll(PostgreSQLScraperValidatorDAOTests.connection)
+            );
+
+            // Updating the validators (the creation date is kept).
+            ScraperValidatorEntity updatedScraperValidatorEntity = new ScraperValidatorEntity(
+                    1,
+                    null,
+                    "Tue, 02 Jan 2024 00:00:00 GMT",
+                    "1".repeat(64),
+                    scraperValidatorEntity.getCreatedAt(),
+                    scraperValidatorEntity.getUpdatedAt().plusSeconds(1)
+            );
+
+            PostgreSQLScraperValidatorDAOTests.scraperValidatorDAO.upsertAll(
+                    PostgreSQLScraperValidatorDAOTests.connection,
+                    List.of(updatedScraperValidatorEntity)
+            );
+
+            assertEquals(
+                    List.of(updatedScraperValidatorEntity),
+                    PostgreSQLScraperValidatorDAOTests.scraperValidatorDAO.readAll(PostgreSQLScraperValidatorDAOTests.connection)
+            );
+
+            PostgreSQLScraperValidatorDAOTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLScraperValidatorDAOTests.connection.rollback();
+
+            throw e;
+        }
+    }
+}
\ No newline at end of file
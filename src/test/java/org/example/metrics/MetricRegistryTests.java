@@ -0,0 +1,128 @@
+package org.example.metrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricRegistryTests {
+    @Test
+    public void counterTest() {
+        // Getting the same counter twice (the metrics are registered once, by their names and labels).
+        Counter counter = MetricRegistry.counter("test_counter_total", "Test \"counter\"\nhelp.", "label", "a\"b");
+
+        assertSame(counter, MetricRegistry.counter("test_counter_total", "Test \"counter\"\nhelp.", "label", "a\"b"));
+        assertNotSame(counter, MetricRegistry.counter("test_counter_total", "Test \"counter\"\nhelp.", "label", "c"));
+
+        counter.increment();
+        counter.increment(2);
+        // The counter never decreases.
+        counter.increment(-5);
+
+        assertEquals(3, counter.get());
+
+        String metrics = MetricRegistry.scrape();
+
+        // Checking the escaping of the help and the label values.
+        assertTrue(metrics.contains("# HELP test_counter_total Test \"counter\"\\nhelp.\n"));
+        assertTrue(metrics.contains("# TYPE test_counter_total counter\n"));
+        assertTrue(metrics.contains("test_counter_total{label=\"a\\\"b\"} 3\n"));
+        assertTrue(metrics.contains("test_counter_total{label=\"c\"} 0\n"));
+    }
+
+    @Test
+    public void timerTest() {
+        Timer timer = MetricRegistry.timer("test_timer_seconds", "Test timer.", "stage", "fetch");
+
+        timer.record(Duration.ofMillis(1));
+        timer.record(Duration.ofMillis(20));
+        timer.record(Duration.ofSeconds(90));
+
+        assertEquals(3, timer.getCount());
+        assertEquals(Duration.ofMillis(90021), timer.getTotal());
+
+        String metrics = MetricRegistry.scrape();
+
+        // Checking that the buckets are cumulative, and the upper bounds are inclusive.
+        assertTrue(metrics.contains("# TYPE test_timer_seconds histogram\n"));
+        assertTrue(metrics.contains("test_timer_seconds_bucket{stage=\"fetch\",le=\"0.001\"} 1\n"));
+        assertTrue(metrics.contains("test_timer_seconds_bucket{stage=\"fetch\",le=\"0.01\"} 1\n"));
+        assertTrue(metrics.contains("test_timer_seconds_bucket{stage=\"fetch\",le=\"0.025\"} 2\n"));
+        assertTrue(metrics.contains("test_timer_seconds_bucket{stage=\"fetch\",le=\"60.0\"} 2\n"));
+        assertTrue(metrics.contains("test_timer_seconds_bucket{stage=\"fetch\",le=\"+Inf\"} 3\n"));
+        assertTrue(metrics.contains("test_timer_seconds_sum{stage=\"fetch\"} 90.021\n"));
+        assertTrue(metrics.contains("test_timer_seconds_count{stage=\"fetch\"} 3\n"));
+    }
+
+    @Test
+    public void gaugeTest() {
+        AtomicInteger value = new AtomicInteger(5);
+
+        MetricRegistry.gauge("test_gauge", "Test gauge.", value::get);
+
+        assertTrue(MetricRegistry.scrape().contains("test_gauge 5\n"));
+
+        // The value is read on each scrape, and the supplier could be replaced.
+        value.set(7);
+
+        assertTrue(MetricRegistry.scrape().contains("test_gauge 7\n"));
+
+        MetricRegistry.gauge("test_gauge", "Test gauge.", () -> 0.5);
+
+        assertTrue(MetricRegistry.scrape().contains("test_gauge 0.5\n"));
+    }
+
+    @Test
+    public void invalidMetricTest() {
+        MetricRegistry.counter("test_invalid_total", "Test invalid metric.");
+
+        // The metric family couldn't change its type.
+        assertThrows(IllegalArgumentException.class, () -> MetricRegistry.timer("test_invalid_total", "Test invalid metric."));
+        // The labels should be in pairs.
+        assertThrows(IllegalArgumentException.class, () -> MetricRegistry.counter("test_invalid_total", "Test invalid metric.", "label"));
+    }
+
+    @Test
+    public void exporterTest() throws Exception {
+        MetricRegistry.counter("test_exported_total", "Test exported metric.").increment();
+
+        Path directory = Files.createTempDirectory("metrics");
+        Path path = directory.resolve("metrics.prom");
+
+        try (
+                MetricExporter metricExporter = new MetricExporter(LogManager.getLogger(MetricRegistryTests.class));
+                HttpClient httpClient = HttpClient.newHttpClient()
+        ) {
+            int port = metricExporter.serve(0);
+
+            metricExporter.dump(path, Duration.ofHours(1));
+
+            HttpResponse<String> httpResponse = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(String.format("http://localhost:%d/metrics", port))).build(),
+                    HttpResponse.BodyHandlers.ofString()
+            );
+
+            assertEquals(200, httpResponse.statusCode());
+            assertEquals(
+                    "text/plain; version=0.0.4; charset=utf-8",
+                    httpResponse.headers().firstValue("Content-Type").orElse(null)
+            );
+            assertTrue(httpResponse.body().contains("test_exported_total 1\n"));
+        }
+
+        // The metrics are dumped on close.
+        assertTrue(Files.readString(path).contains("test_exported_total 1\n"));
+
+        Files.delete(path);
+        Files.delete(directory);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,271 @@
+package org.example.migrators;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.example.dao.CurrencyExchangeRateArchiveDAO;
+import org.example.dao.PostgreSQLCurrencyExchangeRateArchiveDAO;
+import org.example.entities.CurrencyExchangeRateArchiveEntity;
+import org.example.utils.Config;
+import org.example.utils.DBCPDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostgreSQLPartitionerTests {
+    private static MockedStatic<Config> mockedStaticConfig;
+
+    private static Migrator migrator;
+
+    private static Partitioner partitioner;
+
+    private static CurrencyExchangeRateArchiveDAO currencyExchangeRateArchiveDAO;
+
+    private static BasicDataSource dataSource;
+
+    private static Connection connection;
+
+    @BeforeAll
+    public static void initAll() throws Exception {
+        PostgreSQLPartitionerTests.mockedStaticConfig = Mockito.mockStatic(Config.class);
+
+        // Replacing database configuration properties.
+        PostgreSQLPartitionerTests.mockedStaticConfig
+                .when(() -> Config.getProperty("database.url"))
+                .thenReturn("jdbc:h2:mem:postgres;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        PostgreSQLPartitionerTests.mockedStaticConfig
+                .when(() -> Config.getProperty("database.username"))
+                .thenReturn("sa");
+        PostgreSQLPartitionerTests.mockedStaticConfig
+                .when(() -> Config.getProperty("database.password"))
+                .thenReturn("");
+
+        PostgreSQLPartitionerTests.migrator = new PostgreSQLMigrator();
+        PostgreSQLPartitionerTests.partitioner = new PostgreSQLPartitioner();
+        PostgreSQLPartitionerTests.currencyExchangeRateArchiveDAO = new PostgreSQLCurrencyExchangeRateArchiveDAO();
+        PostgreSQLPartitionerTests.dataSource = DBCPDataSource.getDataSource();
+        PostgreSQLPartitionerTests.connection = PostgreSQLPartitionerTests.dataSource.getConnection();
+
+        try {
+            // Creating tables of the database.
+            PostgreSQLPartitionerTests.migrator.up(PostgreSQLPartitionerTests.connection);
+
+            // H2 database has no declarative partitioning, so the catalog of the partitions is replaced
+            // by the tables of the same names, that list the monthly partitions of the archive.
+            try (
+                    PreparedStatement preparedStatement = PostgreSQLPartitionerTests.connection.prepareStatement("""
+                            CREATE TABLE pg_class (
+                                oid INTEGER,
+                                relname CHARACTER VARYING(255)
+                            );
+                            CREATE TABLE pg_inherits (
+                                inhrelid INTEGER,
+                                inhparent INTEGER
+                            );
+                            INSERT INTO pg_class VALUES
+                                (1, 'currency_exchange_rates_archive'),
+                                (2, 'currency_exchange_rates_archive_p202001'),
+                                (3, 'currency_exchange_rates_archive_p202002'),
+                                (4, 'currency_exchange_rates_archive_p202003');
+                            INSERT INTO pg_inherits VALUES
+                                (2, 1),
+                                (3, 1),
+                                (4, 1);
+                    """)
+            ) {
+                preparedStatement.executeUpdate();
+            }
+
+            PostgreSQLPartitionerTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLPartitionerTests.connection.rollback();
+
+            throw e;
+        }
+    }
+
+    @AfterAll
+    public static void tearDownAll() throws Exception {
+        try (
+                PreparedStatement preparedStatement = PostgreSQLPartitionerTests.connection.prepareStatement("""
+                        DROP TABLE IF EXISTS pg_inherits;
+                        DROP TABLE IF EXISTS pg_class;
+                """)
+        ) {
+            // Dropping of the database tables.
+            preparedStatement.executeUpdate();
+
+            PostgreSQLPartitionerTests.migrator.down(PostgreSQLPartitionerTests.connection);
+
+            PostgreSQLPartitionerTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLPartitionerTests.connection.rollback();
+
+            throw e;
+        } finally {
+            PostgreSQLPartitionerTests.connection.close();
+            PostgreSQLPartitionerTests.dataSource.close();
+            PostgreSQLPartitionerTests.mockedStaticConfig.close();
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        try (
+                PreparedStatement preparedStatement = PostgreSQLPartitionerTests.connection.prepareStatement("""
+                        DROP TABLE IF EXISTS currency_exchange_rates_archive_p202001;
+                        DROP TABLE IF EXISTS currency_exchange_rates_archive_p202002;
+                        DROP TABLE IF EXISTS currency_exchange_rates_archive_p202003;
+                        DELETE FROM currency_exchange_rates_archive;
+                        DELETE FROM currency_exchange_rates;
+                        DELETE FROM scrapers;
+                """)
+        ) {
+            try {
+                // Clearing the database tables after each test.
+                preparedStatement.executeUpdate();
+
+                PostgreSQLPartitionerTests.connection.commit();
+            } catch (Exception e) {
+                PostgreSQLPartitionerTests.connection.rollback();
+
+                throw e;
+            }
+        }
+    }
+
+    @Test
+    public void retainHeadTest() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2020, 1, 15, 12, 0);
+
+        try {
+            // Creating the partitions of the months (as the standalone tables).
+            try (
+                    PreparedStatement preparedStatement = PostgreSQLPartitionerTests.connection.prepareStatement("""
+                            CREATE TABLE currency_exchange_rates_archive_p202001 (id BIGINT);
+                            CREATE TABLE currency_exchange_rates_archive_p202002 (id BIGINT);
+                            CREATE TABLE currency_exchange_rates_archive_p202003 (id BIGINT);
+                    """)
+            ) {
+                preparedStatement.executeUpdate();
+            }
+
+            // Archiving the currency exchange rate in the first month, that stays unchanged since then.
+            CurrencyExchangeRateArchiveEntity currencyExchangeRateArchiveEntity = new CurrencyExchangeRateArchiveEntity(
+                    null,
+                    this.createCurrencyExchangeRate(createdAt),
+                    1,
+                    2.0,
+                    3.0,
+                    createdAt,
+                    createdAt.plusMonths(2)
+            );
+
+            PostgreSQLPartitionerTests.currencyExchangeRateArchiveDAO.create(
+                    PostgreSQLPartitionerTests.connection,
+                    currencyExchangeRateArchiveEntity
+            );
+
+            // Checking that the old partitions are dropped, except the one, that holds the head of the archive.
+            assertEquals(
+                    List.of("currency_exchange_rates_archive_p202002"),
+                    PostgreSQLPartitionerTests.partitioner.retain(
+                            PostgreSQLPartitionerTests.connection,
+                            YearMonth.of(2020, 3),
+                            true
+                    )
+            );
+
+            // Saving the same currency exchange rate again.
+            CurrencyExchangeRateArchiveEntity savedCurrencyExchangeRateArchiveEntity = new CurrencyExchangeRateArchiveEntity(
+                    null,
+                    currencyExchangeRateArchiveEntity.getCurrencyExchangeRateId(),
+                    1,
+                    2.0,
+                    3.0,
+                    createdAt.plusMonths(3),
+                    createdAt.plusMonths(3)
+            );
+
+            PostgreSQLPartitionerTests.currencyExchangeRateArchiveDAO.archiveAll(
+                    PostgreSQLPartitionerTests.connection,
+                    List.of(savedCurrencyExchangeRateArchiveEntity)
+            );
+
+            // Checking that the head of the archive is extended, instead of adding the new entity.
+            assertEquals(currencyExchangeRateArchiveEntity.getId(), savedCurrencyExchangeRateArchiveEntity.getId());
+            assertEquals(createdAt, savedCurrencyExchangeRateArchiveEntity.getCreatedAt());
+
+            // Extending the head again, by the cached identifier (the same way the cached rates are saved).
+            savedCurrencyExchangeRateArchiveEntity.setUpdatedAt(createdAt.plusMonths(4));
+
+            PostgreSQLPartitionerTests.currencyExchangeRateArchiveDAO.update(
+                    PostgreSQLPartitionerTests.connection,
+                    savedCurrencyExchangeRateArchiveEntity
+            );
+
+            PostgreSQLPartitionerTests.connection.commit();
+        } catch (Exception e) {
+            PostgreSQLPartitionerTests.connection.rollback();
+
+            throw e;
+        }
+    }
+
+    private Integer createCurrencyExchangeRate(LocalDateTime createdAt) throws Exception {
+        try (
+                PreparedStatement preparedStatement = PostgreSQLPartitionerTests.connection.prepareStatement(
+                        """
+                                INSERT INTO scrapers (
+                                    id,
+                                    class_name,
+                                    name_en,
+                                    name_uk,
+                                    created_at,
+                                    updated_at
+                                ) VALUES (
+                                    NEXTVAL('scrapers_sequence'), 'Test', 'Test', 'Тест', ?, ?
+                                );
+                                INSERT INTO currency_exchange_rates (
+                                    scraper_id,
+                                    unit,
+                                    unit_currency_code,
+                                    rate_currency_code,
+                                    buy_rate,
+                                    sale_rate,
+                                    created_at,
+                                    updated_at
+                                ) VALUES (
+                                    CURRVAL('scrapers_sequence'), 1, 'UAH', 'USD', 2.0, 3.0, ?, ?
+                                );
+                        """
+                )
+        ) {
+            for (int i = 1; i <= 4; i++) {
+                preparedStatement.setTimestamp(i, Timestamp.valueOf(createdAt));
+            }
+
+            preparedStatement.executeUpdate();
+        }
+
+        try (
+                ResultSet resultSet = PostgreSQLPartitionerTests.connection.createStatement().executeQuery("""
+                        SELECT CURRVAL('currency_exchange_rates_sequence') AS id;
+                """)
+        ) {
+            if (!resultSet.next()) {
+                throw new SQLException("The entity creation error.");
+            }
+
+            return resultSet.getInt("id");
+        }
+    }
+}
\ No newline at end of file
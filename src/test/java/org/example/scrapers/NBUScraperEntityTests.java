@@ -8,14 +8,19 @@ import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
 public class NBUScraperEntityTests {
@@ -82,4 +87,69 @@ public class NBUScraperEntityTests {
         // Expected and tested response data should be equal.
         assertEquals(this.expectedCurrencyExchangeRateDTOs, actualCurrencyExchangeRateDTOs);
     }
+
+    @Test
+    public void getRowExtractorTest() throws Exception {
+        Object[] items = this.scraper.getItems(this.scraper.getRoot(Scraper.Body.of(NBUScraperEntityTests.response)));
+
+        // The single pass extractor should read the same values, as the getters of the separate values.
+        for (Object item : items) {
+            assertEquals(
+                    new Scraper.Row(
+                            this.scraper.getUnit(item),
+                            this.scraper.getUnitCurrencyCode(item),
+                            this.scraper.getRateCurrencyCode(item),
+                            this.scraper.getBuyRate(item),
+                            this.scraper.getSaleRate(item)
+                    ),
+                    this.scraper.getRowExtractor().extract(item)
+            );
+        }
+    }
+
+    @Test
+    public void parseStreamTest() throws Exception {
+        Scraper.Body body = Scraper.Body.of(
+                new ByteArrayInputStream(NBUScraperEntityTests.response.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8
+        );
+
+        // The stream body should be parsed into the same DTOs, as the string.
+        assertEquals(this.scraper.parse(NBUScraperEntityTests.response).length, this.scraper.parse(body).length);
+
+        // The stream could be read only once.
+        assertThrows(IllegalStateException.class, body::getInputStream);
+    }
+
+    @Test
+    public void extractTest() throws Exception {
+        Scraper.Body body = Scraper.Body.of(NBUScraperEntityTests.response);
+        Scraper.Body region = this.scraper.extract(body);
+
+        // Only the table of the exchange rates is the region, and it's extracted only once.
+        assertTrue(region.isExtracted());
+        assertTrue(region.getLength() < body.getLength());
+        assertSame(region, this.scraper.extract(region));
+
+        // The region of the same response has the same hash.
+        assertEquals(region.getContentHash(), this.scraper.extract(Scraper.Body.of(NBUScraperEntityTests.response)).getContentHash());
+    }
+
+    @Test
+    public void extractStreamTest() throws Exception {
+        String response = "<html><body><p>The exchange rates are not published yet.</p></body></html>";
+        Scraper.Body body = Scraper.Body.of(
+                new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8
+        );
+
+        // The table wasn't found, and the stream was read through (it isn't buffered), so the attempt is failed.
+        Exception exception = assertThrows(Exception.class, () -> this.scraper.extract(body));
+
+        assertTrue(exception.getMessage().startsWith("The region was not found in the streamed body"));
+        assertThrows(IllegalStateException.class, body::getInputStream);
+
+        // The whole page is still the region of the body, that is read into the bytes.
+        assertEquals(response, this.scraper.extract(Scraper.Body.of(response)).getText());
+    }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(MockitoExtension.class)
 public class PrivatBankAtBranchesScraperEntityTests {
@@ -83,4 +84,25 @@ public class PrivatBankAtBranchesScraperEntityTests {
         // Expected and tested response data should be equal.
         assertEquals(this.expectedCurrencyExchangeRateDTOs, actualCurrencyExchangeRateDTOs);
     }
+
+    @Test
+    public void getRootWithUnknownFieldsTest() throws Exception {
+        // The unknown fields (including the nested ones) should be skipped, and the numeric rates should be accepted.
+        String response = "[{\"ccy\":\"USD\",\"extra\":{\"buy\":\"9.99\",\"list\":[1,2]},"
+                + "\"base_ccy\":\"UAH\",\"buy\":1.01,\"sale\":\"2.02\"}]";
+
+        Object[] items = this.scraper.getItems(this.scraper.getRoot(Scraper.Body.of(response)));
+
+        assertEquals(1, items.length);
+        assertEquals(new Scraper.Row(1, "USD", "UAH", 1.01, 2.02), this.scraper.getRowExtractor().extract(items[0]));
+    }
+
+    @Test
+    public void getRootWithMissingValueTest() {
+        // The item without the sale rate should be rejected.
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> this.scraper.getRoot(Scraper.Body.of("[{\"ccy\":\"USD\",\"base_ccy\":\"UAH\",\"buy\":\"1.01\"}]"))
+        );
+    }
 }
\ No newline at end of file
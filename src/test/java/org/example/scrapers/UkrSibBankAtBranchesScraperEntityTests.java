@@ -8,14 +8,17 @@ import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(MockitoExtension.class)
 public class UkrSibBankAtBranchesScraperEntityTests {
@@ -83,4 +86,50 @@ public class UkrSibBankAtBranchesScraperEntityTests {
         // Expected and tested response data should be equal.
         assertEquals(this.expectedCurrencyExchangeRateDTOs, actualCurrencyExchangeRateDTOs);
     }
+
+    @Test
+    public void getRowExtractorTest() throws Exception {
+        Object[] items = this.scraper.getItems(this.scraper.getRoot(Scraper.Body.of(UkrSibBankAtBranchesScraperEntityTests.response)));
+
+        // The single pass extractor should read the same values, as the getters of the separate values.
+        for (Object item : items) {
+            assertEquals(
+                    new Scraper.Row(
+                            this.scraper.getUnit(item),
+                            this.scraper.getUnitCurrencyCode(item),
+                            this.scraper.getRateCurrencyCode(item),
+                            this.scraper.getBuyRate(item),
+                            this.scraper.getSaleRate(item)
+                    ),
+                    this.scraper.getRowExtractor().extract(item)
+            );
+        }
+    }
+
+    @Test
+    public void extractStreamTest() throws Exception {
+        Scraper.Body body = Scraper.Body.of(
+                new ByteArrayInputStream(UkrSibBankAtBranchesScraperEntityTests.response.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8
+        );
+
+        // The block is extracted out of the stream, as out of the string.
+        assertEquals(
+                this.scraper.extract(Scraper.Body.of(UkrSibBankAtBranchesScraperEntityTests.response)).getText(),
+                this.scraper.extract(body).getText()
+        );
+
+        String response = "<html><body><div id=\"rates\"></div></body></html>";
+
+        // The block wasn't found, and the stream was read through (it isn't buffered), so the attempt is failed.
+        assertThrows(
+                Exception.class,
+                () -> this.scraper.extract(
+                        Scraper.Body.of(new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8)
+                )
+        );
+
+        // The whole page is still the region of the body, that is read into the bytes.
+        assertEquals(response, this.scraper.extract(Scraper.Body.of(response)).getText());
+    }
 }
\ No newline at end of file
@@ -4,14 +4,17 @@ import org.apache.commons.dbcp2.BasicDataSource;
 import org.example.dao.CurrencyExchangeRateArchiveDAO;
 import org.example.dao.PostgreSQLCurrencyExchangeRateArchiveDAO;
 import org.example.dao.PostgreSQLCurrencyExchangeRateDAO;
+import org.example.dao.PostgreSQLScraperValidatorDAO;
 import org.example.dto.CurrencyExchangeRateArchiveDTO;
 import org.example.entities.CurrencyExchangeRateArchiveEntity;
 import org.example.entities.CurrencyExchangeRateEntity;
 import org.example.entities.ScraperEntity;
+import org.example.metrics.MetricRegistry;
 import org.example.migrators.PostgreSQLMigrator;
 import org.example.utils.Config;
 import org.example.dto.CurrencyExchangeRateDTO;
 import org.example.dto.ScraperDTO;
+import org.example.dto.ScraperValidatorDTO;
 import org.example.dao.CurrencyExchangeRateDAO;
 import org.example.migrators.Migrator;
 import org.example.utils.DBCPDataSource;
@@ -36,6 +39,10 @@ import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PostgreSQLCurrencyExchangeRateServiceTests {
     private static MockedStatic<Config> mockedStaticConfig;
@@ -525,6 +532,260 @@ public class PostgreSQLCurrencyExchangeRateServiceTests {
         );
     }
 
+    @Test
+    public void saveCachedTest() throws Exception {
+        ScraperDTO scraperDTO = new ScraperDTO(
+                PostgreSQLCurrencyExchangeRateServiceTests.FirstScraper.class,
+                "Test",
+                "Test"
+        );
+
+        // Seeding the database.
+        this.saveScraperDTO(scraperDTO);
+
+        // The service, that skips the unchanged DTOs for an hour.
+        CurrencyExchangeRateService cachedCurrencyExchangeRateService = new CurrencyExchangeRateService(
+                PostgreSQLCurrencyExchangeRateServiceTests.currencyExchangeRateDAO,
+                PostgreSQLCurrencyExchangeRateServiceTests.currencyExchangeRateArchiveDAO,
+                new CurrencyExchangeRateCache(Duration.ofHours(1))
+        );
+
+        CurrencyExchangeRateDTO currencyExchangeRateDTO = new CurrencyExchangeRateDTO(
+                scraperDTO.getId(),
+                1,
+                "USD",
+                "UAH",
+                2.0,
+                3.0
+        );
+
+        // The counters are shared between the tests, so only their increments are checked.
+        long createdCount = this.getRowCount(scraperDTO.getId(), "created");
+        long updatedCount = this.getRowCount(scraperDTO.getId(), "updated");
+        long unchangedCount = this.getRowCount(scraperDTO.getId(), "unchanged");
+
+        // Adding the DTO.
+        cachedCurrencyExchangeRateService.save(
+                PostgreSQLCurrencyExchangeRateServiceTests.dataSource,
+                new CurrencyExchangeRateDTO[]{currencyExchangeRateDTO}
+        );
+
+        LocalDateTime persistedUpdatedAt = currencyExchangeRateDTO.getUpdatedAt();
+
+        // Saving the unchanged DTO, that was scraped later.
+        currencyExchangeRateDTO.setUpdatedAt(persistedUpdatedAt.plusMinutes(1));
+
+        cachedCurrencyExchangeRateService.save(
+                PostgreSQLCurrencyExchangeRateServiceTests.dataSource,
+                new CurrencyExchangeRateDTO[]{currencyExchangeRateDTO}
+        );
+
+        // Checking that nothing was written to the database.
+        assertEquals(createdCount + 1, this.getRowCount(scraperDTO.getId(), "created"));
+        assertEquals(unchangedCount + 1, this.getRowCount(scraperDTO.getId(), "unchanged"));
+        assertEquals(
+                persistedUpdatedAt,
+                this.readCurrencyExchangeRateEntities(currencyExchangeRateDTO).getFirst().getUpdatedAt()
+        );
+        assertEquals(
+                persistedUpdatedAt,
+                this.readCurrencyExchangeRateArchiveEntities(currencyExchangeRateDTO).getFirst().getUpdatedAt()
+        );
+
+        // The service, which cache is warmed up from the database, and which heartbeat is always due.
+        CurrencyExchangeRateService heartbeatCurrencyExchangeRateService = new CurrencyExchangeRateService(
+                PostgreSQLCurrencyExchangeRateServiceTests.currencyExchangeRateDAO,
+                PostgreSQLCurrencyExchangeRateServiceTests.currencyExchangeRateArchiveDAO,
+                new CurrencyExchangeRateCache(Duration.ZERO)
+        );
+
+        assertEquals(1, heartbeatCurrencyExchangeRateService.warmCache(PostgreSQLCurrencyExchangeRateServiceTests.dataSource));
+
+        // Saving the unchanged DTO again.
+        heartbeatCurrencyExchangeRateService.save(
+                PostgreSQLCurrencyExchangeRateServiceTests.dataSource,
+                new CurrencyExchangeRateDTO[]{currencyExchangeRateDTO}
+        );
+
+        // Checking that only the dates of update was extended.
+        assertEquals(
+                currencyExchangeRateDTO,
+                new CurrencyExchangeRateDTO(this.readCurrencyExchangeRateEntities(currencyExchangeRateDTO).getFirst())
+        );
+
+        List<CurrencyExchangeRateArchiveEntity> currencyExchangeRateArchiveEntities =
+                this.readCurrencyExchangeRateArchiveEntities(currencyExchangeRateDTO);
+
+        assertEquals(1, currencyExchangeRateArchiveEntities.size());
+        assertEquals(currencyExchangeRateDTO.getUpdatedAt(), currencyExchangeRateArchiveEntities.getFirst().getUpdatedAt());
+        assertEquals(updatedCount + 1, this.getRowCount(scraperDTO.getId(), "updated"));
+
+        // Saving the changed DTO.
+        currencyExchangeRateDTO.setBuyRate(2 * currencyExchangeRateDTO.getBuyRate());
+        currencyExchangeRateDTO.setUpdatedAt(currencyExchangeRateDTO.getUpdatedAt().plusMinutes(1));
+
+        cachedCurrencyExchangeRateService.save(
+                PostgreSQLCurrencyExchangeRateServiceTests.dataSource,
+                new CurrencyExchangeRateDTO[]{currencyExchangeRateDTO}
+        );
+
+        // Checking that the changed DTO was written, and added into the archive.
+        assertEquals(
+                currencyExchangeRateDTO,
+                new CurrencyExchangeRateDTO(this.readCurrencyExchangeRateEntities(currencyExchangeRateDTO).getFirst())
+        );
+        assertEquals(2, this.readCurrencyExchangeRateArchiveEntities(currencyExchangeRateDTO).size());
+        assertEquals(createdCount + 2, this.getRowCount(scraperDTO.getId(), "created"));
+    }
+
+    @Test
+    public void saveAllTest() throws Exception {
+        ScraperDTO fisrtScraperDTO = new ScraperDTO(
+                PostgreSQLCurrencyExchangeRateServiceTests.FirstScraper.class,
+                "Test",
+                "Test"
+        );
+        ScraperDTO secondScraperDTO = new ScraperDTO(
+                PostgreSQLCurrencyExchangeRateServiceTests.SecondScraper.class,
+                "Test",
+                "Test"
+        );
+
+        // Seeding the database.
+        this.saveScraperDTO(fisrtScraperDTO);
+        this.saveScraperDTO(secondScraperDTO);
+
+        CurrencyExchangeRateDTO firstCurrencyExchangeRateDTO = new CurrencyExchangeRateDTO(
+                fisrtScraperDTO.getId(),
+                1,
+                "USD",
+                "UAH",
+                2.0,
+                3.0
+        );
+
+        CurrencyExchangeRateDTO secondCurrencyExchangeRateDTO = new CurrencyExchangeRateDTO(
+                secondScraperDTO.getId(),
+                1,
+                "USD",
+                "UAH",
+                2.0,
+                3.0
+        );
+
+        // The DTO of the scraper, that doesn't exist (violates the foreign key).
+        CurrencyExchangeRateDTO invalidCurrencyExchangeRateDTO = new CurrencyExchangeRateDTO(
+                secondScraperDTO.getId() + 1000,
+                1,
+                "USD",
+                "UAH",
+                2.0,
+                3.0
+        );
+
+        // Saving the arrays of the DTOs within a single transaction.
+        List<Exception> exceptions = PostgreSQLCurrencyExchangeRateServiceTests.currencyExchangeRateService.saveAll(
+                PostgreSQLCurrencyExchangeRateServiceTests.dataSource,
+                List.of(
+                        new CurrencyExchangeRateDTO[]{firstCurrencyExchangeRateDTO},
+                        new CurrencyExchangeRateDTO[]{invalidCurrencyExchangeRateDTO},
+                        new CurrencyExchangeRateDTO[]{secondCurrencyExchangeRateDTO}
+                )
+        );
+
+        // Only the invalid array should be failed (and rolled back to its savepoint).
+        assertEquals(3, exceptions.size());
+        assertNull(exceptions.get(0));
+        assertInstanceOf(SQLException.class, exceptions.get(1));
+        assertNull(exceptions.get(2));
+
+        // The rest arrays should be committed.
+        assertEquals(
+                List.of(firstCurrencyExchangeRateDTO, secondCurrencyExchangeRateDTO),
+                this.readCurrencyExchangeRateEntities().stream()
+                        .map(CurrencyExchangeRateDTO::new)
+                        .sorted(Comparator.comparing(CurrencyExchangeRateDTO::getScraperId))
+                        .toList()
+        );
+        assertEquals(2, this.readCurrencyExchangeRateArchiveEntities().size());
+    }
+
+    @Test
+    public void saveValidatedTest() throws Exception {
+        ScraperDTO fisrtScraperDTO = new ScraperDTO(
+                PostgreSQLCurrencyExchangeRateServiceTests.FirstScraper.class,
+                "Test",
+                "Test"
+        );
+        ScraperDTO secondScraperDTO = new ScraperDTO(
+                PostgreSQLCurrencyExchangeRateServiceTests.SecondScraper.class,
+                "Test",
+                "Test"
+        );
+
+        // Seeding the database.
+        this.saveScraperDTO(fisrtScraperDTO);
+        this.saveScraperDTO(secondScraperDTO);
+
+        // The service, that saves the validators within the transactions of the DTOs.
+        ScraperValidatorService scraperValidatorService = new ScraperValidatorService(new PostgreSQLScraperValidatorDAO());
+        CurrencyExchangeRateService validatedCurrencyExchangeRateService = new CurrencyExchangeRateService(
+                PostgreSQLCurrencyExchangeRateServiceTests.currencyExchangeRateDAO,
+                PostgreSQLCurrencyExchangeRateServiceTests.currencyExchangeRateArchiveDAO,
+                null,
+                scraperValidatorService
+        );
+
+        ScraperValidatorDTO firstScraperValidatorDTO = new ScraperValidatorDTO(fisrtScraperDTO.getId(), "\"a\"", null, "a".repeat(64));
+        ScraperValidatorDTO secondScraperValidatorDTO = new ScraperValidatorDTO(secondScraperDTO.getId(), "\"b\"", null, "b".repeat(64));
+
+        // The DTO of the scraper, that doesn't exist (violates the foreign key).
+        CurrencyExchangeRateDTO invalidCurrencyExchangeRateDTO = new CurrencyExchangeRateDTO(
+                secondScraperDTO.getId() + 1000,
+                1,
+                "USD",
+                "UAH",
+                2.0,
+                3.0
+        );
+
+        // The failed transaction should take the validators with it (neither saved, nor kept in the memory).
+        assertThrows(
+                SQLException.class,
+                () -> validatedCurrencyExchangeRateService.save(
+                        PostgreSQLCurrencyExchangeRateServiceTests.dataSource,
+                        new CurrencyExchangeRateDTO[]{invalidCurrencyExchangeRateDTO},
+                        secondScraperValidatorDTO
+                )
+        );
+
+        assertNull(scraperValidatorService.read(secondScraperDTO.getId()));
+
+        // Saving the arrays of the DTOs within a single transaction, the second one is failed within its savepoint.
+        List<Exception> exceptions = validatedCurrencyExchangeRateService.saveAll(
+                PostgreSQLCurrencyExchangeRateServiceTests.dataSource,
+                List.of(
+                        new CurrencyExchangeRateDTO[]{
+                                new CurrencyExchangeRateDTO(fisrtScraperDTO.getId(), 1, "USD", "UAH", 2.0, 3.0)
+                        },
+                        new CurrencyExchangeRateDTO[]{invalidCurrencyExchangeRateDTO}
+                ),
+                List.of(firstScraperValidatorDTO, secondScraperValidatorDTO)
+        );
+
+        assertNull(exceptions.get(0));
+        assertInstanceOf(SQLException.class, exceptions.get(1));
+
+        // Only the validators of the saved array should be committed, and kept in the memory.
+        assertEquals(firstScraperValidatorDTO, scraperValidatorService.read(fisrtScraperDTO.getId()));
+        assertNull(scraperValidatorService.read(secondScraperDTO.getId()));
+
+        ScraperValidatorService loadedScraperValidatorService = new ScraperValidatorService(new PostgreSQLScraperValidatorDAO());
+
+        assertEquals(1, loadedScraperValidatorService.load(PostgreSQLCurrencyExchangeRateServiceTests.dataSource));
+        assertTrue(loadedScraperValidatorService.isUnchanged(firstScraperValidatorDTO));
+    }
+
     private void saveScraperDTO(ScraperDTO scraperDTO) throws Exception {
         try (Connection connection = PostgreSQLCurrencyExchangeRateServiceTests.dataSource.getConnection()) {
             try {
@@ -791,6 +1052,17 @@ public class PostgreSQLCurrencyExchangeRateServiceTests {
         return result;
     }
 
+    private long getRowCount(Integer scraperId, String result) {
+        return MetricRegistry.counter(
+                "currency_exchange_rate_rows_total",
+                "",
+                "scraper_id",
+                String.valueOf(scraperId),
+                "result",
+                result
+        ).get();
+    }
+
     // The first class for testing.
     private static class FirstScraper extends org.example.scrapers.Scraper {
         public FirstScraper(Integer id) {
@@ -23,6 +23,7 @@ import java.net.URISyntaxException;
 import java.net.http.HttpRequest;
 import java.sql.*;
 import java.time.Duration;
+import java.util.List;
 import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -150,6 +151,28 @@ public class PostgreSQLScraperServiceTests {
         );
     }
 
+    @Test
+    public void readAllTest() throws Exception {
+        // At the beginning, database is empty.
+        assertEquals(List.of(), PostgreSQLScraperServiceTests.scraperService.readAll(PostgreSQLScraperServiceTests.dataSource));
+
+        // Creating instance on the DTO (for testing).
+        ScraperDTO scraperDTO = new ScraperDTO(
+                PostgreSQLScraperServiceTests.TestScraper.class,
+                "Test",
+                "Тест"
+        );
+
+        // Seeding the database.
+        this.saveScraperDTO(scraperDTO);
+
+        // Now all the DTOs should be read out at once.
+        assertEquals(
+                List.of(scraperDTO),
+                PostgreSQLScraperServiceTests.scraperService.readAll(PostgreSQLScraperServiceTests.dataSource)
+        );
+    }
+
     private void saveScraperDTO(ScraperDTO scraperDTO) throws Exception {
         try (Connection connection = PostgreSQLScraperServiceTests.dataSource.getConnection()) {
             try {
@@ -0,0 +1,70 @@
+package org.example.services;
+
+import org.example.dao.ScraperValidatorDAO;
+import org.example.dto.ScraperValidatorDTO;
+import org.example.entities.ScraperValidatorEntity;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScraperValidatorServiceTests {
+    @Test
+    public void isUnchangedTest() throws Exception {
+        ScraperValidatorService scraperValidatorService = this.newScraperValidatorService(
+                Duration.ZERO,
+                LocalDateTime.now().minusDays(1)
+        );
+
+        // The same content hash is unchanged, the other one, or the missing one is changed.
+        assertTrue(scraperValidatorService.isUnchanged(new ScraperValidatorDTO(1, null, null, "a")));
+        assertFalse(scraperValidatorService.isUnchanged(new ScraperValidatorDTO(1, null, null, "b")));
+        assertFalse(scraperValidatorService.isUnchanged(new ScraperValidatorDTO(1, null, null, null)));
+        assertFalse(scraperValidatorService.isUnchanged(new ScraperValidatorDTO(2, null, null, "a")));
+
+        assertNotNull(scraperValidatorService.readConditional(1));
+        assertNull(scraperValidatorService.readConditional(2));
+    }
+
+    @Test
+    public void isUnchangedRefreshTest() throws Exception {
+        ScraperValidatorService scraperValidatorService = this.newScraperValidatorService(
+                Duration.ofHours(1),
+                LocalDateTime.now().minusHours(2)
+        );
+
+        // The refresh is due, so the response is parsed and saved, and it's requested unconditionally.
+        assertFalse(scraperValidatorService.isUnchanged(new ScraperValidatorDTO(1, null, null, "a")));
+        assertNull(scraperValidatorService.readConditional(1));
+    }
+
+    /**
+     * Creating the service, with the single loaded validator (of the scraper 1, with the content hash "a").
+     * @param refreshInterval The refresh interval.
+     * @param updatedAt When the validator was saved.
+     * @return Instance of the service.
+     * @throws Exception If a some error occurs.
+     */
+    private ScraperValidatorService newScraperValidatorService(Duration refreshInterval, LocalDateTime updatedAt)
+            throws Exception
+    {
+        ScraperValidatorDAO scraperValidatorDAO = Mockito.mock(ScraperValidatorDAO.class);
+        DataSource dataSource = Mockito.mock(DataSource.class);
+
+        Mockito.doReturn(Mockito.mock(Connection.class)).when(dataSource).getConnection();
+        Mockito.doReturn(List.of(new ScraperValidatorEntity(1, "\"etag\"", null, "a", updatedAt, updatedAt)))
+                .when(scraperValidatorDAO).readAll(Mockito.any());
+
+        ScraperValidatorService scraperValidatorService = new ScraperValidatorService(scraperValidatorDAO, refreshInterval);
+
+        assertEquals(1, scraperValidatorService.load(dataSource));
+
+        return scraperValidatorService;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,256 @@
+package org.example.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.example.dao.CurrencyExchangeRateArchiveDAO;
+import org.example.dao.CurrencyExchangeRateDAO;
+import org.example.dto.CurrencyExchangeRateDTO;
+import org.example.services.CurrencyExchangeRateService;
+import org.example.utils.JsonMapperRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TracerTests {
+    @AfterEach
+    public void tearDown() {
+        // Disabling the tracing after each test.
+        Tracer.setSpanRingBuffer(null);
+    }
+
+    @Test
+    public void disabledTest() {
+        // The spans aren't recorded, when the tracing is disabled.
+        Span span = Tracer.startTrace("run");
+
+        assertSame(Span.NOOP, span);
+        assertFalse(span.isRecording());
+
+        try (Scope scope = span.makeCurrent(); Scope childScope = Tracer.open("child")) {
+            assertSame(Span.NOOP, scope.span());
+            assertSame(Span.NOOP, childScope.span());
+            assertSame(Span.NOOP, Tracer.current());
+        }
+    }
+
+    @Test
+    public void openTest() {
+        SpanRingBuffer spanRingBuffer = new SpanRingBuffer(16);
+
+        Tracer.setSpanRingBuffer(spanRingBuffer);
+
+        Span span = Tracer.startTrace("run").setAttribute("scrapers", 1);
+
+        // The span, that is opened without the current span, isn't recorded (e.g. the DAO call outside the run).
+        try (Scope scope = Tracer.open("orphan")) {
+            assertFalse(scope.span().isRecording());
+        }
+
+        try (Scope scope = span.makeCurrent()) {
+            try (Scope childScope = Tracer.open("child")) {
+                // The opened span becomes current, until its scope is closed.
+                assertSame(childScope.span(), Tracer.current());
+
+                try (Scope grandchildScope = Tracer.open("grandchild")) {
+                    grandchildScope.span().setError(new Exception("Error."));
+                }
+            }
+
+            assertSame(scope.span(), Tracer.current());
+        }
+
+        assertSame(Span.NOOP, Tracer.current());
+
+        // The span, that was made current, isn't ended by its scope.
+        List<Span> spans = spanRingBuffer.drain();
+
+        assertEquals(List.of("grandchild", "child"), spans.stream().map(Span::getName).toList());
+
+        span.end();
+        span.end();
+
+        // The span is recorded only once.
+        assertEquals(List.of(span), spanRingBuffer.drain());
+        assertTrue(spanRingBuffer.drain().isEmpty());
+
+        assertEquals(32, span.getTraceId().length());
+        assertEquals(16, span.getSpanId().length());
+        assertEquals(span.getTraceId(), spans.get(1).getTraceId());
+        assertEquals(span.getSpanId(), spans.get(1).getParentSpanId());
+        assertEquals(spans.get(1).getSpanId(), spans.get(0).getParentSpanId());
+        assertEquals("Error.", spans.get(0).getErrorMessage());
+        assertNull(spans.get(1).getErrorMessage());
+    }
+
+    @Test
+    public void errorTest() throws Exception {
+        SpanRingBuffer spanRingBuffer = new SpanRingBuffer(16);
+        CurrencyExchangeRateDAO currencyExchangeRateDAO = Mockito.mock(CurrencyExchangeRateDAO.class);
+        DataSource dataSource = Mockito.mock(DataSource.class);
+        Connection connection = Mockito.mock(Connection.class);
+        CurrencyExchangeRateService currencyExchangeRateService = new CurrencyExchangeRateService(
+                currencyExchangeRateDAO,
+                Mockito.mock(CurrencyExchangeRateArchiveDAO.class),
+                null
+        );
+        CurrencyExchangeRateDTO[] currencyExchangeRateDTOs = {new CurrencyExchangeRateDTO(1, 1, "USD", "UAH", 2.0, 3.0)};
+
+        // The first save is failed by the DAO, and the second one is failed by the commit.
+        Mockito.doReturn(connection).when(dataSource).getConnection();
+        Mockito.doThrow(new SQLException("Upsert error.")).doNothing()
+                .when(currencyExchangeRateDAO).upsertAll(Mockito.any(), Mockito.any());
+        Mockito.doThrow(new SQLException("Commit error.")).when(connection).commit();
+
+        Tracer.setSpanRingBuffer(spanRingBuffer);
+
+        try (Scope scope = Tracer.startTrace("run").makeCurrent()) {
+            // The spans of the saves are the children of the recorded run.
+            assertTrue(scope.span().isRecording());
+
+            for (int i = 0; i < 2; i++) {
+                assertThrows(SQLException.class, () -> currencyExchangeRateService.save(dataSource, currencyExchangeRateDTOs));
+            }
+        }
+
+        JsonNode spanNodes = JsonMapperRegistry.getObjectMapper()
+                .readTree(SpanExporter.toJson(spanRingBuffer.drain()))
+                .at("/resourceSpans/0/scopeSpans/0/spans");
+        List<String> statuses = new ArrayList<>();
+
+        for (JsonNode spanNode : spanNodes) {
+            statuses.add(
+                    String.format(
+                            "%s %d %s",
+                            spanNode.get("name").asText(),
+                            spanNode.at("/status/code").asInt(),
+                            spanNode.at("/status/message").asText()
+                    ).trim()
+            );
+        }
+
+        // The failed DAO call and the failed commit are exported with the error status (and so are their parents).
+        assertEquals(
+                List.of(
+                        "CurrencyExchangeRateDAO.upsertAll 2 Upsert error.",
+                        "save 2 Upsert error.",
+                        "CurrencyExchangeRateDAO.upsertAll 0",
+                        "CurrencyExchangeRateArchiveDAO.archiveAll 0",
+                        "commit 2 Commit error.",
+                        "save 2 Commit error."
+                ),
+                statuses
+        );
+    }
+
+    @Test
+    public void spanRingBufferTest() throws Exception {
+        // The capacity is rounded up to the power of two.
+        SpanRingBuffer spanRingBuffer = new SpanRingBuffer(100);
+
+        assertEquals(128, spanRingBuffer.getCapacity());
+
+        Tracer.setSpanRingBuffer(spanRingBuffer);
+
+        Span span = Tracer.startTrace("run");
+
+        // Ending the spans concurrently, more than the buffer could keep.
+        try (ExecutorService executorService = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                executorService.submit(() -> {
+                    for (int j = 0; j < 64; j++) {
+                        Tracer.startSpan("child", span).end();
+                    }
+                });
+            }
+        }
+
+        // The writers never wait, the oldest spans are overwritten instead.
+        assertEquals(128, spanRingBuffer.drain().size());
+        assertEquals(128, spanRingBuffer.getDroppedCount());
+
+        assertThrows(IllegalArgumentException.class, () -> new SpanRingBuffer(0));
+    }
+
+    @Test
+    public void exportTest() throws Exception {
+        Path path = Files.createTempFile("spans", ".json");
+        List<Span> spans = new ArrayList<>();
+
+        try (SpanExporter spanExporter = new SpanExporter(LogManager.getLogger(TracerTests.class))) {
+            spanExporter.export(path, Duration.ofHours(1), 16);
+
+            Span span = Tracer.startTrace("run");
+
+            try (Scope scope = span.makeCurrent(); Scope childScope = Tracer.open("http.request")) {
+                childScope.span()
+                        .setKind(Span.Kind.CLIENT)
+                        .setAttribute("http.response.status_code", 503)
+                        .setAttribute("url.full", "http://localhost/")
+                        .setAttribute("ratio", 0.5)
+                        .setAttribute("retried", true)
+                        .setError(new Exception("Response status code is 503."));
+
+                assertEquals(scope.span().getSpanId(), childScope.span().getParentSpanId());
+
+                spans.add(childScope.span());
+            }
+
+            span.end();
+            spans.add(span);
+        }
+
+        // The tracing is disabled, once the exporter is closed.
+        assertSame(Span.NOOP, Tracer.startTrace("run"));
+
+        List<String> lines = Files.readAllLines(path);
+
+        Files.delete(path);
+
+        // The spans are exported on close, as a single OTLP JSON line.
+        assertEquals(1, lines.size());
+
+        JsonNode resourceSpans = JsonMapperRegistry.getObjectMapper().readTree(lines.getFirst()).get("resourceSpans").get(0);
+
+        assertEquals("service.name", resourceSpans.at("/resource/attributes/0/key").asText());
+        assertEquals("org.example", resourceSpans.at("/scopeSpans/0/scope/name").asText());
+
+        JsonNode spanNodes = resourceSpans.at("/scopeSpans/0/spans");
+
+        assertEquals(2, spanNodes.size());
+
+        JsonNode childNode = spanNodes.get(0).get("name").asText().equals("http.request") ? spanNodes.get(0) : spanNodes.get(1);
+        JsonNode rootNode = childNode == spanNodes.get(0) ? spanNodes.get(1) : spanNodes.get(0);
+
+        assertEquals(spans.get(1).getTraceId(), childNode.get("traceId").asText());
+        assertEquals(spans.get(0).getSpanId(), childNode.get("spanId").asText());
+        assertEquals(spans.get(1).getSpanId(), childNode.get("parentSpanId").asText());
+        assertFalse(rootNode.has("parentSpanId"));
+        assertEquals(3, childNode.get("kind").asInt());
+        assertEquals(1, rootNode.get("kind").asInt());
+        assertEquals(String.valueOf(spans.get(0).getStartTime()), childNode.get("startTimeUnixNano").asText());
+        assertTrue(childNode.get("endTimeUnixNano").isTextual());
+        assertEquals(2, childNode.at("/status/code").asInt());
+        assertEquals("Response status code is 503.", childNode.at("/status/message").asText());
+        assertFalse(rootNode.has("status"));
+
+        // The attributes are typed by their values.
+        assertEquals("http.response.status_code", childNode.at("/attributes/0/key").asText());
+        assertEquals("503", childNode.at("/attributes/0/value/intValue").asText());
+        assertEquals("http://localhost/", childNode.at("/attributes/1/value/stringValue").asText());
+        assertEquals(0.5, childNode.at("/attributes/2/value/doubleValue").asDouble());
+        assertTrue(childNode.at("/attributes/3/value/boolValue").asBoolean());
+    }
+}
\ No newline at end of file
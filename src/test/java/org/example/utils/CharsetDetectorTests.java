@@ -0,0 +1,45 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CharsetDetectorTests {
+    @Test
+    public void detectContentTypeTest() {
+        byte[] head = "<meta charset=\"windows-1251\">".getBytes(StandardCharsets.US_ASCII);
+
+        // The charset of the content type takes the precedence over the meta tag.
+        assertEquals(
+                StandardCharsets.ISO_8859_1,
+                CharsetDetector.detect("text/html; charset=\"ISO-8859-1\"", head, head.length)
+        );
+    }
+
+    @Test
+    public void detectByteOrderMarkTest() {
+        byte[] head = new byte[]{(byte) 0xFF, (byte) 0xFE, '<', 0};
+
+        assertEquals(StandardCharsets.UTF_16LE, CharsetDetector.detect("text/html", head, head.length));
+    }
+
+    @Test
+    public void detectMetaTest() {
+        byte[] head = "<html><head><meta http-equiv=\"Content-Type\" content=\"text/html; charset=windows-1251\">"
+                .getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(Charset.forName("windows-1251"), CharsetDetector.detect(null, head, head.length));
+    }
+
+    @Test
+    public void detectDefaultTest() {
+        byte[] head = "<meta charset=\"unknown-charset\">".getBytes(StandardCharsets.US_ASCII);
+
+        // The unsupported charset, or the missing one, falls back to UTF-8.
+        assertEquals(StandardCharsets.UTF_8, CharsetDetector.detect("application/json", head, head.length));
+        assertEquals(StandardCharsets.UTF_8, CharsetDetector.detect(null, new byte[0], 0));
+    }
+}
\ No newline at end of file
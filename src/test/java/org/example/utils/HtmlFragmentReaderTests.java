@@ -0,0 +1,84 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HtmlFragmentReaderTests {
+    @Test
+    public void readTest() throws Exception {
+        String html = """
+                <!DOCTYPE html>
+                <html>
+                <head>
+                    <script>document.write("<table id='rates'></table>");</script>
+                    <style>td > b { color: red; }</style>
+                </head>
+                <body>
+                    <!-- <table id="rates"> is commented out -->
+                    <table id="other"><tr><td>0</td></tr></table>
+                    <TABLE class="rates" ID="rates"><tr><td><table><tr><td>1</td></tr></table>2 < 3</td></tr></TABLE>
+                    <table id="rates"><tr><td>4</td></tr></table>
+                </body>
+                </html>
+        """;
+
+        // Only the first matching element (with the nested elements) should be read.
+        assertEquals(
+                "<TABLE class=\"rates\" ID=\"rates\"><tr><td><table><tr><td>1</td></tr></table>2 < 3</td></tr></TABLE>",
+                HtmlFragmentReader.read(new StringReader(html), "table", "id", "rates")
+        );
+
+        // The attribute value should match exactly.
+        assertNull(HtmlFragmentReader.read(new StringReader(html), "table", "id", "rate"));
+        assertNull(HtmlFragmentReader.read(new StringReader(html), "div", "id", "rates"));
+    }
+
+    @Test
+    public void readStopsAfterElementTest() throws Exception {
+        String fragment = "<div id='kassa'><ul><li>1</li></ul></div>";
+
+        // The reader, that fails, if the document is read after the element.
+        Reader reader = new StringReader(fragment + "<div>") {
+            private int position = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (++this.position > fragment.length()) {
+                    throw new IOException("The document is read after the element.");
+                }
+
+                return super.read();
+            }
+        };
+
+        assertEquals(fragment, HtmlFragmentReader.read(reader, "div", "id", "kassa"));
+    }
+
+    @Test
+    public void readResponseTest() throws Exception {
+        try (
+                InputStream inputStream =
+                        HtmlFragmentReaderTests.class.getClassLoader().getResourceAsStream("scrapers/response-nbu.html")
+        ) {
+            String fragment = HtmlFragmentReader.read(
+                    new InputStreamReader(Objects.requireNonNull(inputStream), StandardCharsets.UTF_8),
+                    "table",
+                    "id",
+                    "exchangeRates"
+            );
+
+            assertNotNull(fragment);
+            assertTrue(fragment.startsWith("<table id=\"exchangeRates\">"));
+            assertTrue(fragment.endsWith("</table>"));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpClientRegistryTests {
+    @AfterEach
+    public void tearDown() {
+        // Closing the HTTP clients, and resetting the counters after each test.
+        HttpClientRegistry.close();
+    }
+
+    @Test
+    public void getHttpClientTest() {
+        // Getting the HTTP client for the same policy twice.
+        HttpClient firstHttpClient = HttpClientRegistry.getHttpClient(
+                HttpClient.Redirect.NORMAL,
+                Duration.ofSeconds(30),
+                HttpClient.Version.HTTP_2
+        );
+        HttpClient secondHttpClient = HttpClientRegistry.getHttpClient(
+                HttpClient.Redirect.NORMAL,
+                Duration.ofSeconds(30),
+                HttpClient.Version.HTTP_2
+        );
+
+        // The HTTP client should be shared.
+        assertSame(firstHttpClient, secondHttpClient);
+
+        // Getting the HTTP client for another policy.
+        HttpClient thirdHttpClient = HttpClientRegistry.getHttpClient(
+                HttpClient.Redirect.NEVER,
+                Duration.ofSeconds(30),
+                HttpClient.Version.HTTP_1_1
+        );
+
+        // The HTTP client should not be shared between different policies.
+        assertNotSame(firstHttpClient, thirdHttpClient);
+        assertEquals(HttpClient.Redirect.NEVER, thirdHttpClient.followRedirects());
+        assertEquals(HttpClient.Version.HTTP_1_1, thirdHttpClient.version());
+
+        // Checking the counters.
+        assertEquals(2, HttpClientRegistry.getCreatedCount());
+        assertEquals(1, HttpClientRegistry.getReusedCount());
+    }
+
+    @Test
+    public void getHttpClientThrowsNullPointerExceptionTest() {
+        // The policy values should not be null.
+        assertThrows(
+                NullPointerException.class,
+                () -> HttpClientRegistry.getHttpClient(null, Duration.ofSeconds(30), HttpClient.Version.HTTP_2)
+        );
+    }
+}
\ No newline at end of file
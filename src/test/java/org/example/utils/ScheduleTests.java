@@ -0,0 +1,71 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ScheduleTests {
+    @Test
+    public void nextTest() {
+        // Saturday.
+        LocalDateTime after = LocalDateTime.of(2024, 6, 1, 10, 7, 30);
+
+        // The fixed rate.
+        assertEquals(after.plusMinutes(5), new Schedule("PT5M").next(after));
+
+        // Every minute.
+        assertEquals(LocalDateTime.of(2024, 6, 1, 10, 8), new Schedule("* * * * *").next(after));
+
+        // Every 15 minutes.
+        assertEquals(LocalDateTime.of(2024, 6, 1, 10, 15), new Schedule("*/15 * * * *").next(after));
+
+        // At the beginning of the hour, from 8 to 20, on the working days (the next Monday).
+        assertEquals(LocalDateTime.of(2024, 6, 3, 8, 0), new Schedule("0 8-20 * * 1-5").next(after));
+
+        // At the beginning of the day, on the first day of the month, or on Sunday (the next Sunday).
+        assertEquals(LocalDateTime.of(2024, 6, 2, 0, 0), new Schedule("0 0 1 * 7").next(after));
+
+        // At noon, on the 29th of February (the next leap year).
+        assertEquals(LocalDateTime.of(2028, 2, 29, 12, 0), new Schedule("0 12 29 2 *").next(after));
+
+        // At the beginning of the day, on the odd days of the month, that are Mondays (the stepped asterisk isn't
+        // the restriction, so both day fields are matched: the 10th is even, and the 5th isn't Monday).
+        assertEquals(
+                LocalDateTime.of(2024, 6, 17, 0, 0),
+                new Schedule("0 0 */2 * 1").next(LocalDateTime.of(2024, 6, 4, 10, 7, 30))
+        );
+    }
+
+    @Test
+    public void scheduleThrowsIllegalArgumentExceptionTest() {
+        // The expression is empty.
+        assertThrows(IllegalArgumentException.class, () -> new Schedule(" "));
+
+        // The fixed rate is not valid.
+        assertThrows(IllegalArgumentException.class, () -> new Schedule("PT"));
+
+        // The fixed rate is not positive.
+        assertThrows(IllegalArgumentException.class, () -> new Schedule("PT0S"));
+
+        // The cron expression has invalid number of fields.
+        assertThrows(IllegalArgumentException.class, () -> new Schedule("* * * *"));
+
+        // The cron expression field is out of range.
+        assertThrows(IllegalArgumentException.class, () -> new Schedule("60 * * * *"));
+
+        // The cron expression field is not a number.
+        assertThrows(IllegalArgumentException.class, () -> new Schedule("* * * JAN *"));
+    }
+
+    @Test
+    public void nextThrowsIllegalStateExceptionTest() {
+        // The 31st of February never exists.
+        assertThrows(
+                IllegalStateException.class,
+                () -> new Schedule("0 0 31 2 *").next(LocalDateTime.of(2024, 6, 1, 10, 7, 30))
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SequenceAllocatorTests {
+    private static Connection connection;
+
+    @BeforeAll
+    public static void beforeAll() throws Exception {
+        SequenceAllocatorTests.connection = DriverManager.getConnection(
+                "jdbc:h2:mem:sequence_allocator;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE"
+        );
+
+        try (Statement statement = SequenceAllocatorTests.connection.createStatement()) {
+            statement.execute("""
+                    CREATE SEQUENCE test_sequence AS BIGINT INCREMENT BY 10 MINVALUE 1 START WITH 1;
+            """);
+        }
+    }
+
+    @AfterAll
+    public static void afterAll() throws Exception {
+        SequenceAllocatorTests.connection.close();
+    }
+
+    @Test
+    public void allocateTest() throws Exception {
+        SequenceAllocator sequenceAllocator = new SequenceAllocator("test_sequence", 10);
+
+        // Allocating the identifiers within the first block.
+        assertEquals(List.of(1L, 2L, 3L), sequenceAllocator.allocate(SequenceAllocatorTests.connection, 3));
+
+        // Allocating the identifiers across several blocks.
+        List<Long> ids = sequenceAllocator.allocate(SequenceAllocatorTests.connection, 25);
+
+        assertEquals(25, ids.size());
+        assertEquals(4L, ids.get(0));
+        assertEquals(28L, ids.get(24));
+
+        // The sequence value, that is taken outside the allocator, reserves its own block.
+        try (Statement statement = SequenceAllocatorTests.connection.createStatement()) {
+            statement.execute("""
+                    SELECT NEXTVAL('test_sequence');
+            """);
+        }
+
+        // Checking that the identifiers are unique, and the rest of the current block is used first.
+        Set<Long> uniqueIds = new HashSet<>(ids);
+
+        uniqueIds.addAll(sequenceAllocator.allocate(SequenceAllocatorTests.connection, 5));
+
+        assertEquals(30, uniqueIds.size());
+        assertTrue(uniqueIds.containsAll(List.of(29L, 30L, 41L, 42L, 43L)));
+    }
+
+    @Test
+    public void constructorTest() {
+        assertThrows(IllegalArgumentException.class, () -> new SequenceAllocator("test_sequence", 0));
+    }
+}
\ No newline at end of file